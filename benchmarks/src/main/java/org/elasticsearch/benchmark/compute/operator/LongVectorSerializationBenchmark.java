@@ -0,0 +1,127 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.compute.operator;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.LongVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code frame_of_reference} wire format for {@link LongVector}s
+ * with the {@code array} format it replaces for values that are close together.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class LongVectorSerializationBenchmark {
+    private static final int POSITIONS = 8 * 1024;
+    private static final BlockFactory blockFactory = BlockFactory.getInstance(
+        new NoopCircuitBreaker("noop"),
+        BigArrays.NON_RECYCLING_INSTANCE
+    );
+
+    static {
+        // Smoke test all the expected values and force loading subclasses more like prod
+        LongVectorSerializationBenchmark benchmark = new LongVectorSerializationBenchmark();
+        for (String format : new String[] { "array", "frame_of_reference" }) {
+            for (String data : new String[] { "timestamps", "random" }) {
+                benchmark.format = format;
+                benchmark.data = data;
+                benchmark.setup();
+                try (LongVector read = benchmark.read()) {
+                    if (read.equals(benchmark.vector) == false) {
+                        throw new AssertionError("round trip failed for [" + format + "/" + data + "]");
+                    }
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        }
+    }
+
+    @Param({ "array", "frame_of_reference" })
+    public String format;
+
+    @Param({ "timestamps", "random" })
+    public String data;
+
+    private TransportVersion version;
+    private LongVector vector;
+    private BytesStreamOutput out;
+    private BytesReference serialized;
+
+    @Setup
+    public void setup() {
+        version = switch (format) {
+            case "array" -> TransportVersions.V_8_14_0;
+            case "frame_of_reference" -> TransportVersions.ESQL_SERIALIZE_VECTOR_FRAME_OF_REFERENCE;
+            default -> throw new IllegalArgumentException("unsupported format [" + format + "]");
+        };
+        Random random = new Random();
+        long[] values = new long[POSITIONS];
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < POSITIONS; i++) {
+            values[i] = switch (data) {
+                // an hour of millisecond timestamps
+                case "timestamps" -> start + random.nextLong(TimeUnit.HOURS.toMillis(1));
+                case "random" -> random.nextLong();
+                default -> throw new IllegalArgumentException("unsupported data [" + data + "]");
+            };
+        }
+        vector = blockFactory.newLongArrayVector(values, POSITIONS);
+        out = new BytesStreamOutput();
+        out.setTransportVersion(version);
+        try {
+            write();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        serialized = out.copyBytes();
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        out.reset();
+        vector.writeTo(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public LongVector read() throws IOException {
+        try (StreamInput in = serialized.streamInput()) {
+            in.setTransportVersion(version);
+            return LongVector.readFrom(blockFactory, in);
+        }
+    }
+}
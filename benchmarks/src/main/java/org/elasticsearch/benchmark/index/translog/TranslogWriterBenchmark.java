@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.index.translog;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.io.DiskIoBufferPool;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.engine.TranslogOperationAsserter;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.translog.TragicExceptionHolder;
+import org.elasticsearch.index.translog.Translog;
+import org.elasticsearch.index.translog.TranslogConfig;
+import org.elasticsearch.index.translog.TranslogWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how {@link TranslogWriter#add} scales with the number of threads
+ * writing to the same translog, each of them syncing after a batch of adds
+ * like a bulk request does.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TranslogWriterBenchmark {
+    private static final int OPERATIONS_PER_THREAD = 1024;
+    private static final int OPERATIONS_PER_SYNC = 64;
+
+    @Param({ "1", "4", "16" })
+    public int threads;
+
+    @Param({ "256", "4096" })
+    public int operationSize;
+
+    @Param({ "false", "true" })
+    public boolean fsync;
+
+    private ExecutorService executor;
+    private BytesArray operation;
+    private Path dir;
+    private TranslogWriter writer;
+    private final AtomicLong seqNo = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(threads);
+        byte[] bytes = new byte[operationSize];
+        new Random().nextBytes(bytes);
+        operation = new BytesArray(bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void createWriter() throws IOException {
+        dir = Files.createTempDirectory("translog");
+        Files.createFile(dir.resolve(Translog.CHECKPOINT_FILE_NAME));
+        seqNo.set(0);
+        writer = TranslogWriter.create(
+            new ShardId("index", "uuid", 0),
+            "translog-uuid",
+            1,
+            dir.resolve(Translog.getFilename(1)),
+            FileChannel::open,
+            TranslogConfig.DEFAULT_BUFFER_SIZE,
+            1L,
+            1L,
+            () -> 1L,
+            () -> 1L,
+            1L,
+            new TragicExceptionHolder(),
+            s -> {},
+            BigArrays.NON_RECYCLING_INSTANCE,
+            DiskIoBufferPool.INSTANCE,
+            TranslogConfig.NOOP_OPERATION_LISTENER,
+            TranslogOperationAsserter.DEFAULT,
+            fsync
+        );
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeWriter() throws IOException {
+        writer.close();
+        IOUtils.rm(dir);
+    }
+
+    @Benchmark
+    public long add() throws ExecutionException, InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    writer.add(operation, seqNo.getAndIncrement());
+                    if ((i + 1) % OPERATIONS_PER_SYNC == 0) {
+                        writer.sync();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return writer.sizeInBytes();
+    }
+}
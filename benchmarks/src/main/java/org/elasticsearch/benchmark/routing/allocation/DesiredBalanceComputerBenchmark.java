@@ -0,0 +1,164 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.benchmark.routing.allocation;
+
+import org.elasticsearch.cluster.ClusterInfo;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalance;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceComputer;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceInput;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.time.TimeProvider;
+import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link DesiredBalanceComputer#compute} takes to converge starting from the desired balance of the
+ * previous computation, which is what happens on every routing change of a large cluster.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class DesiredBalanceComputerBenchmark {
+
+    @Param(
+        {
+            // nodes| indices| shards| replicas
+            "     10|    1000|      3|        1",
+            "     50|    5000|      3|        1",
+            "    100|   10000|      2|        1",
+            "    300|   20000|      2|        1" }
+    )
+    public String nodesIndicesShardsReplicas = "10|1000|3|1";
+
+    private DesiredBalanceComputer computer;
+    private AllocationDeciders deciders;
+    private ClusterState clusterState;
+    private ClusterState clusterStateWithNewNode;
+    private DesiredBalance desiredBalance;
+    private long inputIndex;
+
+    @Setup
+    public void setUp() {
+        final String[] params = nodesIndicesShardsReplicas.split("\\|");
+        int numNodes = toInt(params[0]);
+        int numIndices = toInt(params[1]);
+        int numShards = toInt(params[2]);
+        int numReplicas = toInt(params[3]);
+
+        Metadata.Builder mb = Metadata.builder();
+        for (int i = 0; i < numIndices; i++) {
+            mb.put(
+                IndexMetadata.builder("index-" + i)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current()))
+                    .numberOfShards(numShards)
+                    .numberOfReplicas(numReplicas)
+            );
+        }
+        Metadata metadata = mb.build();
+        RoutingTable.Builder rb = RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY);
+        for (int i = 0; i < numIndices; i++) {
+            rb.addAsNew(metadata.index("index-" + i));
+        }
+        DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 0; i < numNodes; i++) {
+            nb.add(Allocators.newNode("node-" + i, Map.of()));
+        }
+        clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).routingTable(rb.build()).nodes(nb).build();
+        clusterStateWithNewNode = ClusterState.builder(clusterState)
+            .nodes(DiscoveryNodes.builder(clusterState.nodes()).add(Allocators.newNode("node-" + numNodes, Map.of())))
+            .build();
+
+        ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        deciders = Allocators.defaultAllocationDeciders(Settings.EMPTY, clusterSettings);
+        computer = new DesiredBalanceComputer(clusterSettings, new SystemTimeProvider(), new BalancedShardsAllocator(Settings.EMPTY));
+        desiredBalance = compute(DesiredBalance.BECOME_MASTER_INITIAL, clusterState);
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    private DesiredBalance compute(DesiredBalance previous, ClusterState state) {
+        RoutingAllocation allocation = new RoutingAllocation(
+            deciders,
+            state,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            System.nanoTime()
+        );
+        return computer.compute(previous, DesiredBalanceInput.create(++inputIndex, allocation), new ArrayDeque<>(), input -> true);
+    }
+
+    /**
+     * Nothing changed since the previous computation so it should converge straight away.
+     */
+    @Benchmark
+    public DesiredBalance unchanged() {
+        return compute(desiredBalance, clusterState);
+    }
+
+    /**
+     * A node joined the cluster so some shards of most indices move to it.
+     */
+    @Benchmark
+    public DesiredBalance nodeAdded() {
+        return compute(desiredBalance, clusterStateWithNewNode);
+    }
+
+    private static class SystemTimeProvider implements TimeProvider {
+        @Override
+        public long relativeTimeInMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        }
+
+        @Override
+        public long relativeTimeInNanos() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long rawRelativeTimeInMillis() {
+            return relativeTimeInMillis();
+        }
+
+        @Override
+        public long absoluteTimeInMillis() {
+            return System.currentTimeMillis();
+        }
+    }
+}
@@ -49,6 +49,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilde
 import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSourceRegistry;
+import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.SubSearchContext;
 import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.search.sort.BucketedSort;
@@ -180,6 +181,16 @@ public class AggConstructionContentionBenchmark {
             return query;
         }
 
+        @Override
+        public int terminateAfter() {
+            return SearchContext.DEFAULT_TERMINATE_AFTER;
+        }
+
+        @Override
+        public Float minimumScore() {
+            return null;
+        }
+
         @Override
         public Aggregator profileIfEnabled(Aggregator agg) throws IOException {
             return agg;
@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.search.aggregations;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.NumericUtils;
+import org.elasticsearch.common.logging.LogConfigurator;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.search.aggregations.metrics.CompensatedSum;
+import org.elasticsearch.simdvec.ESVectorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing the stats of a single valued {@code double} field over all
+ * documents of a segment one document at a time, like the metric aggregations
+ * collect matching documents, with reading the values in blocks and reducing
+ * whole blocks with {@link ESVectorUtil}, like they do when the query matches
+ * all documents.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsPrepend = { "--add-modules=jdk.incubator.vector" })
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class NumericMetricBlocksBenchmark {
+    private static final String FIELD = "value";
+    private static final int BLOCK_SIZE = 1024;
+
+    static {
+        LogConfigurator.configureESLogging(); // the vectorization provider logs which implementation it picked
+    }
+
+    @Param({ "100000", "1000000" })
+    public int numDocs;
+
+    @Param({ "1.0", "0.5" })
+    public double density;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private LeafReader leaf;
+    private final double[] block = new double[BLOCK_SIZE];
+
+    @Setup
+    public void setup() throws IOException {
+        directory = new ByteBuffersDirectory();
+        Random random = new Random(42);
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                if (random.nextDouble() < density) {
+                    doc.add(new NumericDocValuesField(FIELD, NumericUtils.doubleToSortableLong(random.nextDouble() * 1000)));
+                }
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        leaf = reader.leaves().get(0).reader();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        IOUtils.close(reader, directory);
+    }
+
+    @Benchmark
+    public double perDocument() throws IOException {
+        NumericDocValues values = leaf.getNumericDocValues(FIELD);
+        CompensatedSum sum = new CompensatedSum();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long count = 0;
+        for (int doc = 0; doc < leaf.maxDoc(); doc++) {
+            if (values.advanceExact(doc)) {
+                double value = NumericUtils.sortableLongToDouble(values.longValue());
+                sum.add(value);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                count++;
+            }
+        }
+        return sum.value() + min + max + count;
+    }
+
+    @Benchmark
+    public double blocks() throws IOException {
+        NumericDocValues values = leaf.getNumericDocValues(FIELD);
+        double[] sumAndDelta = new double[2];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long count = 0;
+        int length = 0;
+        for (int doc = 0; doc < leaf.maxDoc(); doc++) {
+            if (values.advanceExact(doc)) {
+                block[length++] = NumericUtils.sortableLongToDouble(values.longValue());
+                if (length == BLOCK_SIZE) {
+                    ESVectorUtil.compensatedSum(block, length, sumAndDelta);
+                    min = Math.min(min, ESVectorUtil.min(block, length));
+                    max = Math.max(max, ESVectorUtil.max(block, length));
+                    count += length;
+                    length = 0;
+                }
+            }
+        }
+        if (length > 0) {
+            ESVectorUtil.compensatedSum(block, length, sumAndDelta);
+            min = Math.min(min, ESVectorUtil.min(block, length));
+            max = Math.max(max, ESVectorUtil.max(block, length));
+            count += length;
+        }
+        return sumAndDelta[0] + min + max + count;
+    }
+}
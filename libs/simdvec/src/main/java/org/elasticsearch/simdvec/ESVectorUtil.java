@@ -80,6 +80,47 @@ public class ESVectorUtil {
         return IMPL.ipFloatBit(q, d);
     }
 
+    /**
+     * Add the first {@code length} values to a sum computed with the Kahan summation algorithm.
+     * Non-finite values are added to the running sum as is, like the scalar summation of the
+     * metric aggregations does. The order in which the values are added may differ from one
+     * implementation to the other so the result may differ by a rounding error.
+     * @param values the values to add
+     * @param length the number of values to add
+     * @param sumAndDelta the running sum followed by its correction term, updated in place
+     */
+    public static void compensatedSum(double[] values, int length, double[] sumAndDelta) {
+        checkLength(values, length);
+        if (sumAndDelta.length != 2) {
+            throw new IllegalArgumentException("expected the sum and its correction term but got " + sumAndDelta.length + " values");
+        }
+        IMPL.compensatedSum(values, length, sumAndDelta);
+    }
+
+    /**
+     * The minimum of the first {@code length} values, following the semantics of {@link Math#min(double, double)}.
+     * @return the minimum value or {@link Double#POSITIVE_INFINITY} if {@code length} is {@code 0}
+     */
+    public static double min(double[] values, int length) {
+        checkLength(values, length);
+        return IMPL.min(values, length);
+    }
+
+    /**
+     * The maximum of the first {@code length} values, following the semantics of {@link Math#max(double, double)}.
+     * @return the maximum value or {@link Double#NEGATIVE_INFINITY} if {@code length} is {@code 0}
+     */
+    public static double max(double[] values, int length) {
+        checkLength(values, length);
+        return IMPL.max(values, length);
+    }
+
+    private static void checkLength(double[] values, int length) {
+        if (length < 0 || length > values.length) {
+            throw new IllegalArgumentException("length [" + length + "] out of bounds for [" + values.length + "] values");
+        }
+    }
+
     /**
      * AND bit count computed over signed bytes.
      * Copied from Lucene's XOR implementation
@@ -39,6 +39,21 @@ final class DefaultESVectorUtilSupport implements ESVectorUtilSupport {
         return ipFloatBitImpl(q, d);
     }
 
+    @Override
+    public void compensatedSum(double[] values, int length, double[] sumAndDelta) {
+        compensatedSumImpl(values, 0, length, sumAndDelta);
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        return minImpl(values, 0, length, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        return maxImpl(values, 0, length, Double.NEGATIVE_INFINITY);
+    }
+
     public static int ipByteBitImpl(byte[] q, byte[] d) {
         assert q.length == d.length * Byte.SIZE;
         int acc0 = 0;
@@ -101,4 +116,39 @@ final class DefaultESVectorUtilSupport implements ESVectorUtilSupport {
         }
         return ret;
     }
+
+    public static void compensatedSumImpl(double[] values, int from, int to, double[] sumAndDelta) {
+        double value = sumAndDelta[0];
+        double delta = sumAndDelta[1];
+        for (int i = from; i < to; i++) {
+            double added = values[i];
+            // If the value is Inf or NaN, just add it to the running tally to "convert" to
+            // Inf/NaN. This keeps the behavior bwc from before kahan summing
+            if (Double.isFinite(added) == false) {
+                value = added + value;
+            }
+            if (Double.isFinite(value)) {
+                double correctedSum = added + delta;
+                double updatedValue = value + correctedSum;
+                delta = correctedSum - (updatedValue - value);
+                value = updatedValue;
+            }
+        }
+        sumAndDelta[0] = value;
+        sumAndDelta[1] = delta;
+    }
+
+    public static double minImpl(double[] values, int from, int to, double min) {
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    public static double maxImpl(double[] values, int from, int to, double max) {
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
 }
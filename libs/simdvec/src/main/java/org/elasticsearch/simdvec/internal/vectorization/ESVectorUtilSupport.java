@@ -18,4 +18,10 @@ public interface ESVectorUtilSupport {
     int ipByteBit(byte[] q, byte[] d);
 
     float ipFloatBit(float[] q, byte[] d);
+
+    void compensatedSum(double[] values, int length, double[] sumAndDelta);
+
+    double min(double[] values, int length);
+
+    double max(double[] values, int length);
 }
@@ -10,6 +10,7 @@
 package org.elasticsearch.simdvec.internal.vectorization;
 
 import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
 import jdk.incubator.vector.IntVector;
 import jdk.incubator.vector.LongVector;
 import jdk.incubator.vector.VectorOperators;
@@ -58,6 +59,87 @@ public final class PanamaESVectorUtilSupport implements ESVectorUtilSupport {
         return DefaultESVectorUtilSupport.ipFloatBitImpl(q, d);
     }
 
+    @Override
+    public void compensatedSum(double[] values, int length, double[] sumAndDelta) {
+        if (length >= DOUBLE_SPECIES.length() * 2 && Double.isFinite(sumAndDelta[0])) {
+            if (compensatedSumVector(values, length, sumAndDelta)) {
+                return;
+            }
+        }
+        DefaultESVectorUtilSupport.compensatedSumImpl(values, 0, length, sumAndDelta);
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        int i = 0;
+        double min = Double.POSITIVE_INFINITY;
+        if (length >= DOUBLE_SPECIES.length() * 2) {
+            var acc = DoubleVector.broadcast(DOUBLE_SPECIES, Double.POSITIVE_INFINITY);
+            int limit = DOUBLE_SPECIES.loopBound(length);
+            for (; i < limit; i += DOUBLE_SPECIES.length()) {
+                acc = acc.min(DoubleVector.fromArray(DOUBLE_SPECIES, values, i));
+            }
+            min = acc.reduceLanes(VectorOperators.MIN);
+        }
+        return DefaultESVectorUtilSupport.minImpl(values, i, length, min);
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        int i = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        if (length >= DOUBLE_SPECIES.length() * 2) {
+            var acc = DoubleVector.broadcast(DOUBLE_SPECIES, Double.NEGATIVE_INFINITY);
+            int limit = DOUBLE_SPECIES.loopBound(length);
+            for (; i < limit; i += DOUBLE_SPECIES.length()) {
+                acc = acc.max(DoubleVector.fromArray(DOUBLE_SPECIES, values, i));
+            }
+            max = acc.reduceLanes(VectorOperators.MAX);
+        }
+        return DefaultESVectorUtilSupport.maxImpl(values, i, length, max);
+    }
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Kahan summation with one running sum and compensation per lane that are merged into
+     * {@code sumAndDelta} at the end. Returns {@code false} without touching {@code sumAndDelta}
+     * if any of the lanes ran into a non-finite value, in which case the caller must sum the
+     * values one by one to keep the Inf/NaN semantics of the scalar summation.
+     */
+    static boolean compensatedSumVector(double[] values, int length, double[] sumAndDelta) {
+        var sum = DoubleVector.zero(DOUBLE_SPECIES);
+        var delta = DoubleVector.zero(DOUBLE_SPECIES);
+        int i = 0;
+        int limit = DOUBLE_SPECIES.loopBound(length);
+        for (; i < limit; i += DOUBLE_SPECIES.length()) {
+            var correctedSum = DoubleVector.fromArray(DOUBLE_SPECIES, values, i).add(delta);
+            var updatedSum = sum.add(correctedSum);
+            delta = correctedSum.sub(updatedSum.sub(sum));
+            sum = updatedSum;
+        }
+        double[] laneSums = sum.toArray();
+        double[] laneDeltas = delta.toArray();
+        double value = sumAndDelta[0];
+        double totalDelta = sumAndDelta[1];
+        for (int lane = 0; lane < laneSums.length; lane++) {
+            if (Double.isFinite(laneSums[lane]) == false || Double.isFinite(laneDeltas[lane]) == false) {
+                return false;
+            }
+            double correctedSum = laneSums[lane] + (totalDelta + laneDeltas[lane]);
+            double updatedValue = value + correctedSum;
+            totalDelta = correctedSum - (updatedValue - value);
+            value = updatedValue;
+        }
+        if (Double.isFinite(value) == false) {
+            return false;
+        }
+        sumAndDelta[0] = value;
+        sumAndDelta[1] = totalDelta;
+        DefaultESVectorUtilSupport.compensatedSumImpl(values, i, length, sumAndDelta);
+        return true;
+    }
+
     private static final VectorSpecies<Byte> BYTE_SPECIES_128 = ByteVector.SPECIES_128;
     private static final VectorSpecies<Byte> BYTE_SPECIES_256 = ByteVector.SPECIES_256;
 
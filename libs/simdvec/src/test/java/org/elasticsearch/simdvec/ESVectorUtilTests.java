@@ -57,6 +57,87 @@ public class ESVectorUtilTests extends BaseVectorizationTests {
         testBasicIpByteBinImpl(defOrPanamaProvider.getVectorUtilSupport()::ipByteBinByte);
     }
 
+    public void testCompensatedSum() {
+        testCompensatedSumImpl(ESVectorUtil::compensatedSum);
+        testCompensatedSumImpl(defaultedProvider.getVectorUtilSupport()::compensatedSum);
+        testCompensatedSumImpl(defOrPanamaProvider.getVectorUtilSupport()::compensatedSum);
+    }
+
+    public void testCompensatedSumNonFinite() {
+        for (double nonFinite : new double[] { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN }) {
+            double[] values = new double[randomIntBetween(1, 100)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = randomDouble();
+            }
+            values[randomIntBetween(0, values.length - 1)] = nonFinite;
+            for (CompensatedSum sum : new CompensatedSum[] {
+                ESVectorUtil::compensatedSum,
+                defaultedProvider.getVectorUtilSupport()::compensatedSum,
+                defOrPanamaProvider.getVectorUtilSupport()::compensatedSum }) {
+                double[] sumAndDelta = new double[2];
+                sum.apply(values, values.length, sumAndDelta);
+                assertEquals(nonFinite, sumAndDelta[0], 0d);
+            }
+        }
+        double[] overflow = new double[64];
+        Arrays.fill(overflow, Double.MAX_VALUE);
+        double[] sumAndDelta = new double[2];
+        ESVectorUtil.compensatedSum(overflow, overflow.length, sumAndDelta);
+        assertEquals(Double.POSITIVE_INFINITY, sumAndDelta[0], 0d);
+    }
+
+    public void testMinMax() {
+        int iterations = atLeast(50);
+        for (int i = 0; i < iterations; i++) {
+            double[] values = new double[random().nextInt(2000)];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = randomDoubleBetween(-1e6, 1e6, true);
+            }
+            int length = values.length == 0 ? 0 : randomIntBetween(0, values.length);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < length; j++) {
+                min = Math.min(min, values[j]);
+                max = Math.max(max, values[j]);
+            }
+            assertEquals(min, ESVectorUtil.min(values, length), 0d);
+            assertEquals(min, defaultedProvider.getVectorUtilSupport().min(values, length), 0d);
+            assertEquals(min, defOrPanamaProvider.getVectorUtilSupport().min(values, length), 0d);
+            assertEquals(max, ESVectorUtil.max(values, length), 0d);
+            assertEquals(max, defaultedProvider.getVectorUtilSupport().max(values, length), 0d);
+            assertEquals(max, defOrPanamaProvider.getVectorUtilSupport().max(values, length), 0d);
+        }
+        double[] withNaN = new double[] { 1, 2, Double.NaN, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17 };
+        assertTrue(Double.isNaN(defOrPanamaProvider.getVectorUtilSupport().min(withNaN, withNaN.length)));
+        assertTrue(Double.isNaN(defOrPanamaProvider.getVectorUtilSupport().max(withNaN, withNaN.length)));
+        expectThrows(IllegalArgumentException.class, () -> ESVectorUtil.min(withNaN, withNaN.length + 1));
+    }
+
+    interface CompensatedSum {
+        void apply(double[] values, int length, double[] sumAndDelta);
+    }
+
+    void testCompensatedSumImpl(CompensatedSum sum) {
+        int iterations = atLeast(50);
+        for (int i = 0; i < iterations; i++) {
+            double[] values = new double[random().nextInt(2000)];
+            double expected = 0;
+            for (int j = 0; j < values.length; j++) {
+                values[j] = randomDoubleBetween(-1e6, 1e6, true);
+                expected += values[j];
+            }
+            double[] sumAndDelta = new double[2];
+            sum.apply(values, values.length, sumAndDelta);
+            assertEquals(expected, sumAndDelta[0], 1e-6);
+        }
+        // values whose naive sum accumulates a rounding error
+        double[] values = new double[1000];
+        Arrays.fill(values, 0.1);
+        double[] sumAndDelta = new double[] { 0, 0 };
+        sum.apply(values, values.length, sumAndDelta);
+        assertEquals(100.0, sumAndDelta[0], 1e-13);
+    }
+
     interface IpByteBin {
         long apply(byte[] q, byte[] d);
     }
@@ -170,6 +170,10 @@ public class TransportVersions {
     public static final TransportVersion RESOURCE_DEPRECATION_CHECKS = def(8_836_00_0);
     public static final TransportVersion LINEAR_RETRIEVER_SUPPORT = def(8_837_00_0);
     public static final TransportVersion TIMEOUT_GET_PARAM_FOR_RESOLVE_CLUSTER = def(8_838_00_0);
+    public static final TransportVersion ESQL_HASH_AGGREGATION_PARTIAL_EMIT = def(8_839_00_0);
+    public static final TransportVersion ESQL_SERIALIZE_VECTOR_FRAME_OF_REFERENCE = def(8_840_00_0);
+    public static final TransportVersion SEARCH_QUERY_PHASE_PER_NODE = def(8_841_00_0);
+    public static final TransportVersion INDEXING_PRESSURE_MAX_SIZE_SPLITS = def(8_842_00_0);
 
     /*
      * STOP! READ THIS FIRST! No, really,
@@ -795,6 +795,7 @@ public class ClusterStatsNodes implements ToXContentFragment {
             long currentReplicaOps = 0;
             long lowWaterMarkSplits = 0;
             long highWaterMarkSplits = 0;
+            long maxSizeSplits = 0;
             for (NodeStats nodeStat : nodeStats) {
                 IndexingPressureStats nodeStatIndexingPressureStats = nodeStat.getIndexingPressureStats();
                 if (nodeStatIndexingPressureStats != null) {
@@ -820,6 +821,7 @@ public class ClusterStatsNodes implements ToXContentFragment {
                     totalCoordinatingRequests += nodeStatIndexingPressureStats.getTotalCoordinatingRequests();
                     lowWaterMarkSplits += nodeStatIndexingPressureStats.getLowWaterMarkSplits();
                     highWaterMarkSplits += nodeStatIndexingPressureStats.getHighWaterMarkSplits();
+                    maxSizeSplits += nodeStatIndexingPressureStats.getMaxSizeSplits();
                 }
             }
             indexingPressureStats = new IndexingPressureStats(
@@ -844,7 +846,8 @@ public class ClusterStatsNodes implements ToXContentFragment {
                 primaryDocumentRejections,
                 totalCoordinatingRequests,
                 lowWaterMarkSplits,
-                highWaterMarkSplits
+                highWaterMarkSplits,
+                maxSizeSplits
             );
         }
 
@@ -78,7 +78,15 @@ import java.util.function.ObjLongConsumer;
 
 import static org.elasticsearch.core.Strings.format;
 
-/** Performs shard-level bulk (index, delete or update) operations */
+/**
+ * Performs shard-level bulk (index, delete or update) operations.
+ * <p>
+ * Concurrent shard bulk requests to the same primary are already group committed where it matters for durability: each
+ * request only asks {@link IndexShard#syncAfterWrite} for its translog location, and the engine coalesces all pending
+ * locations into a single fsync run by whichever write thread gets there first. Acknowledgements can additionally be
+ * batched with {@link WriteAckDelay}. Each request still replicates on its own so that it keeps its own permit, failure
+ * handling and response.
+ */
 public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequest, BulkShardRequest, BulkShardResponse> {
 
     public static final String ACTION_NAME = TransportBulkAction.NAME + "[s]";
@@ -19,6 +19,7 @@ import org.elasticsearch.action.NoShardAvailableActionException;
 import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.action.ShardOperationFailedException;
 import org.elasticsearch.action.search.TransportSearchAction.SearchTimeProvider;
+import org.elasticsearch.action.support.RefCountingRunnable;
 import org.elasticsearch.action.support.SubscribableListener;
 import org.elasticsearch.action.support.TransportActions;
 import org.elasticsearch.cluster.ClusterState;
@@ -29,6 +30,7 @@ import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.AtomicArray;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.search.SearchContextMissingException;
 import org.elasticsearch.search.SearchPhaseResult;
@@ -44,6 +46,7 @@ import org.elasticsearch.transport.Transport;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -234,6 +237,8 @@ abstract class AbstractSearchAsyncAction<Result extends SearchPhaseResult> exten
         }
         if (shardsIts.size() > 0) {
             doCheckNoMissingShards(getName(), request, shardsIts);
+            final NodeLevelPhase<Result> nodeLevelPhase = nodeLevelPhaseOrNull();
+            final Map<Tuple<String, String>, List<PendingShard>> shardsPerNode = nodeLevelPhase != null ? new HashMap<>() : null;
             for (int i = 0; i < shardsIts.size(); i++) {
                 final SearchShardIterator shardRoutings = shardsIts.get(i);
                 assert shardRoutings.skip() == false;
@@ -242,13 +247,26 @@ abstract class AbstractSearchAsyncAction<Result extends SearchPhaseResult> exten
                 final SearchShardTarget routing = shardRoutings.nextOrNull();
                 if (routing == null) {
                     failOnUnavailable(shardIndex, shardRoutings);
+                } else if (shardsPerNode != null) {
+                    shardsPerNode.computeIfAbsent(Tuple.tuple(routing.getClusterAlias(), routing.getNodeId()), k -> new ArrayList<>())
+                        .add(new PendingShard(shardIndex, shardRoutings, routing));
                 } else {
                     performPhaseOnShard(shardIndex, shardRoutings, routing);
                 }
             }
+            if (shardsPerNode != null) {
+                for (List<PendingShard> shards : shardsPerNode.values()) {
+                    performPhaseOnNode(nodeLevelPhase, shards);
+                }
+            }
         }
     }
 
+    /**
+     * A shard waiting for the first copy it's sent to.
+     */
+    private record PendingShard(int shardIndex, SearchShardIterator shardIt, SearchShardTarget shard) {}
+
     void skipShard(SearchShardIterator iterator) {
         successfulOps.incrementAndGet();
         skippedOps.incrementAndGet();
@@ -294,8 +312,88 @@ abstract class AbstractSearchAsyncAction<Result extends SearchPhaseResult> exten
         }
     }
 
+    /**
+     * This phase if it batches the shards of each node into a single request, {@code null} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private NodeLevelPhase<Result> nodeLevelPhaseOrNull() {
+        // phases implement NodeLevelPhase with the same result type that they extend this class with
+        return this instanceof NodeLevelPhase<?> phase && phase.batchShardsPerNode() ? (NodeLevelPhase<Result>) phase : null;
+    }
+
+    /**
+     * Send all the shards of a node with a single request if {@link NodeLevelPhase#canExecutePhaseOnNode}, falling
+     * back to a request per shard otherwise. Either way failed shards move on to their next copy
+     * with a shard level request.
+     */
+    private void performPhaseOnNode(NodeLevelPhase<Result> nodeLevelPhase, List<PendingShard> shards) {
+        if (shards.size() > 1) {
+            final SearchShardTarget node = shards.get(0).shard();
+            Transport.Connection connection = null;
+            try {
+                connection = getConnection(node.getClusterAlias(), node.getNodeId());
+            } catch (Exception e) {
+                // the shard level requests will fail with this exception and move on to the next copy
+            }
+            if (connection != null && nodeLevelPhase.canExecutePhaseOnNode(connection)) {
+                final Transport.Connection nodeConnection = connection;
+                if (throttleConcurrentRequests) {
+                    var pendingExecutions = pendingExecutionsPerNode.computeIfAbsent(
+                        node.getNodeId(),
+                        n -> new PendingExecutions(maxConcurrentRequestsPerNode)
+                    );
+                    pendingExecutions.submit(l -> doPerformPhaseOnNode(nodeLevelPhase, nodeConnection, shards, l));
+                } else {
+                    doPerformPhaseOnNode(nodeLevelPhase, nodeConnection, shards, () -> {});
+                }
+                return;
+            }
+        }
+        for (PendingShard shard : shards) {
+            performPhaseOnShard(shard.shardIndex(), shard.shardIt(), shard.shard());
+        }
+    }
+
+    /**
+     * Sends a single request for all the shards of a node. The node request holds {@code releasable} until
+     * every one of its shards has either responded or failed.
+     */
+    private void doPerformPhaseOnNode(
+        NodeLevelPhase<Result> nodeLevelPhase,
+        Transport.Connection connection,
+        List<PendingShard> shards,
+        Releasable releasable
+    ) {
+        final List<SearchShardIterator> shardIts = new ArrayList<>(shards.size());
+        final List<SearchActionListener<Result>> listeners = new ArrayList<>(shards.size());
+        try (var refs = new RefCountingRunnable(releasable::close)) {
+            for (PendingShard shard : shards) {
+                shardIts.add(shard.shardIt());
+                listeners.add(shardListener(shard.shardIndex(), shard.shardIt(), shard.shard(), refs.acquire()));
+            }
+        }
+        nodeLevelPhase.executePhaseOnNode(connection, shardIts, listeners);
+    }
+
     private void doPerformPhaseOnShard(int shardIndex, SearchShardIterator shardIt, SearchShardTarget shard, Releasable releasable) {
-        var shardListener = new SearchActionListener<Result>(shard, shardIndex) {
+        var shardListener = shardListener(shardIndex, shardIt, shard, releasable);
+        final Transport.Connection connection;
+        try {
+            connection = getConnection(shard.getClusterAlias(), shard.getNodeId());
+        } catch (Exception e) {
+            shardListener.onFailure(e);
+            return;
+        }
+        executePhaseOnShard(shardIt, connection, shardListener);
+    }
+
+    private SearchActionListener<Result> shardListener(
+        int shardIndex,
+        SearchShardIterator shardIt,
+        SearchShardTarget shard,
+        Releasable releasable
+    ) {
+        return new SearchActionListener<>(shard, shardIndex) {
             @Override
             public void innerOnResponse(Result result) {
                 try {
@@ -312,14 +410,6 @@ abstract class AbstractSearchAsyncAction<Result extends SearchPhaseResult> exten
                 onShardFailure(shardIndex, shard, shardIt, e);
             }
         };
-        final Transport.Connection connection;
-        try {
-            connection = getConnection(shard.getClusterAlias(), shard.getNodeId());
-        } catch (Exception e) {
-            shardListener.onFailure(e);
-            return;
-        }
-        executePhaseOnShard(shardIt, connection, shardListener);
     }
 
     private void failOnUnavailable(int shardIndex, SearchShardIterator shardIt) {
@@ -340,6 +430,34 @@ abstract class AbstractSearchAsyncAction<Result extends SearchPhaseResult> exten
         SearchActionListener<Result> listener
     );
 
+    /**
+     * A phase that can run on many shards of the same node with a single request.
+     */
+    interface NodeLevelPhase<Result extends SearchPhaseResult> {
+        /**
+         * Should the first attempt of all shards that are on the same node be grouped together
+         * so they can be sent with a single request?
+         */
+        boolean batchShardsPerNode();
+
+        /**
+         * Can the node behind {@code connection} run this phase on many shards with a single request?
+         */
+        boolean canExecutePhaseOnNode(Transport.Connection connection);
+
+        /**
+         * Sends a single request for many shards on the same node.
+         * @param connection to the node that all the shards are located on
+         * @param shardIts the shards iterators
+         * @param listeners the listeners to notify with the response of each shard, in the same order as {@code shardIts}
+         */
+        void executePhaseOnNode(
+            Transport.Connection connection,
+            List<SearchShardIterator> shardIts,
+            List<SearchActionListener<Result>> listeners
+        );
+    }
+
     /**
      * Processes the phase transition from on phase to another. This method handles all errors that happen during the initial run execution
      * of the next phase. If there are no successful operations in the context when this method is executed the search is aborted and
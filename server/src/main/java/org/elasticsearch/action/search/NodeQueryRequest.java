@@ -0,0 +1,110 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.search;
+
+import org.elasticsearch.action.IndicesRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.search.internal.ShardSearchRequest;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.transport.TransportRequest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Node-level request used during the query phase. It runs the query phase on all of
+ * its shards and partially reduces their aggregations on the data node so the
+ * coordinating node receives a single aggregation tree per node.
+ */
+public class NodeQueryRequest extends TransportRequest implements IndicesRequest {
+
+    private final List<ShardSearchRequest> shards;
+    private final int maxConcurrentShardRequests;
+    private final String[] indices;
+    private final IndicesOptions indicesOptions;
+
+    public NodeQueryRequest(List<ShardSearchRequest> shards, int maxConcurrentShardRequests) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("expected at least one shard");
+        }
+        this.shards = shards;
+        this.maxConcurrentShardRequests = maxConcurrentShardRequests;
+        this.indices = buildIndices(shards);
+        this.indicesOptions = shards.get(0).indicesOptions();
+    }
+
+    public NodeQueryRequest(StreamInput in) throws IOException {
+        super(in);
+        shards = in.readCollectionAsList(ShardSearchRequest::new);
+        maxConcurrentShardRequests = in.readVInt();
+        indices = buildIndices(shards);
+        indicesOptions = shards.get(0).indicesOptions();
+    }
+
+    private static String[] buildIndices(List<ShardSearchRequest> shards) {
+        return shards.stream()
+            .map(ShardSearchRequest::indices)
+            .filter(Objects::nonNull)
+            .flatMap(Arrays::stream)
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeCollection(shards);
+        out.writeVInt(maxConcurrentShardRequests);
+    }
+
+    /**
+     * The shard level requests, each of them tied to the parent task of this request.
+     */
+    public List<ShardSearchRequest> getShardLevelRequests() {
+        for (ShardSearchRequest shard : shards) {
+            shard.setParentTask(getParentTask());
+        }
+        return shards;
+    }
+
+    /**
+     * The maximum number of shards to query at once.
+     */
+    public int getMaxConcurrentShardRequests() {
+        return maxConcurrentShardRequests;
+    }
+
+    @Override
+    public String[] indices() {
+        return indices;
+    }
+
+    @Override
+    public IndicesOptions indicesOptions() {
+        return indicesOptions;
+    }
+
+    @Override
+    public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new SearchShardTask(id, type, action, getDescription(), parentTaskId, headers);
+    }
+
+    @Override
+    public String getDescription() {
+        // Shard id is enough here, the request itself can be found by looking at the parent task description
+        return "shardIds[" + shards.stream().map(ShardSearchRequest::shardId).toList() + "]";
+    }
+}
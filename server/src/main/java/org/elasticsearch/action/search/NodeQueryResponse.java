@@ -0,0 +1,134 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.action.search;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.search.query.QuerySearchResult;
+import org.elasticsearch.transport.LeakTracker;
+import org.elasticsearch.transport.TransportResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response to a {@link NodeQueryRequest}, holding the result or failure for each
+ * of its shards in the same order as the shard level requests. At most one of the
+ * results carries the node's partially reduced aggregations; the others carry empty
+ * aggregations.
+ */
+public class NodeQueryResponse extends TransportResponse {
+
+    private final List<ResultOrFailure> results;
+    private final RefCounted refCounted;
+
+    public NodeQueryResponse(StreamInput in) throws IOException {
+        super(in);
+        results = in.readCollectionAsList(ResultOrFailure::new);
+        refCounted = LeakTracker.wrap(AbstractRefCounted.of(this::releaseResults));
+    }
+
+    /**
+     * Build the response, taking ownership of a reference to each result.
+     */
+    public NodeQueryResponse(List<ResultOrFailure> results) {
+        this.results = results;
+        refCounted = LeakTracker.wrap(AbstractRefCounted.of(this::releaseResults));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(results);
+    }
+
+    public List<ResultOrFailure> getResults() {
+        return results;
+    }
+
+    private void releaseResults() {
+        for (ResultOrFailure result : results) {
+            if (result.result != null) {
+                result.result.decRef();
+            }
+        }
+    }
+
+    @Override
+    public void incRef() {
+        refCounted.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted.hasReferences();
+    }
+
+    public static class ResultOrFailure implements Writeable {
+
+        private final QuerySearchResult result;
+        private final Exception exception;
+
+        public ResultOrFailure(QuerySearchResult result) {
+            this.result = result;
+            this.exception = null;
+        }
+
+        public ResultOrFailure(Exception exception) {
+            this.result = null;
+            this.exception = exception;
+        }
+
+        public ResultOrFailure(StreamInput in) throws IOException {
+            if (in.readBoolean()) {
+                // the coordinating node accounts for the aggregations before expanding them, just like for shard level responses
+                result = new QuerySearchResult(in, true);
+                exception = null;
+            } else {
+                exception = in.readException();
+                result = null;
+            }
+        }
+
+        @Nullable
+        public QuerySearchResult getResult() {
+            return result;
+        }
+
+        @Nullable
+        public Exception getException() {
+            return exception;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            final boolean hasResult = result != null;
+            out.writeBoolean(hasResult);
+            if (hasResult) {
+                result.writeTo(out);
+            } else {
+                out.writeException(exception);
+            }
+        }
+    }
+}
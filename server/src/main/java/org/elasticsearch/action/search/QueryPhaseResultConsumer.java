@@ -52,6 +52,14 @@ import static org.elasticsearch.action.search.SearchPhaseController.setShardInde
 public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhaseResult> {
     private static final Logger logger = LogManager.getLogger(QueryPhaseResultConsumer.class);
 
+    /**
+     * Buffered aggregations may use up to {@code 1/MAX_BUFFERED_AGGS_BREAKER_FRACTION} of the
+     * circuit breaker's limit before we fold them into the running partial reduce. Without
+     * this searches over many shards keep up to {@code batched_reduce_size} whole aggregation
+     * trees around, however large they are.
+     */
+    private static final long MAX_BUFFERED_AGGS_BREAKER_FRACTION = 100;
+
     private final Executor executor;
     private final CircuitBreaker circuitBreaker;
     private final SearchProgressListener progressListener;
@@ -66,6 +74,11 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
     private final Consumer<Exception> onPartialMergeFailure;
 
     private final int batchReduceSize;
+    /**
+     * Start a partial reduce once the buffered aggregations take up this many
+     * bytes, even if we haven't buffered {@link #batchReduceSize} results yet.
+     */
+    private final long maxBufferedAggsBytes;
     private List<QuerySearchResult> buffer = new ArrayList<>();
     private List<SearchShard> emptyResults = new ArrayList<>();
     // the memory that is accounted in the circuit breaker for this consumer
@@ -115,6 +128,9 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         this.hasAggs = source != null && source.aggregations() != null;
         this.aggReduceContextBuilder = hasAggs ? controller.getReduceContext(isCanceled, source.aggregations()) : null;
         batchReduceSize = (hasAggs || hasTopDocs) ? Math.min(request.getBatchedReduceSize(), expectedResultSize) : expectedResultSize;
+        maxBufferedAggsBytes = hasAggs && circuitBreaker.getLimit() > 0
+            ? circuitBreaker.getLimit() / MAX_BUFFERED_AGGS_BREAKER_FRACTION
+            : Long.MAX_VALUE;
         topDocsStats = new TopDocsStats(request.resolveTrackTotalHitsUpTo());
     }
 
@@ -381,7 +397,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
                         aggsCurrentBufferSize += aggsSize;
                         // add one if a partial merge is pending
                         int size = b.size() + (hasPartialReduce ? 1 : 0);
-                        if (size >= batchReduceSize) {
+                        if (size >= batchReduceSize || (size >= 2 && aggsCurrentBufferSize >= maxBufferedAggsBytes)) {
                             hasPartialReduce = true;
                             executeNextImmediately = false;
                             MergeTask task = new MergeTask(b, aggsCurrentBufferSize, emptyResults, next);
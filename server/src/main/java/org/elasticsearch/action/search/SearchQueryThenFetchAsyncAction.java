@@ -11,6 +11,7 @@ package org.elasticsearch.action.search;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.TopFieldDocs;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.cluster.ClusterState;
@@ -25,13 +26,17 @@ import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.transport.Transport;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 
 import static org.elasticsearch.action.search.SearchPhaseController.getTopDocsSize;
 
-class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPhaseResult> {
+class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPhaseResult>
+    implements
+        AbstractSearchAsyncAction.NodeLevelPhase<SearchPhaseResult> {
 
     private final SearchProgressListener progressListener;
 
@@ -40,6 +45,7 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
     private final int trackTotalHitsUpTo;
     private volatile BottomSortValuesCollector bottomSortCollector;
     private final Client client;
+    private final boolean queryPhasePerNode;
 
     SearchQueryThenFetchAsyncAction(
         Logger logger,
@@ -57,7 +63,8 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
         ClusterState clusterState,
         SearchTask task,
         SearchResponse.Clusters clusters,
-        Client client
+        Client client,
+        boolean queryPhasePerNode
     ) {
         super(
             "query",
@@ -82,6 +89,7 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
         this.trackTotalHitsUpTo = request.resolveTrackTotalHitsUpTo();
         this.progressListener = task.getProgressListener();
         this.client = client;
+        this.queryPhasePerNode = queryPhasePerNode;
 
         // don't build the SearchShard list (can be expensive) if the SearchProgressListener won't use it
         if (progressListener != SearchProgressListener.NOOP) {
@@ -98,6 +106,35 @@ class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<SearchPh
         getSearchTransport().sendExecuteQuery(connection, request, getTask(), listener);
     }
 
+    @Override
+    public boolean batchShardsPerNode() {
+        // only aggregations are reduced on the data node so without them there's nothing to gain from giving up
+        // on the bottom sort values and total hits that the per shard requests pass along
+        return queryPhasePerNode
+            && getRequest().scroll() == null
+            && getRequest().source() != null
+            && getRequest().source().aggregations() != null;
+    }
+
+    @Override
+    public boolean canExecutePhaseOnNode(Transport.Connection connection) {
+        return connection.getTransportVersion().onOrAfter(TransportVersions.SEARCH_QUERY_PHASE_PER_NODE);
+    }
+
+    @Override
+    public void executePhaseOnNode(
+        Transport.Connection connection,
+        List<SearchShardIterator> shardIts,
+        List<SearchActionListener<SearchPhaseResult>> listeners
+    ) {
+        final List<ShardSearchRequest> requests = new ArrayList<>(shardIts.size());
+        for (int i = 0; i < shardIts.size(); i++) {
+            requests.add(super.buildShardSearchRequest(shardIts.get(i), listeners.get(i).requestIndex));
+        }
+        final NodeQueryRequest request = new NodeQueryRequest(requests, getRequest().getMaxConcurrentShardRequests());
+        getSearchTransport().sendExecuteQuery(connection, request, getTask(), listeners);
+    }
+
     @Override
     protected void onShardGroupFailure(int shardIndex, SearchShardTarget shardTarget, Exception exc) {
         progressListener.notifyQueryFailure(shardIndex, shardTarget, exc);
@@ -59,7 +59,9 @@ import org.elasticsearch.transport.TransportResponseHandler;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Executor;
@@ -81,6 +83,11 @@ public class SearchTransportService {
     public static final String DFS_ACTION_NAME = "indices:data/read/search[phase/dfs]";
     public static final String QUERY_ACTION_NAME = "indices:data/read/search[phase/query]";
 
+    /**
+     * Runs the query phase on many shards of the same node and partially reduces their aggregations on that node.
+     */
+    public static final String QUERY_NODE_ACTION_NAME = "indices:data/read/search[phase/query][n]";
+
     /**
      * Part of DFS_QUERY_THEN_FETCH, which fetches distributed term frequencies and executes KNN.
      */
@@ -198,6 +205,52 @@ public class SearchTransportService {
         );
     }
 
+    /**
+     * Runs the query phase on all the shards of a {@link NodeQueryRequest} with a single request
+     * to their node. {@code shardListeners} must be in the same order as the shard level requests
+     * and each of them is notified with the result or failure of its shard.
+     */
+    public void sendExecuteQuery(
+        Transport.Connection connection,
+        final NodeQueryRequest request,
+        SearchTask task,
+        final List<? extends ActionListener<SearchPhaseResult>> shardListeners
+    ) {
+        final List<ActionListener<? super SearchPhaseResult>> handlers = new ArrayList<>(shardListeners.size());
+        for (ActionListener<SearchPhaseResult> shardListener : shardListeners) {
+            handlers.add(responseWrapper.apply(connection, shardListener));
+        }
+        final ActionListener<NodeQueryResponse> listener = new ActionListener<>() {
+            @Override
+            public void onResponse(NodeQueryResponse response) {
+                final List<NodeQueryResponse.ResultOrFailure> results = response.getResults();
+                assert results.size() == handlers.size() : "expected [" + handlers.size() + "] results but got [" + results.size() + "]";
+                for (int i = 0; i < handlers.size(); i++) {
+                    final NodeQueryResponse.ResultOrFailure result = results.get(i);
+                    if (result.getResult() != null) {
+                        handlers.get(i).onResponse(result.getResult());
+                    } else {
+                        handlers.get(i).onFailure(result.getException());
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                for (ActionListener<? super SearchPhaseResult> handler : handlers) {
+                    handler.onFailure(e);
+                }
+            }
+        };
+        transportService.sendChildRequest(
+            connection,
+            QUERY_NODE_ACTION_NAME,
+            request,
+            task,
+            new ConnectionCountingHandler<>(listener, NodeQueryResponse::new, connection)
+        );
+    }
+
     public void sendExecuteQuery(
         Transport.Connection connection,
         final QuerySearchRequest request,
@@ -449,6 +502,18 @@ public class SearchTransportService {
             (request) -> ((ShardSearchRequest) request).numberOfShards() == 1 ? QueryFetchSearchResult::new : QuerySearchResult::new
         );
 
+        transportService.registerRequestHandler(
+            QUERY_NODE_ACTION_NAME,
+            EsExecutors.DIRECT_EXECUTOR_SERVICE,
+            NodeQueryRequest::new,
+            (request, channel, task) -> searchService.executeQueryPhase(
+                request,
+                (SearchShardTask) task,
+                new ChannelActionListener<>(channel)
+            )
+        );
+        TransportActionProxy.registerProxyAction(transportService, QUERY_NODE_ACTION_NAME, true, NodeQueryResponse::new);
+
         transportService.registerRequestHandler(
             QUERY_ID_ACTION_NAME,
             EsExecutors.DIRECT_EXECUTOR_SERVICE,
@@ -147,6 +147,17 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
         Property.NodeScope
     );
 
+    /**
+     * Send a single query phase request to each data node for all of its shards, letting the data
+     * node partially reduce their aggregations before returning them to the coordinating node.
+     */
+    public static final Setting<Boolean> QUERY_PHASE_PER_NODE_SETTING = Setting.boolSetting(
+        "action.search.query_phase.per_node",
+        false,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     private final ThreadPool threadPool;
     private final ClusterService clusterService;
     private final TransportService transportService;
@@ -1564,7 +1575,8 @@ public class TransportSearchAction extends HandledTransportAction<SearchRequest,
                         clusterState,
                         task,
                         clusters,
-                        client
+                        client,
+                        clusterService.getClusterSettings().get(QUERY_PHASE_PER_NODE_SETTING)
                     );
                 }
                 success = true;
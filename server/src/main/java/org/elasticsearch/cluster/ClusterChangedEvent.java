@@ -38,6 +38,9 @@ public class ClusterChangedEvent {
 
     private final DiscoveryNodes.Delta nodesDelta;
 
+    // computed on first use and shared by all appliers and listeners, racy initialization is fine since it is immutable
+    private IndicesMetadataChanges indicesMetadataChanges;
+
     public ClusterChangedEvent(String source, ClusterState state, ClusterState previousState) {
         Objects.requireNonNull(source, "source must not be null");
         Objects.requireNonNull(state, "state must not be null");
@@ -106,6 +109,56 @@ public class ClusterChangedEvent {
         }
     }
 
+    /**
+     * Returns the indices whose {@link IndexMetadata} changed between the previous and the current cluster state, including
+     * the indices that were created or deleted. Like {@link #indexMetadataChanged} this compares index metadata by reference.
+     * The changes are only computed once per event so appliers and listeners that only react to changed indices should use
+     * this rather than iterate all the indices of the cluster state themselves.
+     */
+    public IndicesMetadataChanges indicesMetadataChanges() {
+        IndicesMetadataChanges changes = indicesMetadataChanges;
+        if (changes == null) {
+            changes = computeIndicesMetadataChanges(previousState.metadata().indices(), state.metadata().indices());
+            indicesMetadataChanges = changes;
+        }
+        return changes;
+    }
+
+    // visible for testing
+    static IndicesMetadataChanges computeIndicesMetadataChanges(Map<String, IndexMetadata> previous, Map<String, IndexMetadata> current) {
+        if (previous == current) {
+            return IndicesMetadataChanges.NONE;
+        }
+        final List<IndexMetadata> upserted = new ArrayList<>();
+        final List<Index> removed = new ArrayList<>();
+        int created = 0;
+        for (IndexMetadata indexMetadata : current.values()) {
+            final IndexMetadata previousIndexMetadata = previous.get(indexMetadata.getIndex().getName());
+            if (previousIndexMetadata == indexMetadata) {
+                continue;
+            }
+            upserted.add(indexMetadata);
+            if (previousIndexMetadata == null) {
+                created++;
+            } else if (previousIndexMetadata.getIndexUUID().equals(indexMetadata.getIndexUUID()) == false) {
+                // deleted and created again with the same name
+                removed.add(previousIndexMetadata.getIndex());
+            }
+        }
+        // only look for deleted names if the previous state has names that the current one doesn't
+        if (previous.size() > current.size() - created) {
+            for (IndexMetadata previousIndexMetadata : previous.values()) {
+                if (current.containsKey(previousIndexMetadata.getIndex().getName()) == false) {
+                    removed.add(previousIndexMetadata.getIndex());
+                }
+            }
+        }
+        if (upserted.isEmpty() && removed.isEmpty()) {
+            return IndicesMetadataChanges.NONE;
+        }
+        return new IndicesMetadataChanges(Collections.unmodifiableList(upserted), Collections.unmodifiableList(removed));
+    }
+
     /**
      * Returns <code>true</code> iff the metadata for the cluster has changed between
      * the previous cluster state and the new cluster state. Note that this is an object
@@ -211,6 +264,21 @@ public class ClusterChangedEvent {
         return prevClusterUUID.equals(currClusterUUID) == false;
     }
 
+    /**
+     * The changes to the index metadata of a {@link ClusterChangedEvent}.
+     *
+     * @param upserted the metadata of the indices that were created or whose metadata changed
+     * @param removed  the indices that no longer exist, unlike {@link ClusterChangedEvent#indicesDeleted()} this doesn't account for tombstones
+     */
+    public record IndicesMetadataChanges(List<IndexMetadata> upserted, List<Index> removed) {
+
+        static final IndicesMetadataChanges NONE = new IndicesMetadataChanges(List.of(), List.of());
+
+        public boolean isEmpty() {
+            return upserted.isEmpty() && removed.isEmpty();
+        }
+    }
+
     // Get the deleted indices by comparing the index metadatas in the previous and new cluster states.
     // If an index exists in the previous cluster state, but not in the new cluster state, it must have been deleted.
     private List<Index> indicesDeletedFromClusterState() {
@@ -52,6 +52,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -355,9 +356,15 @@ public class PublicationTransportHandler {
         private final boolean sendFullVersion;
 
         private final Map<DiscoveryNode, Transport.Connection> nodeConnections = new HashMap<>();
-        // All the values of these maps have one ref for the context (while it's open) and one for each in-flight message.
+        // All the values of these maps have one ref for the context and one for each in-flight message. The context releases its ref
+        // when it closes or, if sooner, once the value has been sent to every node it was serialized for.
         private final Map<TransportVersion, ReleasableBytesReference> serializedStates = new ConcurrentHashMap<>();
-        private final Map<TransportVersion, ReleasableBytesReference> serializedDiffs = new HashMap<>();
+        private final Map<TransportVersion, ReleasableBytesReference> serializedDiffs = new ConcurrentHashMap<>();
+        // The number of nodes each of the values above was serialized for that we haven't sent it to yet. Releasing large states as
+        // soon as they are sent rather than once the publication completes means they don't stay on the heap while we wait for the
+        // slowest node to apply the state.
+        private final Map<TransportVersion, AtomicInteger> pendingStateRecipients = new ConcurrentHashMap<>();
+        private final Map<TransportVersion, AtomicInteger> pendingDiffRecipients = new ConcurrentHashMap<>();
 
         PublicationContext(ClusterStatePublicationEvent clusterStatePublicationEvent) {
             discoveryNodes = clusterStatePublicationEvent.getNewState().nodes();
@@ -388,13 +395,16 @@ public class PublicationTransportHandler {
                 }
 
                 nodeConnections.put(node, connection);
+                final TransportVersion version = connection.getTransportVersion();
                 if (sendFullVersion || previousState.nodes().nodeExists(node) == false) {
-                    serializedStates.computeIfAbsent(connection.getTransportVersion(), v -> serializeFullClusterState(newState, node, v));
+                    serializedStates.computeIfAbsent(version, v -> serializeFullClusterState(newState, node, v));
+                    pendingStateRecipients.computeIfAbsent(version, v -> new AtomicInteger()).incrementAndGet();
                 } else {
                     serializedDiffs.computeIfAbsent(
-                        connection.getTransportVersion(),
+                        version,
                         v -> serializeDiffClusterState(newState, diffSupplier.getOrCompute(), node, v)
                     );
+                    pendingDiffRecipients.computeIfAbsent(version, v -> new AtomicInteger()).incrementAndGet();
                 }
             }
         }
@@ -448,9 +458,34 @@ public class PublicationTransportHandler {
             } else if (sendFullVersion || previousState.nodes().nodeExists(destination) == false) {
                 logger.trace("sending full cluster state version [{}] to [{}]", newStateVersion, destination);
                 sendFullClusterState(destination, listener);
+                onSent(destination, serializedStates, pendingStateRecipients);
             } else {
                 logger.trace("sending cluster state diff for version [{}] to [{}]", newStateVersion, destination);
                 sendClusterStateDiff(destination, listener);
+                onSent(destination, serializedDiffs, pendingDiffRecipients);
+            }
+        }
+
+        /**
+         * Releases the context's ref on the serialized state or diff for the destination's transport version if this was the last node
+         * we serialized it for. Any in-flight messages keep it alive until they complete.
+         */
+        private void onSent(
+            DiscoveryNode destination,
+            Map<TransportVersion, ReleasableBytesReference> serialized,
+            Map<TransportVersion, AtomicInteger> pendingRecipients
+        ) {
+            final Transport.Connection connection = nodeConnections.get(destination);
+            if (connection == null) {
+                return;
+            }
+            final AtomicInteger pending = pendingRecipients.get(connection.getTransportVersion());
+            if (pending != null && pending.decrementAndGet() == 0) {
+                // remove before releasing so that nothing else releases it and a later full state fallback serializes it again
+                final ReleasableBytesReference bytes = serialized.remove(connection.getTransportVersion());
+                if (bytes != null) {
+                    bytes.decRef();
+                }
             }
         }
 
@@ -464,17 +499,28 @@ public class PublicationTransportHandler {
             }
 
             var version = connection.getTransportVersion();
-            ReleasableBytesReference bytes = serializedStates.get(version);
-            if (bytes == null) {
-                try {
-                    bytes = serializedStates.computeIfAbsent(version, v -> serializeFullClusterState(newState, destination, v));
-                } catch (Exception e) {
-                    logger.warn(() -> format("failed to serialize cluster state before publishing it to node %s", destination), e);
-                    listener.onFailure(e);
+            while (true) {
+                ReleasableBytesReference bytes = serializedStates.get(version);
+                if (bytes == null) {
+                    try {
+                        bytes = serializedStates.computeIfAbsent(version, v -> serializeFullClusterState(newState, destination, v));
+                    } catch (Exception e) {
+                        logger.warn(() -> format("failed to serialize cluster state before publishing it to node %s", destination), e);
+                        listener.onFailure(e);
+                        return;
+                    }
+                }
+                // we may be resending a full state after a diff failed, concurrently with its release after sending it to the last node
+                // we serialized it for, in which case it's no longer in the map and we serialize it again
+                if (bytes.tryIncRef()) {
+                    try {
+                        sendClusterState(connection, bytes, listener);
+                    } finally {
+                        bytes.decRef();
+                    }
                     return;
                 }
             }
-            sendClusterState(connection, bytes, listener);
         }
 
         private void sendClusterStateDiff(DiscoveryNode destination, ActionListener<PublishWithJoinResponse> listener) {
@@ -54,12 +54,10 @@ public class SystemIndexMetadataUpgradeService implements ClusterStateListener {
             && event.localNodeMaster()
             && (event.previousState().nodes().isLocalNodeElectedMaster() == false
                 || event.state().metadata().indices() != event.previousState().metadata().indices())) {
-            final Map<String, IndexMetadata> indexMetadataMap = event.state().metadata().indices();
-            final var previousIndices = event.previousState().metadata().indices();
+            final List<IndexMetadata> changedIndices = event.indicesMetadataChanges().upserted();
             final long triggerV = event.state().version();
             triggeredVersion = triggerV;
-            // Fork to the management pool to avoid blocking the cluster applier thread unnecessarily for very large index counts
-            // TODO: we should have a more efficient way of getting just the changed indices so that we don't have to fork here
+            // Fork to the management pool to avoid blocking the cluster applier thread unnecessarily when many indices changed
             clusterService.threadPool().executor(ThreadPool.Names.MANAGEMENT).execute(new AbstractRunnable() {
                 @Override
                 protected void doRun() {
@@ -67,17 +65,14 @@ public class SystemIndexMetadataUpgradeService implements ClusterStateListener {
                         // don't run if another newer check task was triggered already
                         return;
                     }
-                    for (Map.Entry<String, IndexMetadata> cursor : indexMetadataMap.entrySet()) {
-                        if (cursor.getValue() != previousIndices.get(cursor.getKey())) {
-                            IndexMetadata indexMetadata = cursor.getValue();
-                            if (requiresUpdate(indexMetadata)) {
-                                updateTaskPending = true;
-                                submitUnbatchedTask(
-                                    "system_index_metadata_upgrade_service {system metadata change}",
-                                    new SystemIndexMetadataUpdateTask()
-                                );
-                                break;
-                            }
+                    for (IndexMetadata indexMetadata : changedIndices) {
+                        if (requiresUpdate(indexMetadata)) {
+                            updateTaskPending = true;
+                            submitUnbatchedTask(
+                                "system_index_metadata_upgrade_service {system metadata change}",
+                                new SystemIndexMetadataUpdateTask()
+                            );
+                            break;
                         }
                     }
                 }
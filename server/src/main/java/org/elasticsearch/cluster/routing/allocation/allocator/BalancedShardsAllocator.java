@@ -561,6 +561,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final float[] weights = sorter.weights;
             for (String index : buildWeightOrderedIndices()) {
                 IndexMetadata indexMetadata = metadata.index(index);
+                final float localThreshold = weightFunction.minWeightDelta(getShardWriteLoad(index), maxShardSizeBytes(index)) * threshold;
+                if (weightDelta(modelNodes, index) <= localThreshold) {
+                    // No two nodes are far enough apart to move a shard of this index between them, so don't bother asking the deciders
+                    // which nodes it may be allocated to. Most indices are balanced once the cluster has converged so this keeps the
+                    // cost of a balancing round proportional to the number of indices that need to move.
+                    continue;
+                }
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
                 // move these nodes to the front of modelNodes so that we can only balance based on these nodes
@@ -583,7 +590,6 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 sorter.reset(index, 0, relevantNodes);
                 int lowIdx = 0;
                 int highIdx = relevantNodes - 1;
-                final float localThreshold = sorter.minWeightDelta() * threshold;
                 while (true) {
                     final ModelNode minNode = modelNodes[lowIdx];
                     final ModelNode maxNode = modelNodes[highIdx];
@@ -677,6 +683,21 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             }
         }
 
+        /**
+         * The difference between the highest and the lowest weight of the nodes with respect to the given index. This is an upper
+         * bound of the delta between any two of the nodes that {@link #balanceByWeights()} considers moving a shard between.
+         */
+        private float weightDelta(ModelNode[] modelNodes, String index) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (ModelNode node : modelNodes) {
+                final float weight = weightFunction.calculateNodeWeightWithIndex(this, node, index);
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+            return max - min;
+        }
+
         /**
          * This builds a initial index ordering where the indices are returned
          * in most unbalanced first. We need this in order to prevent over
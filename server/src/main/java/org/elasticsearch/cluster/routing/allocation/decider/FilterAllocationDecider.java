@@ -16,6 +16,8 @@ import org.elasticsearch.cluster.routing.RecoverySource;
 import org.elasticsearch.cluster.routing.RoutingNode;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
@@ -79,9 +81,26 @@ public class FilterAllocationDecider extends AllocationDecider {
         key -> Setting.stringListSetting(key, value -> validateIpValue(key, value), Property.Dynamic, Property.NodeScope)
     );
 
+    /**
+     * The maximum number of cached decisions, each one is for a node and the distinct filters of an index.
+     */
+    private static final int MAX_CACHED_DECISIONS = 100_000;
+
     private volatile DiscoveryNodeFilters clusterRequireFilters;
     private volatile DiscoveryNodeFilters clusterIncludeFilters;
     private volatile DiscoveryNodeFilters clusterExcludeFilters;
+    // incremented after any of the cluster filters changes, only ever updated by the cluster applier thread
+    private volatile long clusterFiltersVersion;
+
+    /**
+     * Without explanations our decisions only depend on the filters and the node. Consecutive cluster states share the
+     * {@link DiscoveryNode} and {@link IndexMetadata} instances, and therefore the index filters, until they change, so
+     * decisions cached by identity stay valid across reroutes. That saves matching the same filters against the same
+     * nodes for every shard on every reroute.
+     */
+    private final Cache<DecisionKey, Decision> decisions = CacheBuilder.<DecisionKey, Decision>builder()
+        .setMaximumWeight(MAX_CACHED_DECISIONS)
+        .build();
 
     public FilterAllocationDecider(Settings settings, ClusterSettings clusterSettings) {
         setClusterRequireFilters(CLUSTER_ROUTING_REQUIRE_GROUP_SETTING.getAsMap(settings));
@@ -131,6 +150,31 @@ public class FilterAllocationDecider extends AllocationDecider {
     }
 
     private Decision shouldFilter(IndexMetadata indexMd, DiscoveryNode node, RoutingAllocation allocation) {
+        if (allocation.debugDecision()) {
+            return computeShouldFilter(indexMd, node, allocation);
+        }
+        // read the version before the filters so that a decision computed with older filters is never cached with a newer version
+        final long version = clusterFiltersVersion;
+        final DecisionKey key = new DecisionKey(
+            version,
+            DiscoveryNodeFilters.trimTier(indexMd.requireFilters()),
+            DiscoveryNodeFilters.trimTier(indexMd.includeFilters()),
+            DiscoveryNodeFilters.trimTier(indexMd.excludeFilters()),
+            node
+        );
+        if (key.hasFilters() == false && hasClusterFilters() == false) {
+            // nothing to match, cheaper than a cache lookup
+            return computeShouldFilter(indexMd, node, allocation);
+        }
+        Decision decision = decisions.get(key);
+        if (decision == null) {
+            decision = computeShouldFilter(indexMd, node, allocation);
+            decisions.put(key, decision);
+        }
+        return decision;
+    }
+
+    private Decision computeShouldFilter(IndexMetadata indexMd, DiscoveryNode node, RoutingAllocation allocation) {
         Decision decision = shouldClusterFilter(node, allocation);
         if (decision != null) return decision;
 
@@ -220,14 +264,56 @@ public class FilterAllocationDecider extends AllocationDecider {
 
     private void setClusterRequireFilters(Map<String, List<String>> filters) {
         clusterRequireFilters = DiscoveryNodeFilters.trimTier(DiscoveryNodeFilters.buildFromKeyValues(AND, filters));
+        clusterFiltersVersion++;
     }
 
     private void setClusterIncludeFilters(Map<String, List<String>> filters) {
         clusterIncludeFilters = DiscoveryNodeFilters.trimTier(DiscoveryNodeFilters.buildFromKeyValues(OR, filters));
+        clusterFiltersVersion++;
     }
 
     private void setClusterExcludeFilters(Map<String, List<String>> filters) {
         clusterExcludeFilters = DiscoveryNodeFilters.trimTier(DiscoveryNodeFilters.buildFromKeyValues(OR, filters));
+        clusterFiltersVersion++;
+    }
+
+    private boolean hasClusterFilters() {
+        return clusterRequireFilters != null || clusterIncludeFilters != null || clusterExcludeFilters != null;
+    }
+
+    /**
+     * Identifies a decision by the version of the cluster filters and the identity of the index filters and the node. A node
+     * that rejoins the cluster is a new instance, so we never reuse decisions for a node whose attributes may have changed.
+     */
+    private record DecisionKey(
+        long clusterFiltersVersion,
+        DiscoveryNodeFilters requireFilters,
+        DiscoveryNodeFilters includeFilters,
+        DiscoveryNodeFilters excludeFilters,
+        DiscoveryNode node
+    ) {
+        boolean hasFilters() {
+            return requireFilters != null || includeFilters != null || excludeFilters != null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DecisionKey other
+                && clusterFiltersVersion == other.clusterFiltersVersion
+                && requireFilters == other.requireFilters
+                && includeFilters == other.includeFilters
+                && excludeFilters == other.excludeFilters
+                && node == other.node;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(clusterFiltersVersion);
+            result = 31 * result + System.identityHashCode(requireFilters);
+            result = 31 * result + System.identityHashCode(includeFilters);
+            result = 31 * result + System.identityHashCode(excludeFilters);
+            return 31 * result + System.identityHashCode(node);
+        }
     }
 
     @Override
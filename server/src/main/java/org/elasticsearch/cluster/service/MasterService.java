@@ -52,6 +52,7 @@ import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskAwareRequest;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.tasks.TaskManager;
+import org.elasticsearch.telemetry.metric.MeterRegistry;
 import org.elasticsearch.threadpool.Scheduler;
 import org.elasticsearch.threadpool.ThreadPool;
 
@@ -118,8 +119,19 @@ public class MasterService extends AbstractLifecycleComponent {
 
     private final ClusterStateUpdateStatsTracker clusterStateUpdateStatsTracker = new ClusterStateUpdateStatsTracker();
     private final StarvationWatcher starvationWatcher = new StarvationWatcher();
+    private final MasterServiceMetrics metrics;
 
     public MasterService(Settings settings, ClusterSettings clusterSettings, ThreadPool threadPool, TaskManager taskManager) {
+        this(settings, clusterSettings, threadPool, taskManager, MeterRegistry.NOOP);
+    }
+
+    public MasterService(
+        Settings settings,
+        ClusterSettings clusterSettings,
+        ThreadPool threadPool,
+        TaskManager taskManager,
+        MeterRegistry meterRegistry
+    ) {
         this.nodeName = Objects.requireNonNull(Node.NODE_NAME_SETTING.get(settings));
 
         this.slowTaskLoggingThreshold = MASTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING.get(settings);
@@ -137,6 +149,7 @@ public class MasterService extends AbstractLifecycleComponent {
         }
         this.queuesByPriority = Collections.unmodifiableMap(queuesByPriorityBuilder);
         this.unbatchedExecutor = new UnbatchedExecutor();
+        this.metrics = new MasterServiceMetrics(meterRegistry);
     }
 
     private static ThreadContext.StoredContext getClusterStateUpdateContext(ThreadContext threadContext) {
@@ -214,6 +227,7 @@ public class MasterService extends AbstractLifecycleComponent {
     }
 
     private <T extends ClusterStateTaskListener> void executeAndPublishBatch(
+        final String queueName,
         final ClusterStateTaskExecutor<T> executor,
         final List<ExecutionResult<T>> executionResults,
         final BatchSummary summary,
@@ -245,6 +259,7 @@ public class MasterService extends AbstractLifecycleComponent {
         );
         final TimeValue computationTime = getTimeSince(computationStartTime);
         logExecutionTime(computationTime, "compute cluster state update", summary);
+        metrics.onBatchComputed(queueName, computationTime.millis());
 
         if (previousClusterState == newClusterState) {
             final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
@@ -302,6 +317,7 @@ public class MasterService extends AbstractLifecycleComponent {
                         }
                     },
                     l -> publishClusterStateUpdate(
+                        queueName,
                         executor,
                         summary,
                         previousClusterState,
@@ -318,6 +334,7 @@ public class MasterService extends AbstractLifecycleComponent {
     }
 
     private <T extends ClusterStateTaskListener> void publishClusterStateUpdate(
+        String queueName,
         ClusterStateTaskExecutor<T> executor,
         BatchSummary summary,
         ClusterState previousClusterState,
@@ -460,6 +477,7 @@ public class MasterService extends AbstractLifecycleComponent {
             }, new Runnable() {
                 @Override
                 public void run() {
+                    metrics.onBatchPublished(queueName, getTimeSince(publicationStartTime).millis());
                     listener.onResponse(null);
                 }
 
@@ -1447,11 +1465,12 @@ public class MasterService extends AbstractLifecycleComponent {
     ) {
         return new BatchingTaskQueue<>(
             name,
-            this::executeAndPublishBatch,
+            (batchExecutor, tasks, summary, listener) -> executeAndPublishBatch(name, batchExecutor, tasks, summary, listener),
             insertionIndexSupplier,
             queuesByPriority.get(priority),
             executor,
-            threadPool
+            threadPool,
+            metrics
         );
     }
 
@@ -1544,6 +1563,7 @@ public class MasterService extends AbstractLifecycleComponent {
         private final PerPriorityQueue perPriorityQueue;
         private final ClusterStateTaskExecutor<T> executor;
         private final ThreadPool threadPool;
+        private final MasterServiceMetrics metrics;
         private final Batch processor = new Processor();
 
         BatchingTaskQueue(
@@ -1552,7 +1572,8 @@ public class MasterService extends AbstractLifecycleComponent {
             LongSupplier insertionIndexSupplier,
             PerPriorityQueue perPriorityQueue,
             ClusterStateTaskExecutor<T> executor,
-            ThreadPool threadPool
+            ThreadPool threadPool,
+            MasterServiceMetrics metrics
         ) {
             this.name = name;
             this.batchConsumer = batchConsumer;
@@ -1560,6 +1581,7 @@ public class MasterService extends AbstractLifecycleComponent {
             this.perPriorityQueue = perPriorityQueue;
             this.executor = executor;
             this.threadPool = threadPool;
+            this.metrics = metrics;
         }
 
         @Override
@@ -1661,6 +1683,7 @@ public class MasterService extends AbstractLifecycleComponent {
                 assert executing.isEmpty() : executing;
                 final var entryCount = queueSize.getAndSet(0);
                 var taskCount = 0;
+                var oldestInsertionTimeMillis = Long.MAX_VALUE;
                 final var tasks = new ArrayList<ExecutionResult<T>>(entryCount);
                 for (int i = 0; i < entryCount; i++) {
                     final var entry = queue.poll();
@@ -1668,6 +1691,7 @@ public class MasterService extends AbstractLifecycleComponent {
                     final var task = entry.acquireForExecution();
                     if (task != null) {
                         taskCount += 1;
+                        oldestInsertionTimeMillis = Math.min(oldestInsertionTimeMillis, entry.insertionTimeMillis());
                         executing.add(entry);
                         tasks.add(
                             new ExecutionResult<>(entry.source(), task, threadPool.getThreadContext(), entry.storedContextSupplier())
@@ -1678,6 +1702,7 @@ public class MasterService extends AbstractLifecycleComponent {
                     listener.onResponse(null);
                     return;
                 }
+                metrics.onBatchStarted(name, taskCount, Math.max(0L, threadPool.relativeTimeInMillis() - oldestInsertionTimeMillis));
                 final var finalTaskCount = taskCount;
                 ActionListener.run(ActionListener.runBefore(listener, () -> {
                     assert executing.size() == finalTaskCount;
@@ -0,0 +1,76 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.cluster.service;
+
+import org.elasticsearch.telemetry.metric.LongHistogram;
+import org.elasticsearch.telemetry.metric.MeterRegistry;
+
+import java.util.Map;
+
+/**
+ * Per-queue metrics of the batches of tasks that the {@link MasterService} executes, reported through the {@link MeterRegistry}. Each
+ * measurement has a {@link #QUEUE_ATTRIBUTE_NAME} attribute with the name of the {@link MasterServiceTaskQueue} that the batch came from,
+ * which shows which queues the master spends its time on. Unbatched tasks are reported with the name {@code unbatched}.
+ */
+class MasterServiceMetrics {
+
+    static final String QUEUE_ATTRIBUTE_NAME = "es_master_task_queue";
+
+    static final String BATCH_SIZE_METRIC_NAME = "es.master.task_queue.batch.size";
+    static final String WAIT_TIME_METRIC_NAME = "es.master.task_queue.wait.time";
+    static final String COMPUTE_TIME_METRIC_NAME = "es.master.task_queue.compute.time";
+    static final String PUBLISH_TIME_METRIC_NAME = "es.master.task_queue.publish.time";
+
+    private final LongHistogram batchSize;
+    private final LongHistogram waitTime;
+    private final LongHistogram computeTime;
+    private final LongHistogram publishTime;
+
+    MasterServiceMetrics(MeterRegistry meterRegistry) {
+        batchSize = meterRegistry.registerLongHistogram(
+            BATCH_SIZE_METRIC_NAME,
+            "The number of tasks executed together in a batch by the master service",
+            "{task}"
+        );
+        waitTime = meterRegistry.registerLongHistogram(
+            WAIT_TIME_METRIC_NAME,
+            "The time the oldest task of a batch waited in its queue before the master service executed it",
+            "ms"
+        );
+        computeTime = meterRegistry.registerLongHistogram(
+            COMPUTE_TIME_METRIC_NAME,
+            "The time the master service spent computing the cluster state update of a batch",
+            "ms"
+        );
+        publishTime = meterRegistry.registerLongHistogram(
+            PUBLISH_TIME_METRIC_NAME,
+            "The time the master service spent publishing the cluster state update of a batch",
+            "ms"
+        );
+    }
+
+    void onBatchStarted(String queue, int tasks, long waitTimeMillis) {
+        final var attributes = attributes(queue);
+        batchSize.record(tasks, attributes);
+        waitTime.record(waitTimeMillis, attributes);
+    }
+
+    void onBatchComputed(String queue, long computeTimeMillis) {
+        computeTime.record(computeTimeMillis, attributes(queue));
+    }
+
+    void onBatchPublished(String queue, long publishTimeMillis) {
+        publishTime.record(publishTimeMillis, attributes(queue));
+    }
+
+    private static Map<String, Object> attributes(String queue) {
+        return Map.of(QUEUE_ATTRIBUTE_NAME, queue);
+    }
+}
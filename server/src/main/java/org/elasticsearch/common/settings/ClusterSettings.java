@@ -244,6 +244,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IndicesQueryCache.INDICES_CACHE_QUERY_COUNT_SETTING,
         IndicesQueryCache.INDICES_QUERIES_CACHE_ALL_SEGMENTS_SETTING,
         IndicesService.INDICES_ID_FIELD_DATA_ENABLED_SETTING,
+        IndicesService.INDICES_REQUESTS_COALESCE_ENABLED_SETTING,
         IndicesService.WRITE_DANGLING_INDICES_INFO_SETTING,
         MappingUpdatedAction.INDICES_MAPPING_DYNAMIC_TIMEOUT_SETTING,
         MappingUpdatedAction.INDICES_MAX_IN_FLIGHT_UPDATES_SETTING,
@@ -358,6 +359,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         SearchService.DEFAULT_SEARCH_TIMEOUT_SETTING,
         SearchService.DEFAULT_ALLOW_PARTIAL_SEARCH_RESULTS,
         TransportSearchAction.SHARD_COUNT_LIMIT_SETTING,
+        TransportSearchAction.QUERY_PHASE_PER_NODE_SETTING,
         TransportSearchAction.DEFAULT_PRE_FILTER_SHARD_SIZE,
         RemoteClusterService.REMOTE_CLUSTER_SKIP_UNAVAILABLE,
         SniffConnectionStrategy.REMOTE_CONNECTIONS_PER_CLUSTER,
@@ -580,6 +582,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IndexingPressure.SPLIT_BULK_HIGH_WATERMARK_SIZE,
         IndexingPressure.SPLIT_BULK_LOW_WATERMARK,
         IndexingPressure.SPLIT_BULK_LOW_WATERMARK_SIZE,
+        IndexingPressure.SPLIT_BULK_MAX_SIZE,
         ShardLimitValidator.SETTING_CLUSTER_MAX_SHARDS_PER_NODE_FROZEN,
         DataTier.ENFORCE_DEFAULT_TIER_PREFERENCE_SETTING,
         CoordinationDiagnosticsService.IDENTITY_CHANGES_THRESHOLD_SETTING,
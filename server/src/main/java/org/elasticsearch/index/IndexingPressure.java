@@ -79,6 +79,27 @@ public class IndexingPressure {
         Setting.Property.NodeScope
     );
 
+    /**
+     * The size at which incremental bulk requests are always split, regardless of the
+     * memory pressure on the node. This lets the primaries start indexing large bulk
+     * requests before the coordinating node has received their last byte. {@code -1},
+     * the default, only splits bulk requests on the watermarks above. {@code 0} is
+     * rejected because it would split the request after every chunk.
+     */
+    public static final Setting<ByteSizeValue> SPLIT_BULK_MAX_SIZE = new Setting<>(
+        "indexing_pressure.memory.split_bulk.max_size",
+        ByteSizeValue.MINUS_ONE.getStringRep(),
+        s -> ByteSizeValue.parseBytesSizeValue(s, "indexing_pressure.memory.split_bulk.max_size"),
+        value -> {
+            if (value.getBytes() == 0) {
+                throw new IllegalArgumentException(
+                    "[indexing_pressure.memory.split_bulk.max_size] must be -1 to disable it or greater than 0, got [" + value + "]"
+                );
+            }
+        },
+        Setting.Property.NodeScope
+    );
+
     private static final Logger logger = LogManager.getLogger(IndexingPressure.class);
 
     private final AtomicLong currentCombinedCoordinatingAndPrimaryBytes = new AtomicLong(0);
@@ -107,11 +128,13 @@ public class IndexingPressure {
 
     private final AtomicLong lowWaterMarkSplits = new AtomicLong(0);
     private final AtomicLong highWaterMarkSplits = new AtomicLong(0);
+    private final AtomicLong maxSizeSplits = new AtomicLong(0);
 
     private final long lowWatermark;
     private final long lowWatermarkSize;
     private final long highWatermark;
     private final long highWatermarkSize;
+    private final long maxBulkSize;
     private final long coordinatingLimit;
     private final long primaryLimit;
     private final long replicaLimit;
@@ -121,6 +144,7 @@ public class IndexingPressure {
         this.lowWatermarkSize = SPLIT_BULK_LOW_WATERMARK_SIZE.get(settings).getBytes();
         this.highWatermark = SPLIT_BULK_HIGH_WATERMARK.get(settings).getBytes();
         this.highWatermarkSize = SPLIT_BULK_HIGH_WATERMARK_SIZE.get(settings).getBytes();
+        this.maxBulkSize = SPLIT_BULK_MAX_SIZE.get(settings).getBytes();
         this.coordinatingLimit = MAX_COORDINATING_BYTES.get(settings).getBytes();
         this.primaryLimit = MAX_PRIMARY_BYTES.get(settings).getBytes();
         this.replicaLimit = MAX_REPLICA_BYTES.get(settings).getBytes();
@@ -278,6 +302,11 @@ public class IndexingPressure {
             logger.trace(() -> Strings.format("Split bulk due to low watermark: current bytes [%d] and size [%d]", currentUsage, size));
             return (true);
         }
+        if (maxBulkSize >= 0 && size >= maxBulkSize) {
+            maxSizeSplits.getAndIncrement();
+            logger.trace(() -> Strings.format("Split bulk due to max size: size [%d]", size));
+            return (true);
+        }
         return (false);
     }
 
@@ -304,7 +333,8 @@ public class IndexingPressure {
             primaryDocumentRejections.get(),
             totalCoordinatingRequests.get(),
             lowWaterMarkSplits.get(),
-            highWaterMarkSplits.get()
+            highWaterMarkSplits.get(),
+            maxSizeSplits.get()
         );
     }
 }
@@ -14,20 +14,40 @@ import org.elasticsearch.index.translog.Translog;
 
 import java.util.Objects;
 
+/**
+ * The version of an indexed document. The {@link Translog.Location} is stored as primitives
+ * rather than a reference to a {@link Translog.Location} because there is one of these for
+ * each document indexed since the last refresh so saving an object per entry adds up on
+ * update heavy indices with long refresh intervals.
+ */
 final class IndexVersionValue extends VersionValue {
 
     private static final long RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(IndexVersionValue.class);
 
-    private final Translog.Location translogLocation;
+    /**
+     * The generation of the translog operation or {@code -1} if we don't track it.
+     */
+    private final long translogGeneration;
+    private final long translogOffset;
+    private final int translogSize;
 
     IndexVersionValue(Translog.Location translogLocation, long version, long seqNo, long term) {
         super(version, seqNo, term);
-        this.translogLocation = translogLocation;
+        if (translogLocation == null) {
+            this.translogGeneration = -1;
+            this.translogOffset = 0;
+            this.translogSize = 0;
+        } else {
+            assert translogLocation.generation() >= 0 : translogLocation;
+            this.translogGeneration = translogLocation.generation();
+            this.translogOffset = translogLocation.translogLocation();
+            this.translogSize = translogLocation.size();
+        }
     }
 
     @Override
     public long ramBytesUsed() {
-        return RAM_BYTES_USED + RamUsageEstimator.shallowSizeOf(translogLocation);
+        return RAM_BYTES_USED;
     }
 
     @Override
@@ -36,21 +56,23 @@ final class IndexVersionValue extends VersionValue {
         if (o == null || getClass() != o.getClass()) return false;
         if (super.equals(o) == false) return false;
         IndexVersionValue that = (IndexVersionValue) o;
-        return Objects.equals(translogLocation, that.translogLocation);
+        return translogGeneration == that.translogGeneration
+            && translogOffset == that.translogOffset
+            && translogSize == that.translogSize;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), translogLocation);
+        return Objects.hash(super.hashCode(), translogGeneration, translogOffset, translogSize);
     }
 
     @Override
     public String toString() {
-        return "IndexVersionValue{version=" + version + ", seqNo=" + seqNo + ", term=" + term + ", location=" + translogLocation + '}';
+        return "IndexVersionValue{version=" + version + ", seqNo=" + seqNo + ", term=" + term + ", location=" + getLocation() + '}';
     }
 
     @Override
     public Translog.Location getLocation() {
-        return translogLocation;
+        return translogGeneration < 0 ? null : new Translog.Location(translogGeneration, translogOffset, translogSize);
     }
 }
@@ -29,11 +29,19 @@ import java.util.Set;
  */
 public abstract class StoredFieldLoader {
 
+    /**
+     * The largest average gap between the documents loaded from a segment for which we
+     * still use the sequential reader. That reader decompresses each block of stored
+     * fields once and keeps it around while the random access reader decompresses the
+     * block again for every document in it.
+     */
+    private static final int SEQUENTIAL_READER_MAX_AVERAGE_GAP = 4;
+
     /**
      * Return a {@link LeafStoredFieldLoader} for the given segment and document set
      *
      * The loader will use an internal lucene merge reader if the document set is of
-     * sufficient size and is contiguous.  Callers may pass {@code null} if the set
+     * sufficient size and is dense.  Callers may pass {@code null} if the set
      * is not known up front or if the merge reader optimisation will not apply.
      */
     public abstract LeafStoredFieldLoader getLoader(LeafReaderContext ctx, int[] docs) throws IOException;
@@ -43,6 +51,13 @@ public abstract class StoredFieldLoader {
      */
     public abstract List<String> fieldsToLoad();
 
+    /**
+     * Hint that the stored fields of {@code docs} will be loaded soon so the blocks
+     * that contain them can be read from disk in the background. Loaders that
+     * don't read from disk ignore this.
+     */
+    public void prefetch(LeafReaderContext ctx, int[] docs) throws IOException {}
+
     /**
      * Creates a new StoredFieldLoader using a StoredFieldsSpec
      */
@@ -73,6 +88,14 @@ public abstract class StoredFieldLoader {
                 return new ReaderStoredFieldLoader(forceSequentialReader ? sequentialReader(ctx) : reader(ctx, docs), loadSource, fields);
             }
 
+            @Override
+            public void prefetch(LeafReaderContext ctx, int[] docs) throws IOException {
+                StoredFields storedFields = ctx.reader().storedFields();
+                for (int doc : docs) {
+                    storedFields.prefetch(doc);
+                }
+            }
+
             @Override
             public List<String> fieldsToLoad() {
                 return fieldsToLoad;
@@ -138,13 +161,22 @@ public abstract class StoredFieldLoader {
 
     private static CheckedBiConsumer<Integer, FieldsVisitor, IOException> reader(LeafReaderContext ctx, int[] docs) throws IOException {
         LeafReader leafReader = ctx.reader();
-        if (docs != null && docs.length > 10 && hasSequentialDocs(docs)) {
+        if (useSequentialReader(docs)) {
             return sequentialReader(ctx);
         }
         StoredFields storedFields = leafReader.storedFields();
         return storedFields::document;
     }
 
+    /**
+     * Should loading the sorted {@code docs} of a single segment use the sequential reader?
+     * We do so if there are enough of them and they are close enough together that
+     * many of them share a block of stored fields.
+     */
+    public static boolean useSequentialReader(int[] docs) {
+        return docs != null && docs.length > 10 && hasDenseDocs(docs);
+    }
+
     private static CheckedBiConsumer<Integer, FieldsVisitor, IOException> sequentialReader(LeafReaderContext ctx) throws IOException {
         LeafReader leafReader = ctx.reader();
         if (leafReader instanceof SequentialStoredFieldsLeafReader lf) {
@@ -164,8 +196,9 @@ public abstract class StoredFieldLoader {
         return fieldsToLoad.stream().sorted().toList();
     }
 
-    private static boolean hasSequentialDocs(int[] docs) {
-        return docs.length > 0 && docs[docs.length - 1] - docs[0] == docs.length - 1;
+    private static boolean hasDenseDocs(int[] docs) {
+        long span = (long) docs[docs.length - 1] - docs[0] + 1;
+        return span <= (long) docs.length * SEQUENTIAL_READER_MAX_AVERAGE_GAP;
     }
 
     private static class EmptyStoredFieldLoader implements LeafStoredFieldLoader {
@@ -9,8 +9,11 @@
 
 package org.elasticsearch.index.query;
 
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PointRangeQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.QueryVisitor;
 
@@ -34,9 +37,34 @@ public class DateRangeIncludingNowQuery extends Query {
         return in;
     }
 
+    /**
+     * Ranges on {@code now} move with every request so they are never reused
+     * from the query cache. If we can find the bounds of the range we rewrite
+     * to a {@link PointsBoundsRangeQuery} which gets stable, cacheable results
+     * for the segments that are entirely inside of the range.
+     */
     @Override
     public Query rewrite(IndexSearcher searcher) throws IOException {
-        return in;
+        PointRangeQuery points = pointRangeQuery(in);
+        if (points == null) {
+            return in;
+        }
+        return new PointsBoundsRangeQuery(
+            points.getField(),
+            LongPoint.decodeDimension(points.getLowerPoint(), 0),
+            LongPoint.decodeDimension(points.getUpperPoint(), 0),
+            in
+        );
+    }
+
+    private static PointRangeQuery pointRangeQuery(Query query) {
+        if (query instanceof IndexOrDocValuesQuery indexOrDocValuesQuery) {
+            return pointRangeQuery(indexOrDocValuesQuery.getIndexQuery());
+        }
+        if (query instanceof PointRangeQuery points && points.getNumDims() == 1 && points.getBytesPerDim() == Long.BYTES) {
+            return points;
+        }
+        return null;
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.query;
+
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Range query on a {@code long} point field whose bounds change from one request
+ * to the next, like {@code now-15m}. Most segments of a time based index are
+ * either entirely inside or entirely outside of such a range, so we compare the
+ * bounds of each segment's points with the range:
+ * <ul>
+ *     <li>If the segment is entirely inside the range we match all documents that
+ *     have a value for the field with a query whose bounds never change. Its
+ *     per-segment results can be cached by the query cache and reused across
+ *     refreshes and moving time windows because the segment is immutable.</li>
+ *     <li>If the segment is entirely outside the range we match nothing.</li>
+ *     <li>Otherwise we run the original query.</li>
+ * </ul>
+ */
+public final class PointsBoundsRangeQuery extends Query {
+
+    private final String field;
+    private final long lowerValue;
+    private final long upperValue;
+    private final Query in;
+
+    /**
+     * @param field the point field
+     * @param lowerValue the lower bound of the range, inclusive
+     * @param upperValue the upper bound of the range, inclusive
+     * @param in the query to run on segments that are partially inside the range
+     */
+    public PointsBoundsRangeQuery(String field, long lowerValue, long upperValue, Query in) {
+        this.field = Objects.requireNonNull(field);
+        this.lowerValue = lowerValue;
+        this.upperValue = upperValue;
+        this.in = Objects.requireNonNull(in);
+    }
+
+    public Query getQuery() {
+        return in;
+    }
+
+    /**
+     * The query used on segments that are entirely inside the range. Its
+     * bounds don't depend on the range so it caches well.
+     */
+    Query allValuesQuery() {
+        return LongPoint.newRangeQuery(field, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Query rewrite(IndexSearcher searcher) throws IOException {
+        Query rewritten = in.rewrite(searcher);
+        if (rewritten != in) {
+            return new PointsBoundsRangeQuery(field, lowerValue, upperValue, rewritten);
+        }
+        return this;
+    }
+
+    @Override
+    public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+        Weight rangeWeight = searcher.createWeight(in, scoreMode, boost);
+        Weight allValuesWeight = searcher.createWeight(searcher.rewrite(allValuesQuery()), scoreMode, boost);
+        return new Weight(this) {
+            private Weight weight(LeafReaderContext context) throws IOException {
+                PointValues values = context.reader().getPointValues(field);
+                if (values == null || values.getNumDimensions() != 1 || values.getBytesPerDimension() != Long.BYTES) {
+                    return rangeWeight;
+                }
+                long min = LongPoint.decodeDimension(values.getMinPackedValue(), 0);
+                long max = LongPoint.decodeDimension(values.getMaxPackedValue(), 0);
+                if (max < lowerValue || min > upperValue) {
+                    return null;
+                }
+                if (min >= lowerValue && max <= upperValue) {
+                    return allValuesWeight;
+                }
+                return rangeWeight;
+            }
+
+            @Override
+            public ScorerSupplier scorerSupplier(LeafReaderContext context) throws IOException {
+                Weight weight = weight(context);
+                return weight == null ? null : weight.scorerSupplier(context);
+            }
+
+            @Override
+            public int count(LeafReaderContext context) throws IOException {
+                Weight weight = weight(context);
+                return weight == null ? 0 : weight.count(context);
+            }
+
+            @Override
+            public Explanation explain(LeafReaderContext context, int doc) throws IOException {
+                Weight weight = weight(context);
+                if (weight == null) {
+                    return Explanation.noMatch("segment is outside of the range [" + lowerValue + ", " + upperValue + "]");
+                }
+                return weight.explain(context, doc);
+            }
+
+            @Override
+            public boolean isCacheable(LeafReaderContext ctx) {
+                // The bounds change on every request so entries for this query would never be reused.
+                // The queries that we delegate to are cached on their own.
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String toString(String field) {
+        return "PointsBoundsRangeQuery(" + in.toString(field) + ")";
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        in.visit(visitor.getSubVisitor(BooleanClause.Occur.MUST, this));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (sameClassAs(o) == false) return false;
+        PointsBoundsRangeQuery that = (PointsBoundsRangeQuery) o;
+        return field.equals(that.field) && lowerValue == that.lowerValue && upperValue == that.upperValue && in.equals(that.in);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, lowerValue, upperValue, in);
+    }
+}
@@ -36,11 +36,12 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
     private final long primaryDocumentRejections;
     private final long memoryLimit;
 
-    /* Count number of splits due to SPLIT_BULK_LOW_WATERMARK and SPLIT_BULK_HIGH_WATERMARK
-       These 2 stats are not serialized via X content yet.
+    /* Count number of splits due to SPLIT_BULK_LOW_WATERMARK, SPLIT_BULK_HIGH_WATERMARK and SPLIT_BULK_MAX_SIZE
+       These 3 stats are not serialized via X content yet.
      */
     private final long lowWaterMarkSplits;
     private final long highWaterMarkSplits;
+    private final long maxSizeSplits;
 
     // These fields will be used for additional back-pressure and metrics in the future
     private final long totalCoordinatingOps;
@@ -95,6 +96,12 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
             lowWaterMarkSplits = -1L;
             highWaterMarkSplits = -1L;
         }
+
+        if (in.getTransportVersion().onOrAfter(TransportVersions.INDEXING_PRESSURE_MAX_SIZE_SPLITS)) {
+            maxSizeSplits = in.readVLong();
+        } else {
+            maxSizeSplits = -1L;
+        }
     }
 
     public IndexingPressureStats(
@@ -119,7 +126,8 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
         long primaryDocumentRejections,
         long totalCoordinatingRequests,
         long lowWaterMarkSplits,
-        long highWaterMarkSplits
+        long highWaterMarkSplits,
+        long maxSizeSplits
     ) {
         this.totalCombinedCoordinatingAndPrimaryBytes = totalCombinedCoordinatingAndPrimaryBytes;
         this.totalCoordinatingBytes = totalCoordinatingBytes;
@@ -146,6 +154,7 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
 
         this.lowWaterMarkSplits = lowWaterMarkSplits;
         this.highWaterMarkSplits = highWaterMarkSplits;
+        this.maxSizeSplits = maxSizeSplits;
     }
 
     @Override
@@ -178,6 +187,10 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
             out.writeVLong(lowWaterMarkSplits);
             out.writeVLong(highWaterMarkSplits);
         }
+
+        if (out.getTransportVersion().onOrAfter(TransportVersions.INDEXING_PRESSURE_MAX_SIZE_SPLITS)) {
+            out.writeVLong(maxSizeSplits);
+        }
     }
 
     public long getTotalCombinedCoordinatingAndPrimaryBytes() {
@@ -268,6 +281,10 @@ public class IndexingPressureStats implements Writeable, ToXContentFragment {
         return lowWaterMarkSplits;
     }
 
+    public long getMaxSizeSplits() {
+        return maxSizeSplits;
+    }
+
     private static final String COMBINED = "combined_coordinating_and_primary";
     private static final String COMBINED_IN_BYTES = "combined_coordinating_and_primary_in_bytes";
     private static final String COORDINATING = "coordinating";
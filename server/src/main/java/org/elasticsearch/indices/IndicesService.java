@@ -55,6 +55,7 @@ import org.elasticsearch.common.io.stream.NamedWriteableAwareStreamInput;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.settings.IndexScopedSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
@@ -212,6 +213,16 @@ public class IndicesService extends AbstractLifecycleComponent
         Property.NodeScope
     );
 
+    /**
+     * Should identical shard search requests that run at the same time on the same reader share a single execution?
+     */
+    public static final Setting<Boolean> INDICES_REQUESTS_COALESCE_ENABLED_SETTING = Setting.boolSetting(
+        "indices.requests.coalesce.enabled",
+        true,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     public static final Setting<Boolean> WRITE_DANGLING_INDICES_INFO_SETTING = Setting.boolSetting(
         "gateway.write_dangling_indices_info",
         true,
@@ -256,6 +267,8 @@ public class IndicesService extends AbstractLifecycleComponent
     final AbstractRefCounted indicesRefCount; // pkg-private for testing
     private final CountDownLatch closeLatch = new CountDownLatch(1);
     private volatile boolean idFieldDataEnabled;
+    private volatile boolean coalesceRequests;
+    private final ShardRequestCoalescer requestCoalescer = new ShardRequestCoalescer();
     private volatile boolean allowExpensiveQueries;
 
     private final Function<IndexMode, IdFieldMapper> idFieldMappers;
@@ -312,6 +325,9 @@ public class IndicesService extends AbstractLifecycleComponent
         this.featureService = builder.featureService;
         this.idFieldDataEnabled = INDICES_ID_FIELD_DATA_ENABLED_SETTING.get(clusterService.getSettings());
         clusterService.getClusterSettings().addSettingsUpdateConsumer(INDICES_ID_FIELD_DATA_ENABLED_SETTING, this::setIdFieldDataEnabled);
+        this.coalesceRequests = INDICES_REQUESTS_COALESCE_ENABLED_SETTING.get(clusterService.getSettings());
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(INDICES_REQUESTS_COALESCE_ENABLED_SETTING, value -> this.coalesceRequests = value);
         this.indicesFieldDataCache = new IndicesFieldDataCache(settings, new IndexFieldDataCache.Listener() {
             @Override
             public void onRemoval(ShardId shardId, String fieldName, boolean wasEvicted, long sizeInBytes) {
@@ -1537,6 +1553,31 @@ public class IndicesService extends AbstractLifecycleComponent
      * Can the shard request be cached at all?
      */
     public static boolean canCache(ShardSearchRequest request, SearchContext context) {
+        if (canCoalesce(request, context) == false) {
+            return false;
+        }
+        IndexSettings settings = context.indexShard().indexSettings();
+        // if not explicitly set in the request, use the index setting, if not, use the request
+        if (request.requestCache() == null) {
+            if (settings.getValue(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING) == false) {
+                return false;
+            } else if (context.size() != 0) {
+                // If no request cache query parameter and shard request cache
+                // is enabled in settings don't cache for requests with size > 0
+                return false;
+            }
+        } else if (request.requestCache() == false) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Does the shard request always return the same result on the same reader
+     * so identical requests that run at the same time can share a single
+     * execution? This doesn't depend on whether the request cache is enabled.
+     */
+    public static boolean canCoalesce(ShardSearchRequest request, SearchContext context) {
         // Queries that create a scroll context cannot use the cache.
         // They modify the search context during their execution so using the cache
         // may invalidate the scroll for the next query.
@@ -1557,19 +1598,6 @@ public class IndicesService extends AbstractLifecycleComponent
             return false;
         }
 
-        IndexSettings settings = context.indexShard().indexSettings();
-        // if not explicitly set in the request, use the index setting, if not, use the request
-        if (request.requestCache() == null) {
-            if (settings.getValue(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING) == false) {
-                return false;
-            } else if (context.size() != 0) {
-                // If no request cache query parameter and shard request cache
-                // is enabled in settings don't cache for requests with size > 0
-                return false;
-            }
-        } else if (request.requestCache() == false) {
-            return false;
-        }
         // We use the cacheKey of the index reader as a part of a key of the IndicesRequestCache.
         assert context.searcher().getIndexReader().getReaderCacheHelper() != null;
 
@@ -1579,7 +1607,6 @@ public class IndicesService extends AbstractLifecycleComponent
             return false;
         }
         return true;
-
     }
 
     /**
@@ -1592,27 +1619,20 @@ public class IndicesService extends AbstractLifecycleComponent
         assert canCache(request, context);
         final DirectoryReader directoryReader = context.searcher().getDirectoryReader();
 
-        boolean[] loadedFromCache = new boolean[] { true };
         BytesReference cacheKey = request.cacheKey(requestCacheKeyDifferentiator);
-        BytesReference bytesReference = cacheShardLevelResult(
-            context.indexShard(),
-            context.getSearchExecutionContext().mappingCacheKey(),
-            directoryReader,
+        boolean executed = executeOrShareQueryPhase(
+            context,
             cacheKey,
-            out -> {
-                QueryPhase.execute(context);
-                context.queryResult().writeToNoId(out);
-                loadedFromCache[0] = false;
-            }
+            loader -> cacheShardLevelResult(
+                context.indexShard(),
+                context.getSearchExecutionContext().mappingCacheKey(),
+                directoryReader,
+                cacheKey,
+                loader
+            )
         );
 
-        if (loadedFromCache[0]) {
-            // restore the cached query result into the context
-            final QuerySearchResult result = context.queryResult();
-            StreamInput in = new NamedWriteableAwareStreamInput(bytesReference.streamInput(), namedWriteableRegistry);
-            result.readFromWithId(context.id(), in);
-            result.setSearchShardTarget(context.shardTarget());
-        } else if (context.queryResult().searchTimedOut()) {
+        if (executed && context.queryResult().searchTimedOut()) {
             // we have to invalidate the cache entry if we cached a query result form a request that timed out.
             // we can't really throw exceptions in the loading part to signal a timed out search to the outside world since if there are
             // multiple requests that wait for the cache entry to be calculated they'd fail all with the same exception.
@@ -1636,6 +1656,69 @@ public class IndicesService extends AbstractLifecycleComponent
         }
     }
 
+    /**
+     * Executes the query phase, sharing it with identical requests that run at
+     * the same time on the same reader, without caching its result. Used for
+     * requests that {@link #canCoalesce can be coalesced} but not cached.
+     */
+    public void coalesceIntoContext(ShardSearchRequest request, SearchContext context) throws Exception {
+        assert canCoalesce(request, context);
+        executeOrShareQueryPhase(context, request.cacheKey(requestCacheKeyDifferentiator), loader -> {
+            try (BytesStreamOutput out = new BytesStreamOutput(512)) {
+                loader.accept(out);
+                return out.bytes();
+            }
+        });
+    }
+
+    /**
+     * Whether identical shard search requests are {@link #coalesceIntoContext coalesced}.
+     */
+    public boolean coalesceRequests() {
+        return coalesceRequests;
+    }
+
+    /**
+     * Loads the serialized query result of the context's request with {@code load}, which executes the query phase with the
+     * loader it is given unless it has the result already, and restores it into the context if this request didn't execute
+     * the query phase itself. If enabled, identical requests that run at the same time on the same reader wait for the first
+     * one's result rather than loading it on their own.
+     * @return {@code true} if this request executed the query phase
+     */
+    private boolean executeOrShareQueryPhase(
+        SearchContext context,
+        BytesReference requestKey,
+        CheckedFunction<CheckedConsumer<StreamOutput, IOException>, BytesReference, Exception> load
+    ) throws Exception {
+        boolean[] executed = new boolean[] { false };
+        CheckedConsumer<StreamOutput, IOException> loader = out -> {
+            QueryPhase.execute(context);
+            context.queryResult().writeToNoId(out);
+            executed[0] = true;
+        };
+        final BytesReference bytesReference;
+        if (coalesceRequests) {
+            DirectoryReader directoryReader = context.searcher().getDirectoryReader();
+            ShardRequestCoalescer.Key key = new ShardRequestCoalescer.Key(
+                context.indexShard().shardId(),
+                context.getSearchExecutionContext().mappingCacheKey(),
+                ElasticsearchDirectoryReader.getESReaderCacheHelper(directoryReader).getKey(),
+                requestKey
+            );
+            bytesReference = requestCoalescer.execute(key, context.getTask(), () -> load.apply(loader));
+        } else {
+            bytesReference = load.apply(loader);
+        }
+        if (executed[0] == false) {
+            // restore the cached or shared query result into the context
+            final QuerySearchResult result = context.queryResult();
+            StreamInput in = new NamedWriteableAwareStreamInput(bytesReference.streamInput(), namedWriteableRegistry);
+            result.readFromWithId(context.id(), in);
+            result.setSearchShardTarget(context.shardTarget());
+        }
+        return executed[0];
+    }
+
     public long getTotalIndexingBufferBytes() {
         return indexingMemoryController.indexingBufferSize();
     }
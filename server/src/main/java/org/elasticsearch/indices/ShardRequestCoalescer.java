@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.indices;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.common.CheckedSupplier;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.MappingLookup;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.TaskCancelledException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares the execution of identical shard level requests that run at the
+ * same time on the same reader. The first request to arrive executes and
+ * the others wait for its serialized result.
+ * <p>
+ * Cancelling a waiting request only stops it from waiting. If the request
+ * that is executing is cancelled or fails because of a cancellation then one
+ * of the waiting requests that wasn't cancelled executes it again, so every
+ * request either gets a result or fails on its own.
+ */
+final class ShardRequestCoalescer {
+    private static final Logger logger = LogManager.getLogger(ShardRequestCoalescer.class);
+
+    /**
+     * Identifies identical requests. Like the keys of the {@link IndicesRequestCache}
+     * requests only match if they target the same reader with the same mapping.
+     */
+    record Key(ShardId shardId, MappingLookup.CacheKey mappingCacheKey, Object readerCacheKey, BytesReference requestKey) {}
+
+    private final ConcurrentMap<Key, CompletableFuture<BytesReference>> inFlight = ConcurrentCollections.newConcurrentMap();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Load the result of the request identified by {@code key}, either by
+     * calling {@code loader} or by waiting for an identical request that is
+     * already loading it.
+     * @param task the task of the request, used to stop waiting if it is cancelled
+     */
+    BytesReference execute(Key key, @Nullable CancellableTask task, CheckedSupplier<BytesReference, Exception> loader) throws Exception {
+        while (true) {
+            if (task != null) {
+                task.ensureNotCancelled();
+            }
+            final CompletableFuture<BytesReference> mine = new CompletableFuture<>();
+            final CompletableFuture<BytesReference> existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) {
+                return load(key, mine, loader);
+            }
+            coalesced.incrementAndGet();
+            try {
+                return await(existing, task);
+            } catch (ExecutionException e) {
+                final Exception cause = e.getCause() instanceof Exception ex ? ex : new ElasticsearchException(e.getCause());
+                if (ExceptionsHelper.unwrap(cause, TaskCancelledException.class) == null) {
+                    throw cause;
+                }
+                // the request that executed was cancelled, but we weren't so we try again
+                logger.trace("identical request on shard [{}] was cancelled, retrying", key.shardId());
+            }
+        }
+    }
+
+    private BytesReference load(Key key, CompletableFuture<BytesReference> mine, CheckedSupplier<BytesReference, Exception> loader)
+        throws Exception {
+        BytesReference result = null;
+        Exception failure = null;
+        try {
+            result = loader.get();
+            return result;
+        } catch (Exception e) {
+            failure = e;
+            throw e;
+        } finally {
+            // stop sharing before completing so retrying requests don't find this execution again
+            inFlight.remove(key, mine);
+            if (result != null) {
+                mine.complete(result);
+            } else {
+                mine.completeExceptionally(
+                    failure != null ? failure : new ElasticsearchException("failed to load the result of an identical request")
+                );
+            }
+        }
+    }
+
+    private static BytesReference await(CompletableFuture<BytesReference> existing, @Nullable CancellableTask task) throws Exception {
+        // complete a copy of the future on cancellation so we don't fail the other waiting requests
+        final CompletableFuture<BytesReference> waiter = existing.thenApply(r -> r);
+        if (task != null) {
+            task.addListener(() -> waiter.completeExceptionally(new CancelledWhileWaiting()));
+        }
+        try {
+            return waiter.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ElasticsearchException("interrupted while waiting for an identical request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancelledWhileWaiting) {
+                assert task != null;
+                task.ensureNotCancelled();
+                assert false : "the task must be cancelled";
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The number of requests that waited for an identical request instead of executing.
+     */
+    long coalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * The number of requests that are executing and may be shared.
+     */
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private static class CancelledWhileWaiting extends Exception {
+        CancelledWhileWaiting() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -16,7 +16,6 @@ import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterStateApplier;
 import org.elasticsearch.cluster.metadata.DataStream;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
-import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
@@ -92,20 +91,23 @@ public class TimestampFieldMapperService extends AbstractLifecycleComponent impl
 
     @Override
     public void applyClusterState(ClusterChangedEvent event) {
-        final Metadata metadata = event.state().metadata();
-        final Map<String, IndexMetadata> indices = metadata.indices();
-        if (indices == event.previousState().metadata().indices()) {
+        final ClusterChangedEvent.IndicesMetadataChanges changes = event.indicesMetadataChanges();
+        if (changes.isEmpty()) {
             return;
         }
 
-        // clear out mappers for indices that no longer exist or whose timestamp range is no longer known
-        fieldTypesByIndex.keySet().removeIf(index -> hasUsefulTimestampField(metadata.index(index)) == false);
+        // clear out mappers for indices that no longer exist
+        for (Index index : changes.removed()) {
+            fieldTypesByIndex.remove(index);
+        }
 
-        // capture mappers for indices that do exist
-        for (IndexMetadata indexMetadata : indices.values()) {
+        // only the indices whose metadata changed may have gained or lost their timestamp range
+        for (IndexMetadata indexMetadata : changes.upserted()) {
             final Index index = indexMetadata.getIndex();
 
-            if (hasUsefulTimestampField(indexMetadata) && fieldTypesByIndex.containsKey(index) == false) {
+            if (hasUsefulTimestampField(indexMetadata) == false) {
+                fieldTypesByIndex.remove(index);
+            } else if (fieldTypesByIndex.containsKey(index) == false) {
                 logger.trace("computing timestamp mapping for {}", index);
                 final PlainActionFuture<DateFieldRangeInfo> future = new PlainActionFuture<>();
                 fieldTypesByIndex.put(index, future);
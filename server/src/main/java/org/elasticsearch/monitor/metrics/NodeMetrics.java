@@ -687,6 +687,20 @@ public class NodeMetrics extends AbstractLifecycleComponent {
             )
         );
 
+        metrics.add(
+            registry.registerLongAsyncCounter(
+                "es.indexing.coordinating.max_size_splits.total",
+                "Total number of times bulk requests are split due to SPLIT_BULK_MAX_SIZE",
+                "operations",
+                () -> new LongWithAttributes(
+                    Optional.ofNullable(stats.getOrRefresh())
+                        .map(NodeStats::getIndexingPressureStats)
+                        .map(IndexingPressureStats::getMaxSizeSplits)
+                        .orElse(0L)
+                )
+            )
+        );
+
         metrics.add(
             registry.registerLongAsyncCounter(
                 "es.flush.total.time",
@@ -205,7 +205,8 @@ final class DefaultSearchContext extends SearchContext {
                     lowLevelCancellation,
                     executor,
                     maximumNumberOfSlices,
-                    minimumDocsPerSlice
+                    minimumDocsPerSlice,
+                    isSegmentPartitioningSupported(resultsType, request.source())
                 );
             }
             releasables.addAll(List.of(engineSearcher, searcher));
@@ -313,6 +314,10 @@ final class DefaultSearchContext extends SearchContext {
         return false;
     }
 
+    static boolean isSegmentPartitioningSupported(SearchService.ResultsType resultsType, SearchSourceBuilder source) {
+        return resultsType == SearchService.ResultsType.QUERY && source != null && source.supportsIntraSegmentConcurrency();
+    }
+
     @Override
     public void addRankFeatureResult() {
         this.rankFeatureResult = new RankFeatureResult(this.readerContext.id(), this.shardTarget, this.request);
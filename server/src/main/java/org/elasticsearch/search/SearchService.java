@@ -24,6 +24,8 @@ import org.elasticsearch.action.ActionRunnable;
 import org.elasticsearch.action.ResolvedIndices;
 import org.elasticsearch.action.search.CanMatchNodeRequest;
 import org.elasticsearch.action.search.CanMatchNodeResponse;
+import org.elasticsearch.action.search.NodeQueryRequest;
+import org.elasticsearch.action.search.NodeQueryResponse;
 import org.elasticsearch.action.search.SearchShardTask;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.action.support.TransportActions;
@@ -35,6 +37,7 @@ import org.elasticsearch.common.CheckedSupplier;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
+import org.elasticsearch.common.io.stream.DelayableWriteable;
 import org.elasticsearch.common.logging.LoggerMessageFormat;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.settings.Setting;
@@ -48,6 +51,7 @@ import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.util.concurrent.ThrottledIterator;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.Releasable;
@@ -81,6 +85,7 @@ import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.search.aggregations.AggregationInitializationException;
 import org.elasticsearch.search.aggregations.AggregationReduceContext;
 import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.InternalAggregations;
 import org.elasticsearch.search.aggregations.MultiBucketConsumerService;
 import org.elasticsearch.search.aggregations.SearchContextAggregations;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
@@ -149,10 +154,12 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.elasticsearch.TransportVersions.ERROR_TRACE_IN_TRANSPORT_HEADER;
 import static org.elasticsearch.core.TimeValue.timeValueHours;
@@ -317,6 +324,8 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
 
     private final MultiBucketConsumerService multiBucketConsumerService;
 
+    private final CircuitBreaker requestCircuitBreaker;
+
     private final AtomicInteger openScrollContexts = new AtomicInteger();
     private final String sessionId = UUIDs.randomBase64UUID();
 
@@ -340,11 +349,8 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         this.scriptService = scriptService;
         this.bigArrays = bigArrays;
         this.fetchPhase = fetchPhase;
-        this.multiBucketConsumerService = new MultiBucketConsumerService(
-            clusterService,
-            settings,
-            circuitBreakerService.getBreaker(CircuitBreaker.REQUEST)
-        );
+        this.requestCircuitBreaker = circuitBreakerService.getBreaker(CircuitBreaker.REQUEST);
+        this.multiBucketConsumerService = new MultiBucketConsumerService(clusterService, settings, requestCircuitBreaker);
         this.executorSelector = executorSelector;
         this.tracer = tracer;
 
@@ -569,13 +575,18 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
     }
 
     /**
-     * Try to load the query results from the cache or execute the query phase directly if the cache cannot be used.
+     * Try to load the query results from the cache or execute the query phase directly if the cache cannot be used. Identical
+     * requests that run at the same time share the execution of the query phase if their results only depend on the reader.
      */
     private void loadOrExecuteQueryPhase(final ShardSearchRequest request, final SearchContext context) throws Exception {
         final boolean canCache = IndicesService.canCache(request, context);
         context.getSearchExecutionContext().freezeContext();
         if (canCache) {
             indicesService.loadIntoContext(request, context);
+        } else if (context.size() == 0 && indicesService.coalesceRequests() && IndicesService.canCoalesce(request, context)) {
+            // hits may depend on more than the request, like the bottom sort values of the other shards, so we only share
+            // requests that don't return any
+            indicesService.coalesceIntoContext(request, context);
         } else {
             QueryPhase.execute(context);
         }
@@ -610,6 +621,101 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         }));
     }
 
+    /**
+     * Runs the query phase on all the shards of a {@link NodeQueryRequest}. If the search has
+     * aggregations we partially reduce them here so the coordinating node receives a single
+     * aggregation tree for the whole node rather than one for each of its shards.
+     */
+    public void executeQueryPhase(NodeQueryRequest request, SearchShardTask task, ActionListener<NodeQueryResponse> listener) {
+        final List<ShardSearchRequest> shardRequests = request.getShardLevelRequests();
+        final AtomicReferenceArray<NodeQueryResponse.ResultOrFailure> results = new AtomicReferenceArray<>(shardRequests.size());
+        ThrottledIterator.run(IntStream.range(0, shardRequests.size()).iterator(), (releasable, shard) -> {
+            ActionListener<SearchPhaseResult> shardListener = ActionListener.releaseAfter(new ActionListener<>() {
+                @Override
+                public void onResponse(SearchPhaseResult result) {
+                    assert result instanceof QuerySearchResult : "expected a query result but got " + result;
+                    QuerySearchResult queryResult = result.queryResult();
+                    // the result is released when we return so we take our own reference for the response
+                    queryResult.incRef();
+                    results.set(shard, new NodeQueryResponse.ResultOrFailure(queryResult));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    results.set(shard, new NodeQueryResponse.ResultOrFailure(e));
+                }
+            }, releasable);
+            ActionListener.run(shardListener, l -> executeQueryPhase(shardRequests.get(shard), task, l));
+        }, request.getMaxConcurrentShardRequests(), () -> {
+            final List<NodeQueryResponse.ResultOrFailure> responses = new ArrayList<>(shardRequests.size());
+            for (int i = 0; i < shardRequests.size(); i++) {
+                responses.add(results.get(i));
+            }
+            final NodeQueryResponse response = new NodeQueryResponse(responses);
+            try {
+                SearchSourceBuilder source = shardRequests.get(0).source();
+                if (source != null && source.aggregations() != null) {
+                    partiallyReduceAggs(responses, task, source.aggregations());
+                }
+            } catch (Exception e) {
+                response.decRef();
+                listener.onFailure(e);
+                return;
+            }
+            ActionListener.respondAndRelease(listener, response);
+        });
+    }
+
+    /**
+     * Reduce the aggregations of all successful shards into the first of them, leaving
+     * the others with empty aggregations.
+     */
+    private void partiallyReduceAggs(
+        List<NodeQueryResponse.ResultOrFailure> responses,
+        SearchShardTask task,
+        AggregatorFactories.Builder aggs
+    ) {
+        final List<QuerySearchResult> withAggs = new ArrayList<>(responses.size());
+        for (NodeQueryResponse.ResultOrFailure response : responses) {
+            QuerySearchResult result = response.getResult();
+            if (result != null && result.isNull() == false && result.hasAggs()) {
+                withAggs.add(result);
+            }
+        }
+        if (withAggs.size() < 2) {
+            return;
+        }
+        final List<DelayableWriteable<InternalAggregations>> toReduce = new ArrayList<>(withAggs.size());
+        long aggsSize = 0;
+        for (QuerySearchResult result : withAggs) {
+            DelayableWriteable<InternalAggregations> shardAggs = result.getAggs();
+            aggsSize += shardAggs.getSerializedSize();
+            toReduce.add(shardAggs);
+        }
+        // like the coordinating node, account the shard aggs and an estimate of the reduce on top of them
+        final long estimatedSize = Math.round(1.5d * aggsSize);
+        final InternalAggregations reduced;
+        try {
+            requestCircuitBreaker.addEstimateBytesAndMaybeBreak(estimatedSize, "<reduce_aggs_node>");
+            try {
+                reduced = InternalAggregations.topLevelReduceDelayable(
+                    toReduce,
+                    aggReduceContextBuilder(task::isCancelled, aggs).forPartialReduction()
+                );
+            } finally {
+                requestCircuitBreaker.addWithoutBreaking(-estimatedSize);
+            }
+        } finally {
+            for (QuerySearchResult result : withAggs) {
+                result.releaseAggs();
+            }
+        }
+        withAggs.get(0).aggregations(reduced);
+        for (int i = 1; i < withAggs.size(); i++) {
+            withAggs.get(i).aggregations(InternalAggregations.EMPTY);
+        }
+    }
+
     private <T extends RefCounted> void ensureAfterSeqNoRefreshed(
         IndexShard shard,
         ShardSearchRequest request,
@@ -1406,6 +1512,8 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                  * delay reading it until the aggs ask for it.
                  */
                 () -> context.rewrittenQuery() == null ? new MatchAllDocsQuery() : context.rewrittenQuery(),
+                context::terminateAfter,
+                context::minimumScore,
                 context.getProfilers() == null ? null : context.getProfilers().getAggregationProfiler(),
                 multiBucketConsumerService.getLimit(),
                 () -> new SubSearchContext(context).parsedQuery(context.parsedQuery()).fetchFieldsContext(context.fetchFieldsContext()),
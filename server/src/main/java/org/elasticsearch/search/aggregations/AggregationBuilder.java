@@ -260,6 +260,16 @@ public abstract class AggregationBuilder
         return true;
     }
 
+    /**
+     * Return true if this aggregation and all of its sub-aggregations can be collected while a segment is split into
+     * partitions that are collected concurrently by different aggregator instances, whose results are then merged at
+     * the end of the shard. This requires the aggregators to only look at the documents they are given and to never
+     * derive results from a whole segment at once, for instance by counting its documents or reading its terms dictionary.
+     */
+    public boolean supportsIntraSegmentConcurrency() {
+        return false;
+    }
+
     /**
      * Called by aggregations whose parents must be sequentially ordered.
      * @param type the type of the aggregation being validated
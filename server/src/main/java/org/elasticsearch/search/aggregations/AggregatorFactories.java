@@ -390,6 +390,19 @@ public class AggregatorFactories {
             return true;
         }
 
+        /**
+         * Return false if this aggregation or any of the child aggregations can't be collected while segments are split into
+         * partitions, see {@link AggregationBuilder#supportsIntraSegmentConcurrency()}.
+         */
+        public boolean supportsIntraSegmentConcurrency() {
+            for (AggregationBuilder builder : aggregationBuilders) {
+                if (builder.supportsIntraSegmentConcurrency() == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public Builder addAggregator(AggregationBuilder factory) {
             if (names.add(factory.name) == false) {
                 throw new IllegalArgumentException("Two sibling aggregations cannot have the same name: [" + factory.name + "]");
@@ -31,6 +31,7 @@ import org.elasticsearch.core.Releasables;
 import org.elasticsearch.index.mapper.DateFieldMapper;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.NumberFieldMapper;
+import org.elasticsearch.index.query.PointsBoundsRangeQuery;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
 
@@ -237,6 +238,8 @@ class LongValuesSource extends SingleDimensionValuesSource<Long> {
             return extractQuery(((IndexOrDocValuesQuery) query).getIndexQuery());
         } else if (query instanceof ConstantScoreQuery) {
             return extractQuery(((ConstantScoreQuery) query).getQuery());
+        } else if (query instanceof PointsBoundsRangeQuery) {
+            return extractQuery(((PointsBoundsRangeQuery) query).getQuery());
         } else {
             return query;
         }
@@ -28,6 +28,7 @@ import org.apache.lucene.search.ScorerSupplier;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.index.query.PointsBoundsRangeQuery;
 import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -168,6 +169,10 @@ public class QueryToFilterAdapter {
                 query = ((IndexOrDocValuesQuery) query).getIndexQuery();
                 continue;
             }
+            if (query instanceof PointsBoundsRangeQuery) {
+                query = ((PointsBoundsRangeQuery) query).getQuery();
+                continue;
+            }
             return query;
         }
     }
@@ -10,10 +10,28 @@ package org.elasticsearch.search.aggregations.bucket.histogram;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.IndexSortSortedNumericDocValuesRangeQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.CollectionUtil;
 import org.elasticsearch.common.Rounding;
 import org.elasticsearch.common.Rounding.DateTimeUnit;
@@ -21,6 +39,9 @@ import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.core.CheckedFunction;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.mapper.DateFieldMapper;
+import org.elasticsearch.index.query.DateRangeIncludingNowQuery;
+import org.elasticsearch.index.query.PointsBoundsRangeQuery;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AdaptingAggregator;
 import org.elasticsearch.search.aggregations.AggregationExecutionContext;
@@ -93,6 +114,26 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         Map<String, Object> metadata
     ) throws IOException {
         Rounding.Prepared preparedRounding = valuesSourceConfig.roundingPreparer(context).apply(rounding);
+        if (indexSortedQueryBoundsOrNull(name, factories, valuesSourceConfig, context, parent) != null) {
+            // counting from the index sort is cheaper than counting ranges with filter-by-filter, even when that is possible
+            return new DateHistogramAggregator(
+                name,
+                factories,
+                rounding,
+                preparedRounding,
+                order,
+                keyed,
+                minDocCount,
+                downsampledResultsOffset,
+                extendedBounds,
+                hardBounds,
+                valuesSourceConfig,
+                context,
+                parent,
+                cardinality,
+                metadata
+            );
+        }
         Aggregator asRange = adaptIntoRangeOrNull(
             name,
             factories,
@@ -225,6 +266,113 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         return ranges.toArray(RangeAggregator.Range[]::new);
     }
 
+    /**
+     * Returns the bounds of the values matched by the top level query if the buckets of segments that are
+     * sorted on the field can be counted by binary searching their boundaries rather than by collecting every
+     * document, {@code null} otherwise. That requires a top level {@code date_histogram} without
+     * sub-aggregations on a millisecond date field that is the primary sort of every segment, and a top level
+     * query that matches either all documents or a range of values of that same field. The search must also
+     * collect every document that query matches so neither {@code terminate_after} nor {@code min_score} may be set.
+     */
+    @Nullable
+    private static long[] indexSortedQueryBoundsOrNull(
+        String name,
+        AggregatorFactories factories,
+        ValuesSourceConfig valuesSourceConfig,
+        AggregationContext context,
+        Aggregator parent
+    ) {
+        if (parent != null || factories.countAggregators() > 0 || false == context.enableRewriteToFilterByFilter()) {
+            return null;
+        }
+        if (false == context.collectsAllMatchingDocs()) {
+            logger.trace("can't count [{}] from the index sort, the search doesn't collect all matching documents", name);
+            return null;
+        }
+        if (false == valuesSourceConfig.alignesWithSearchIndex()
+            || valuesSourceConfig.fieldType() instanceof DateFieldMapper.DateFieldType == false
+            || ((DateFieldMapper.DateFieldType) valuesSourceConfig.fieldType()).resolution() != DateFieldMapper.Resolution.MILLISECONDS) {
+            return null;
+        }
+        String field = valuesSourceConfig.fieldType().name();
+        List<LeafReaderContext> leaves = context.searcher().getIndexReader().leaves();
+        if (leaves.isEmpty()) {
+            return null;
+        }
+        for (LeafReaderContext leaf : leaves) {
+            if (primarySortOrNull(leaf, field) == null) {
+                logger.trace("can't count [{}] from the index sort, [{}] isn't sorted on [{}]", name, leaf, field);
+                return null;
+            }
+        }
+        long[] bounds = queryBoundsOrNull(context.query(), field);
+        if (bounds == null) {
+            logger.trace("can't count [{}] from the index sort, unsupported top level query [{}]", name, context.query());
+        }
+        return bounds;
+    }
+
+    @Nullable
+    private static SortField primarySortOrNull(LeafReaderContext ctx, String field) {
+        Sort sort = ctx.reader().getMetaData().sort();
+        if (sort == null) {
+            return null;
+        }
+        SortField primary = sort.getSort()[0];
+        return field.equals(primary.getField()) ? primary : null;
+    }
+
+    /**
+     * Returns the inclusive bounds of the values of {@code field} that the query matches if it matches all
+     * documents that have a value within these bounds and no other document, {@code null} otherwise.
+     */
+    @Nullable
+    private static long[] queryBoundsOrNull(Query query, String field) {
+        if (query instanceof BoostQuery boostQuery) {
+            return queryBoundsOrNull(boostQuery.getQuery(), field);
+        } else if (query instanceof ConstantScoreQuery constantScoreQuery) {
+            return queryBoundsOrNull(constantScoreQuery.getQuery(), field);
+        } else if (query instanceof IndexOrDocValuesQuery indexOrDocValuesQuery) {
+            return queryBoundsOrNull(indexOrDocValuesQuery.getIndexQuery(), field);
+        } else if (query instanceof IndexSortSortedNumericDocValuesRangeQuery indexSortQuery) {
+            return queryBoundsOrNull(indexSortQuery.getFallbackQuery(), field);
+        } else if (query instanceof DateRangeIncludingNowQuery dateRangeQuery) {
+            return queryBoundsOrNull(dateRangeQuery.getQuery(), field);
+        } else if (query instanceof PointsBoundsRangeQuery pointsBoundsQuery) {
+            return queryBoundsOrNull(pointsBoundsQuery.getQuery(), field);
+        }
+        if (query == null
+            || query.getClass() == MatchAllDocsQuery.class
+            || (query instanceof FieldExistsQuery existsQuery && field.equals(existsQuery.getField()))) {
+            // we only count segments where every document has a value
+            return new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+        }
+        if (query instanceof PointRangeQuery rangeQuery
+            && field.equals(rangeQuery.getField())
+            && rangeQuery.getNumDims() == 1
+            && rangeQuery.getBytesPerDim() == Long.BYTES) {
+            return new long[] {
+                LongPoint.decodeDimension(rangeQuery.getLowerPoint(), 0),
+                LongPoint.decodeDimension(rangeQuery.getUpperPoint(), 0) };
+        }
+        if (query instanceof BooleanQuery booleanQuery && booleanQuery.clauses().isEmpty() == false) {
+            long[] bounds = new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                if (clause.occur() != BooleanClause.Occur.MUST && clause.occur() != BooleanClause.Occur.FILTER) {
+                    return null;
+                }
+                long[] clauseBounds = queryBoundsOrNull(clause.query(), field);
+                if (clauseBounds == null) {
+                    return null;
+                }
+                bounds[0] = Math.max(bounds[0], clauseBounds[0]);
+                bounds[1] = Math.min(bounds[1], clauseBounds[1]);
+            }
+            return bounds;
+        }
+        return null;
+    }
+
     private final ValuesSource.Numeric valuesSource;
     private final DocValueFormat formatter;
     private final Rounding rounding;
@@ -242,6 +390,16 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
 
     private final LongKeyedBucketOrds bucketOrds;
 
+    /**
+     * Bounds of the top level query when we can count segments sorted on the field
+     * from their index sort, {@code null} if we have to collect every document.
+     */
+    @Nullable
+    private final long[] indexSortedQueryBounds;
+    private final String field;
+    private int segmentsCountedFromIndexSort;
+    private int segmentsCollected;
+
     DateHistogramAggregator(
         String name,
         AggregatorFactories factories,
@@ -274,6 +432,8 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         this.formatter = valuesSourceConfig.format();
 
         bucketOrds = LongKeyedBucketOrds.build(bigArrays(), cardinality);
+        this.indexSortedQueryBounds = indexSortedQueryBoundsOrNull(name, factories, valuesSourceConfig, context, parent);
+        this.field = indexSortedQueryBounds == null ? null : valuesSourceConfig.fieldType().name();
     }
 
     @Override
@@ -291,9 +451,121 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
         }
         final SortedNumericDocValues values = valuesSource.longValues(aggCtx.getLeafReaderContext());
         final NumericDocValues singleton = DocValues.unwrapSingleton(values);
+        if (singleton != null && indexSortedQueryBounds != null && countFromIndexSort(aggCtx.getLeafReaderContext())) {
+            segmentsCountedFromIndexSort++;
+            throw new CollectionTerminatedException();
+        }
+        segmentsCollected++;
         return singleton != null ? getLeafCollector(singleton, sub) : getLeafCollector(values, sub);
     }
 
+    /**
+     * Counts the documents of each bucket of a segment sorted on the field by binary searching the first
+     * document of the next bucket, which costs {@code O(buckets * log(docs))} instead of {@code O(docs)}.
+     * Returns {@code false} without counting anything if the segment doesn't qualify or if it has so many
+     * buckets that collecting its documents one by one is cheaper.
+     */
+    private boolean countFromIndexSort(LeafReaderContext ctx) throws IOException {
+        final LeafReader reader = ctx.reader();
+        final int maxDoc = reader.maxDoc();
+        final SortField primarySort = primarySortOrNull(ctx, field);
+        if (maxDoc == 0 || primarySort == null || reader.getLiveDocs() != null || false == docCountProvider.alwaysOne()) {
+            return false;
+        }
+        // the binary search relies on every document having a value
+        final PointValues points = reader.getPointValues(field);
+        if (points == null || points.getDocCount() != maxDoc) {
+            return false;
+        }
+        final SortedValues sortedValues = new SortedValues(ctx, primarySort.getReverse());
+        final long lowerBound = indexSortedQueryBounds[0];
+        final long upperBound = indexSortedQueryBounds[1];
+        // positions order documents by ascending value
+        int position = sortedValues.firstPositionAtLeast(lowerBound, 0);
+        final int end = upperBound == Long.MAX_VALUE ? maxDoc : sortedValues.firstPositionAtLeast(upperBound + 1, position);
+        // every bucket costs two binary searches, stop once that costs more than reading all values
+        final int maxBuckets = Math.max(1, maxDoc / (2 * (32 - Integer.numberOfLeadingZeros(maxDoc))));
+        long[] keys = new long[8];
+        int[] counts = new int[8];
+        int numBuckets = 0;
+        while (position < end) {
+            if (numBuckets == maxBuckets) {
+                return false;
+            }
+            final long rounded = preparedRounding.round(sortedValues.valueAt(position));
+            final long next = preparedRounding.nextRoundingValue(rounded);
+            final int bucketEnd = next <= rounded ? end : Math.min(end, sortedValues.firstPositionAtLeast(next, position + 1));
+            keys = ArrayUtil.grow(keys, numBuckets + 1);
+            counts = ArrayUtil.grow(counts, numBuckets + 1);
+            keys[numBuckets] = rounded;
+            counts[numBuckets] = bucketEnd - position;
+            numBuckets++;
+            position = bucketEnd;
+        }
+        for (int i = 0; i < numBuckets; i++) {
+            if (hardBounds == null || hardBounds.contain(keys[i])) {
+                long bucketOrd = bucketOrds.add(0, keys[i]);
+                if (bucketOrd < 0) { // already seen
+                    bucketOrd = -1 - bucketOrd;
+                } else {
+                    checkRealMemoryCBForInternalBucket();
+                }
+                incrementBucketDocCount(bucketOrd, counts[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Random access to the values of a segment that is sorted on the field and where every
+     * document has a single value. Doc values iterators can only move forward, so we pull
+     * a new one whenever a binary search needs to go back.
+     */
+    private class SortedValues {
+        private final LeafReaderContext ctx;
+        private final boolean reverse;
+        private final int maxDoc;
+        private NumericDocValues values;
+
+        SortedValues(LeafReaderContext ctx, boolean reverse) {
+            this.ctx = ctx;
+            this.reverse = reverse;
+            this.maxDoc = ctx.reader().maxDoc();
+        }
+
+        /**
+         * The value at the given position, positions being sorted by ascending value.
+         */
+        long valueAt(int position) throws IOException {
+            final int doc = reverse ? maxDoc - 1 - position : position;
+            if (values == null || values.docID() > doc) {
+                values = DocValues.unwrapSingleton(valuesSource.longValues(ctx));
+            }
+            if (values.advanceExact(doc) == false) {
+                throw new IllegalStateException("expected a value for doc [" + doc + "] of [" + ctx + "]");
+            }
+            return values.longValue();
+        }
+
+        /**
+         * The first position at or after {@code from} whose value is greater than or equal to {@code value},
+         * or {@code maxDoc} if there is none.
+         */
+        int firstPositionAtLeast(long value, int from) throws IOException {
+            int low = from;
+            int high = maxDoc;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (valueAt(mid) < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
     private LeafBucketCollector getLeafCollector(SortedNumericDocValues values, LeafBucketCollector sub) {
         return new LeafBucketCollectorBase(sub, values) {
             @Override
@@ -390,6 +662,10 @@ class DateHistogramAggregator extends BucketsAggregator implements SizedBucketAg
     @Override
     public void collectDebugInfo(BiConsumer<String, Object> add) {
         add.accept("total_buckets", bucketOrds.size());
+        if (indexSortedQueryBounds != null) {
+            add.accept("segments_counted_from_index_sort", segmentsCountedFromIndexSort);
+            add.accept("segments_collected", segmentsCollected);
+        }
     }
 
     /**
@@ -296,6 +296,11 @@ public class HistogramAggregationBuilder extends ValuesSourceAggregationBuilder<
         return BucketCardinality.MANY;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return factoriesBuilder.supportsIntraSegmentConcurrency();
+    }
+
     @Override
     protected XContentBuilder doXContentBody(XContentBuilder builder, Params params) throws IOException {
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntroSelector;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.BytesRefHash;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+
+/**
+ * Approximate counts of the most frequent {@link BytesRef}s in bounded memory.
+ * <p>
+ * This is a batched variant of the Space-Saving algorithm: it tracks up to
+ * {@code 2 * capacity} keys and, once it is full, keeps the {@code capacity}
+ * keys with the highest upper bound on their count and forgets the others.
+ * For every tracked key we know:
+ * <ul>
+ *     <li>its {@link #count count}, the number of times it was added since it
+ *     was last admitted. This is a lower bound of its true count.</li>
+ *     <li>its {@link #error error}, the highest upper bound of the keys that
+ *     were forgotten before it was admitted. The key may have been forgotten
+ *     too, so its true count is at most its count plus its error.</li>
+ * </ul>
+ * Keys that aren't tracked were added at most {@link #maxForgottenCount()} times.
+ */
+final class HeavyHitters implements Releasable {
+    private final BigArrays bigArrays;
+    private final int capacity;
+
+    private BytesRefHash keys;
+    private LongArray counts;
+    private LongArray errors;
+    private long maxForgottenCount;
+    private long forgottenKeys;
+
+    HeavyHitters(int capacity, BigArrays bigArrays) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1 but was [" + capacity + "]");
+        }
+        this.bigArrays = bigArrays;
+        this.capacity = capacity;
+        boolean success = false;
+        try {
+            keys = new BytesRefHash(capacity, bigArrays);
+            counts = bigArrays.newLongArray(capacity, false);
+            errors = bigArrays.newLongArray(capacity, false);
+            success = true;
+        } finally {
+            if (success == false) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Add {@code count} occurrences of {@code key}.
+     */
+    void add(BytesRef key, long count) {
+        long id = keys.add(key);
+        if (id < 0) {
+            counts.increment(-1 - id, count);
+            return;
+        }
+        counts = bigArrays.grow(counts, id + 1);
+        errors = bigArrays.grow(errors, id + 1);
+        counts.set(id, count);
+        errors.set(id, maxForgottenCount);
+        if (keys.size() >= 2L * capacity) {
+            forget();
+        }
+    }
+
+    /**
+     * The number of tracked keys. Their ids go from {@code 0} to {@code size() - 1}.
+     */
+    long size() {
+        return keys.size();
+    }
+
+    BytesRef key(long id, BytesRef dest) {
+        return keys.get(id, dest);
+    }
+
+    /**
+     * A lower bound of the number of times the key was added.
+     */
+    long count(long id) {
+        return counts.get(id);
+    }
+
+    /**
+     * How many more times the key may have been added on top of its {@link #count}.
+     */
+    long error(long id) {
+        return errors.get(id);
+    }
+
+    /**
+     * An upper bound of the number of times any key that isn't tracked was added.
+     */
+    long maxForgottenCount() {
+        return maxForgottenCount;
+    }
+
+    /**
+     * The number of times keys were forgotten, for debugging.
+     */
+    long forgottenKeys() {
+        return forgottenKeys;
+    }
+
+    private long upperBound(long id) {
+        return counts.get(id) + errors.get(id);
+    }
+
+    /**
+     * Forget all keys but the {@link #capacity} ones with the highest upper bound.
+     */
+    private void forget() {
+        final int size = Math.toIntExact(keys.size());
+        BytesRefHash newKeys = null;
+        LongArray newCounts = null;
+        LongArray newErrors = null;
+        boolean success = false;
+        try (LongArray ids = bigArrays.newLongArray(size, false)) {
+            for (int i = 0; i < size; i++) {
+                ids.set(i, i);
+            }
+            // Move the keys with the highest upper bound to the front
+            new IntroSelector() {
+                private long pivot;
+
+                @Override
+                protected void setPivot(int i) {
+                    pivot = upperBound(ids.get(i));
+                }
+
+                @Override
+                protected int comparePivot(int j) {
+                    return Long.compare(upperBound(ids.get(j)), pivot);
+                }
+
+                @Override
+                protected void swap(int i, int j) {
+                    long tmp = ids.get(i);
+                    ids.set(i, ids.get(j));
+                    ids.set(j, tmp);
+                }
+            }.select(0, size, capacity);
+
+            newKeys = new BytesRefHash(capacity, bigArrays);
+            newCounts = bigArrays.newLongArray(capacity, false);
+            newErrors = bigArrays.newLongArray(capacity, false);
+            BytesRef scratch = new BytesRef();
+            for (int i = 0; i < capacity; i++) {
+                long id = ids.get(i);
+                long newId = newKeys.add(keys.get(id, scratch));
+                newCounts.set(newId, counts.get(id));
+                newErrors.set(newId, errors.get(id));
+            }
+            long newMaxForgottenCount = maxForgottenCount;
+            for (int i = capacity; i < size; i++) {
+                newMaxForgottenCount = Math.max(newMaxForgottenCount, upperBound(ids.get(i)));
+            }
+            Releasables.close(keys, counts, errors);
+            keys = newKeys;
+            counts = newCounts;
+            errors = newErrors;
+            maxForgottenCount = newMaxForgottenCount;
+            forgottenKeys += size - capacity;
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.close(newKeys, newCounts, newErrors);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Releasables.close(keys, counts, errors);
+    }
+}
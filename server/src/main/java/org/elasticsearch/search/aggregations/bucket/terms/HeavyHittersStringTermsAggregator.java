@@ -0,0 +1,238 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.aggregations.AggregationExecutionContext;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.CardinalityUpperBound;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.InternalOrder;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.aggregations.bucket.terms.MapStringTermsAggregator.CollectorSource;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code terms} aggregator that approximates the most frequent terms in
+ * bounded memory with {@link HeavyHitters} instead of counting every term.
+ * The {@code doc_count} of each bucket is a lower bound of its true count
+ * and its {@code doc_count_error_upper_bound} is how much higher the true
+ * count may be. Only used when explicitly requested with the
+ * {@code heavy_hitters} execution hint and when the aggregation
+ * {@link #supports supports} it.
+ */
+final class HeavyHittersStringTermsAggregator extends AbstractStringTermsAggregator {
+    /**
+     * The minimum number of terms that we track.
+     */
+    static final int MIN_CAPACITY = 1024;
+    /**
+     * The maximum number of terms that we track. Aggregations that need
+     * more terms per shard count all of them.
+     */
+    static final int MAX_CAPACITY = 1 << 20;
+    /**
+     * How many terms we track for each term we return from the shard.
+     */
+    private static final int CAPACITY_PER_SHARD_TERM = 8;
+
+    private final CollectorSource collectorSource;
+    private final IncludeExclude.StringFilter includeExclude;
+    private final HeavyHitters heavyHitters;
+    private long totalDocCount;
+
+    HeavyHittersStringTermsAggregator(
+        String name,
+        AggregatorFactories factories,
+        CollectorSource collectorSource,
+        BucketOrder order,
+        DocValueFormat format,
+        BucketCountThresholds bucketCountThresholds,
+        IncludeExclude.StringFilter includeExclude,
+        AggregationContext context,
+        Aggregator parent,
+        boolean showTermDocCountError,
+        Map<String, Object> metadata
+    ) throws IOException {
+        super(
+            name,
+            factories,
+            context,
+            parent,
+            order,
+            format,
+            bucketCountThresholds,
+            SubAggCollectionMode.DEPTH_FIRST,
+            showTermDocCountError,
+            metadata
+        );
+        assert supports(factories, order, bucketCountThresholds, CardinalityUpperBound.ONE);
+        this.includeExclude = includeExclude;
+        this.heavyHitters = new HeavyHitters(capacity(bucketCountThresholds.getShardSize()), context.bigArrays());
+        // set last because if there is an error during construction the collector gets release outside the constructor.
+        this.collectorSource = collectorSource;
+    }
+
+    /**
+     * Can a {@code terms} aggregation with these parameters be approximated
+     * with {@link HeavyHitters}? It must sort its buckets by descending count,
+     * not return buckets without documents, have no sub-aggregations because
+     * terms are forgotten while collecting and collect a single bucket. It must
+     * also not filter buckets with {@code shard_min_doc_count} because the
+     * reduction ignores the error of shards that return fewer than
+     * {@code shard_size} buckets, which would hide the counts of forgotten terms.
+     */
+    static boolean supports(
+        AggregatorFactories factories,
+        BucketOrder order,
+        BucketCountThresholds bucketCountThresholds,
+        CardinalityUpperBound cardinality
+    ) {
+        return factories.countAggregators() == 0
+            && InternalOrder.isCountDesc(order)
+            && bucketCountThresholds.getMinDocCount() > 0
+            && bucketCountThresholds.getShardMinDocCount() <= 1
+            && bucketCountThresholds.getShardSize() <= MAX_CAPACITY / CAPACITY_PER_SHARD_TERM
+            && cardinality == CardinalityUpperBound.ONE;
+    }
+
+    static int capacity(int shardSize) {
+        return Math.max(MIN_CAPACITY, shardSize * CAPACITY_PER_SHARD_TERM);
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        if (collectorSource.needsScores()) {
+            return ScoreMode.COMPLETE;
+        }
+        return super.scoreMode();
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
+        return collectorSource.getLeafCollector(
+            includeExclude,
+            aggCtx.getLeafReaderContext(),
+            sub,
+            this::addRequestCircuitBreakerBytes,
+            (s, doc, owningBucketOrd, bytes) -> {
+                assert owningBucketOrd == 0;
+                int docCount = docCountProvider.getDocCount(doc);
+                heavyHitters.add(bytes, docCount);
+                totalDocCount += docCount;
+            }
+        );
+    }
+
+    @Override
+    public InternalAggregation[] buildAggregations(LongArray owningBucketOrds) throws IOException {
+        return buildAggregations(Math.toIntExact(owningBucketOrds.size()), ordIdx -> {
+            assert owningBucketOrds.get(ordIdx) == 0;
+            return buildResult();
+        });
+    }
+
+    private StringTerms buildResult() throws IOException {
+        final int size = (int) Math.min(heavyHitters.size(), bucketCountThresholds.getShardSize());
+        final Comparator<BucketAndOrd<StringTerms.Bucket>> comparator = order.partiallyBuiltBucketComparator(this);
+        /*
+         * Terms that we don't return may have been seen as many times as
+         * the term we forgot with the highest count or as the highest upper
+         * bound of the terms that we track but don't return.
+         */
+        long docCountError = heavyHitters.maxForgottenCount();
+        long otherDocCount = totalDocCount;
+        final StringTerms.Bucket[] buckets;
+        try (BucketPriorityQueue<StringTerms.Bucket> ordered = new BucketPriorityQueue<>(size, bigArrays(), comparator)) {
+            BucketAndOrd<StringTerms.Bucket> spare = null;
+            for (long id = 0; id < heavyHitters.size(); id++) {
+                long docCount = heavyHitters.count(id);
+                if (docCount < bucketCountThresholds.getShardMinDocCount()) {
+                    docCountError = Math.max(docCountError, docCount + heavyHitters.error(id));
+                    continue;
+                }
+                if (spare == null) {
+                    checkRealMemoryCBForInternalBucket();
+                    spare = new BucketAndOrd<>(new StringTerms.Bucket(new BytesRef(), 0, null, showTermDocCountError, 0, format));
+                }
+                heavyHitters.key(id, spare.bucket.termBytes);
+                spare.bucket.docCount = docCount;
+                spare.ord = id;
+                spare = ordered.insertWithOverflow(spare);
+                if (spare != null) {
+                    docCountError = Math.max(docCountError, spare.bucket.docCount + heavyHitters.error(spare.ord));
+                }
+            }
+            buckets = new StringTerms.Bucket[(int) ordered.size()];
+            for (int i = buckets.length - 1; i >= 0; i--) {
+                BucketAndOrd<StringTerms.Bucket> bucketAndOrd = ordered.pop();
+                StringTerms.Bucket bucket = bucketAndOrd.bucket;
+                // the bytes belong to the HeavyHitters which are released with the aggregator
+                bucket.termBytes = BytesRef.deepCopyOf(bucket.termBytes);
+                if (showTermDocCountError) {
+                    bucket.setDocCountError(heavyHitters.error(bucketAndOrd.ord));
+                }
+                bucket.aggregations = InternalAggregations.EMPTY;
+                otherDocCount -= bucket.docCount;
+                buckets[i] = bucket;
+            }
+        }
+        final BucketOrder reduceOrder = InternalOrder.key(true);
+        Arrays.sort(buckets, reduceOrder.comparator());
+        return new StringTerms(
+            name,
+            reduceOrder,
+            order,
+            bucketCountThresholds.getRequiredSize(),
+            bucketCountThresholds.getMinDocCount(),
+            metadata(),
+            format,
+            bucketCountThresholds.getShardSize(),
+            showTermDocCountError,
+            otherDocCount,
+            Arrays.asList(buckets),
+            // when we didn't forget any term the counts are exact and the error is computed like for the other modes
+            heavyHitters.forgottenKeys() == 0 ? null : docCountError
+        );
+    }
+
+    @Override
+    public InternalAggregation buildEmptyAggregation() {
+        return buildEmptyTermsAggregation();
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("total_buckets", heavyHitters.size());
+        add.accept("forgotten_terms", heavyHitters.forgottenKeys());
+        add.accept("collection_strategy", collectorSource.describe());
+        collectorSource.collectDebugInfo(add);
+        add.accept("result_strategy", "heavy_hitters");
+    }
+
+    @Override
+    public void doClose() {
+        Releasables.close(collectorSource, heavyHitters);
+    }
+}
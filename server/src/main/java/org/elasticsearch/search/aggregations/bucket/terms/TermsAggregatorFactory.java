@@ -110,8 +110,13 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
             if (executionHint != null) {
                 execution = ExecutionMode.fromString(executionHint);
             }
+            if (execution == ExecutionMode.HEAVY_HITTERS
+                && HeavyHittersStringTermsAggregator.supports(factories, order, bucketCountThresholds, cardinality) == false) {
+                // The terms can't be approximated so we count all of them
+                execution = null;
+            }
             // In some cases, using ordinals is just not supported: override it
-            if (valuesSource.hasOrdinals() == false || matchNoDocs(context, parent)) {
+            if ((valuesSource.hasOrdinals() == false && execution != ExecutionMode.HEAVY_HITTERS) || matchNoDocs(context, parent)) {
                 execution = ExecutionMode.MAP;
             }
             if (execution == null) {
@@ -565,14 +570,51 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                     excludeDeletedDocs
                 );
             }
+        },
+        HEAVY_HITTERS(new ParseField("heavy_hitters")) {
+
+            @Override
+            Aggregator create(
+                String name,
+                AggregatorFactories factories,
+                ValuesSourceConfig valuesSourceConfig,
+                BucketOrder order,
+                TermsAggregator.BucketCountThresholds bucketCountThresholds,
+                IncludeExclude includeExclude,
+                AggregationContext context,
+                Aggregator parent,
+                SubAggCollectionMode subAggCollectMode,
+                boolean showTermDocCountError,
+                CardinalityUpperBound cardinality,
+                Map<String, Object> metadata,
+                boolean excludeDeletedDocs
+            ) throws IOException {
+                IncludeExclude.StringFilter filter = includeExclude == null
+                    ? null
+                    : includeExclude.convertToStringFilter(valuesSourceConfig.format());
+                return new HeavyHittersStringTermsAggregator(
+                    name,
+                    factories,
+                    new MapStringTermsAggregator.ValuesSourceCollectorSource(valuesSourceConfig),
+                    order,
+                    valuesSourceConfig.format(),
+                    bucketCountThresholds,
+                    filter,
+                    context,
+                    parent,
+                    showTermDocCountError,
+                    metadata
+                );
+            }
         };
 
         public static ExecutionMode fromString(String value) {
             return switch (value) {
                 case "global_ordinals" -> GLOBAL_ORDINALS;
                 case "map" -> MAP;
+                case "heavy_hitters" -> HEAVY_HITTERS;
                 default -> throw new IllegalArgumentException(
-                    "Unknown `execution_hint`: [" + value + "], expected any of [map, global_ordinals]"
+                    "Unknown `execution_hint`: [" + value + "], expected any of [map, global_ordinals, heavy_hitters]"
                 );
             };
         }
@@ -95,6 +95,11 @@ public class AvgAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
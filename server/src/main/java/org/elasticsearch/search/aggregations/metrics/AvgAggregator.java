@@ -65,6 +65,15 @@ class AvgAggregator extends SumAggregator {
         };
     }
 
+    @Override
+    protected BlockCollector blockCollector() {
+        final BlockCollector sum = super.blockCollector();
+        return (values, length) -> {
+            sum.collect(values, length);
+            counts.increment(0, length);
+        };
+    }
+
     @Override
     protected void doGrow(long bucket, BigArrays bigArrays) {
         super.doGrow(bucket, bigArrays);
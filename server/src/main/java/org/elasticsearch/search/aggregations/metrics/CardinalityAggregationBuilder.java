@@ -196,6 +196,12 @@ public final class CardinalityAggregationBuilder extends ValuesSourceAggregation
         return Objects.equals(precisionThreshold, other.precisionThreshold) && Objects.equals(executionHint, other.executionHint);
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        // each aggregator instance tracks the ordinals it has seen, the sketches are merged on reduce
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
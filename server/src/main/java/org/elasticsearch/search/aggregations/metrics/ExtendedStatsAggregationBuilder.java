@@ -136,6 +136,11 @@ public class ExtendedStatsAggregationBuilder extends ValuesSourceAggregationBuil
         return Objects.equals(sigma, other.sigma);
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
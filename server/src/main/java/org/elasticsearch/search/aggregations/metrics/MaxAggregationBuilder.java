@@ -99,6 +99,12 @@ public class MaxAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        // the max value read from the points of a segment is the same for all of its partitions
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
@@ -101,6 +101,12 @@ public class MinAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        // the min value read from the points of a segment is the same for all of its partitions
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
@@ -8,7 +8,11 @@
  */
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.util.Comparators;
 import org.elasticsearch.index.fielddata.FieldData;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
@@ -19,6 +23,7 @@ import org.elasticsearch.search.aggregations.LeafBucketCollector;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSource;
 import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
 import org.elasticsearch.search.sort.SortOrder;
 
 import java.io.IOException;
@@ -27,11 +32,86 @@ import java.util.Map;
 
 public abstract class NumericMetricsAggregator extends MetricsAggregator {
 
+    /**
+     * The number of values handed at once to a {@link BlockCollector}.
+     */
+    static final int BLOCK_SIZE = 1024;
+
+    private double[] block;
+
     private NumericMetricsAggregator(String name, AggregationContext context, Aggregator parent, Map<String, Object> metadata)
         throws IOException {
         super(name, context, parent, metadata);
     }
 
+    /**
+     * Collects blocks of values read from every document of a segment, see {@link #collectAllValues}.
+     */
+    @FunctionalInterface
+    protected interface BlockCollector {
+        /**
+         * Collect the first {@code length} values of {@code values}, all of them for the bucket ordinal {@code 0}.
+         */
+        void collect(double[] values, int length);
+    }
+
+    /**
+     * Reads the values of every live document of the segment and hands them to {@code collector}
+     * in blocks of up to {@link #BLOCK_SIZE} values so they can be reduced all at once, with
+     * {@link org.elasticsearch.simdvec.ESVectorUtil} for instance, rather than one document at a time.
+     * This is only possible if the aggregation is top level, its values don't depend on the score,
+     * the query matches all documents, the search collects all of them because it has neither
+     * {@code terminate_after} nor {@code min_score} and the segment isn't split across slices. Checks for
+     * cancellation and timeout once every {@link #BLOCK_SIZE} documents.
+     *
+     * @return {@code true} if the values were collected, in which case the documents of the segment
+     *         must not be collected, {@code false} if they must be collected one by one
+     */
+    protected final boolean collectAllValues(
+        ValuesSource.Numeric valuesSource,
+        NumericDoubleValues values,
+        LeafReaderContext ctx,
+        BlockCollector collector
+    ) throws IOException {
+        if (parent() != null || valuesSource.needsScores()) {
+            return false;
+        }
+        if (topLevelQuery() != null && topLevelQuery().getClass() != MatchAllDocsQuery.class) {
+            return false;
+        }
+        if (context.collectsAllMatchingDocs() == false) {
+            return false;
+        }
+        if (searcher() instanceof ContextIndexSearcher == false || ((ContextIndexSearcher) searcher()).hasSegmentPartitions()) {
+            // each slice only collects its own partition of the segment
+            return false;
+        }
+        final ContextIndexSearcher searcher = (ContextIndexSearcher) searcher();
+        if (block == null) {
+            block = new double[BLOCK_SIZE];
+        }
+        final LeafReader reader = ctx.reader();
+        final Bits liveDocs = reader.getLiveDocs();
+        int length = 0;
+        for (int doc = 0, maxDoc = reader.maxDoc(); doc < maxDoc; doc++) {
+            if (doc % BLOCK_SIZE == 0) {
+                // we don't go through a scorer that checks for cancellation and timeout so we check them ourselves
+                searcher.checkCancelled();
+            }
+            if ((liveDocs == null || liveDocs.get(doc)) && values.advanceExact(doc)) {
+                block[length++] = values.doubleValue();
+                if (length == block.length) {
+                    collector.collect(block, length);
+                    length = 0;
+                }
+            }
+        }
+        if (length > 0) {
+            collector.collect(block, length);
+        }
+        return true;
+    }
+
     public abstract static class SingleValue extends NumericMetricsAggregator {
 
         protected SingleValue(String name, AggregationContext context, Aggregator parent, Map<String, Object> metadata) throws IOException {
@@ -76,7 +156,22 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
             throws IOException {
             final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
             final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
-            return singleton != null ? getLeafCollector(singleton, sub) : getLeafCollector(values, sub);
+            if (singleton == null) {
+                return getLeafCollector(values, sub);
+            }
+            final BlockCollector blockCollector = blockCollector();
+            if (blockCollector != null && collectAllValues(valuesSource, singleton, aggCtx.getLeafReaderContext(), blockCollector)) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
+            return getLeafCollector(singleton, sub);
+        }
+
+        /**
+         * Returns a collector for blocks of values if this aggregator can reduce all values of a
+         * segment at once, {@code null} otherwise.
+         */
+        protected BlockCollector blockCollector() {
+            return null;
         }
 
         protected abstract LeafBucketCollector getLeafCollector(SortedNumericDoubleValues values, LeafBucketCollector sub);
@@ -132,7 +227,22 @@ public abstract class NumericMetricsAggregator extends MetricsAggregator {
             throws IOException {
             final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
             final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
-            return singleton != null ? getLeafCollector(singleton, sub) : getLeafCollector(values, sub);
+            if (singleton == null) {
+                return getLeafCollector(values, sub);
+            }
+            final BlockCollector blockCollector = blockCollector();
+            if (blockCollector != null && collectAllValues(valuesSource, singleton, aggCtx.getLeafReaderContext(), blockCollector)) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
+            return getLeafCollector(singleton, sub);
+        }
+
+        /**
+         * Returns a collector for blocks of values if this aggregator can reduce all values of a
+         * segment at once, {@code null} otherwise.
+         */
+        protected BlockCollector blockCollector() {
+            return null;
         }
 
         protected abstract LeafBucketCollector getLeafCollector(SortedNumericDoubleValues values, LeafBucketCollector sub);
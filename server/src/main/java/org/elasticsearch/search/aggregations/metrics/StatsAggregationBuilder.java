@@ -106,6 +106,11 @@ public class StatsAggregationBuilder extends ValuesSourceAggregationBuilder.Metr
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
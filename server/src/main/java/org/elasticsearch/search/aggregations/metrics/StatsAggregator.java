@@ -21,6 +21,7 @@ import org.elasticsearch.search.aggregations.LeafBucketCollector;
 import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.io.IOException;
 import java.util.Map;
@@ -102,6 +103,21 @@ class StatsAggregator extends NumericMetricsAggregator.MultiDoubleValue {
         };
     }
 
+    @Override
+    protected BlockCollector blockCollector() {
+        final double[] sumAndDelta = new double[2];
+        return (values, length) -> {
+            counts.increment(0, length);
+            sumAndDelta[0] = sums.get(0);
+            sumAndDelta[1] = compensations.get(0);
+            ESVectorUtil.compensatedSum(values, length, sumAndDelta);
+            sums.set(0, sumAndDelta[0]);
+            compensations.set(0, sumAndDelta[1]);
+            mins.set(0, Math.min(mins.get(0), ESVectorUtil.min(values, length)));
+            maxes.set(0, Math.max(maxes.get(0), ESVectorUtil.max(values, length)));
+        };
+    }
+
     private void maybeGrow(long bucket) {
         if (bucket >= counts.size()) {
             final long from = counts.size();
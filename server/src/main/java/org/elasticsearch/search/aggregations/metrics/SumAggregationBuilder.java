@@ -99,6 +99,11 @@ public class SumAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
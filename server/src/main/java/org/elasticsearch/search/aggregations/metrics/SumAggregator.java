@@ -20,6 +20,7 @@ import org.elasticsearch.search.aggregations.LeafBucketCollector;
 import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.io.IOException;
 import java.util.Map;
@@ -58,6 +59,18 @@ public class SumAggregator extends NumericMetricsAggregator.SingleDoubleValue {
         };
     }
 
+    @Override
+    protected BlockCollector blockCollector() {
+        final double[] sumAndDelta = new double[2];
+        return (values, length) -> {
+            sumAndDelta[0] = sums.get(0);
+            sumAndDelta[1] = compensations.get(0);
+            ESVectorUtil.compensatedSum(values, length, sumAndDelta);
+            sums.set(0, sumAndDelta[0]);
+            compensations.set(0, sumAndDelta[1]);
+        };
+    }
+
     // returns number of values added
     static int sumSortedDoubles(long bucket, SortedNumericDoubleValues values, DoubleArray sums, DoubleArray compensations)
         throws IOException {
@@ -108,6 +108,11 @@ public class ValueCountAggregationBuilder extends ValuesSourceAggregationBuilder
         return builder;
     }
 
+    @Override
+    public boolean supportsIntraSegmentConcurrency() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return NAME;
@@ -42,6 +42,7 @@ import org.elasticsearch.search.aggregations.AggregationExecutionContext;
 import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.search.aggregations.BucketCollector;
 import org.elasticsearch.search.aggregations.bucket.filter.FilterByFilterAggregator;
+import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.SubSearchContext;
 import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.search.profile.aggregation.AggregationProfiler;
@@ -56,6 +57,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
@@ -78,6 +80,29 @@ public abstract class AggregationContext implements Releasable {
      */
     public abstract Query query();
 
+    /**
+     * The number of documents after which the top level search stops collecting
+     * or {@link SearchContext#DEFAULT_TERMINATE_AFTER} if it collects them all.
+     */
+    public abstract int terminateAfter();
+
+    /**
+     * The minimum score of the documents collected by the top level search
+     * or {@code null} if it doesn't have one.
+     */
+    @Nullable
+    public abstract Float minimumScore();
+
+    /**
+     * Does the top level search collect every document matching {@link #query()}?
+     * It doesn't when {@code terminate_after} or {@code min_score} is set so
+     * aggregations that compute their results from the index rather than
+     * from the collected documents can only do so if this is {@code true}.
+     */
+    public final boolean collectsAllMatchingDocs() {
+        return terminateAfter() == SearchContext.DEFAULT_TERMINATE_AFTER && minimumScore() == null;
+    }
+
     /**
      * Wrap the aggregator for profiling if profiling is enabled.
      */
@@ -351,6 +376,8 @@ public abstract class AggregationContext implements Releasable {
         private final ClusterSettings clusterSettings;
 
         private final Supplier<Query> topLevelQuery;
+        private final IntSupplier terminateAfter;
+        private final Supplier<Float> minimumScore;
         private final AggregationProfiler profiler;
         private final int maxBuckets;
         private final Supplier<SubSearchContext> subSearchContextBuilder;
@@ -372,6 +399,8 @@ public abstract class AggregationContext implements Releasable {
             ClusterSettings clusterSettings,
             long bytesToPreallocate,
             Supplier<Query> topLevelQuery,
+            IntSupplier terminateAfter,
+            Supplier<Float> minimumScore,
             @Nullable AggregationProfiler profiler,
             int maxBuckets,
             Supplier<SubSearchContext> subSearchContextBuilder,
@@ -406,6 +435,8 @@ public abstract class AggregationContext implements Releasable {
                 this.bigArrays = bigArrays.withBreakerService(preallocatedBreakerService).withCircuitBreaking();
             }
             this.topLevelQuery = topLevelQuery;
+            this.terminateAfter = terminateAfter;
+            this.minimumScore = minimumScore;
             this.profiler = profiler;
             this.maxBuckets = maxBuckets;
             this.subSearchContextBuilder = subSearchContextBuilder;
@@ -423,6 +454,16 @@ public abstract class AggregationContext implements Releasable {
             return topLevelQuery.get();
         }
 
+        @Override
+        public int terminateAfter() {
+            return terminateAfter.getAsInt();
+        }
+
+        @Override
+        public Float minimumScore() {
+            return minimumScore.get();
+        }
+
         @Override
         public Aggregator profileIfEnabled(Aggregator agg) {
             if (profiler == null) {
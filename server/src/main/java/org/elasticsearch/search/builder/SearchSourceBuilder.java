@@ -2195,6 +2195,19 @@ public final class SearchSourceBuilder implements Writeable, ToXContentObject, R
         return collapse == null && (aggregations == null || aggregations.supportsParallelCollection(fieldCardinality));
     }
 
+    /**
+     * Whether the query phase may split large segments into partitions that are collected concurrently. This is only the case
+     * for requests that don't return hits and whose aggregations all support it, like dashboards that compute metrics or
+     * histograms over a large force-merged index.
+     */
+    public boolean supportsIntraSegmentConcurrency() {
+        return size == 0
+            && collapse == null
+            && terminateAfter == DEFAULT_TERMINATE_AFTER
+            && aggregations != null
+            && aggregations.supportsIntraSegmentConcurrency();
+    }
+
     private void validate() throws ValidationException {
         var exceptions = validate(null, false, false);
         if (exceptions != null) {
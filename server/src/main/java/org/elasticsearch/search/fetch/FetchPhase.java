@@ -157,6 +157,11 @@ public final class FetchPhase {
                 }
             }
 
+            @Override
+            protected void prefetch(LeafReaderContext ctx, int[] docsInLeaf) throws IOException {
+                storedFieldLoader.prefetch(ctx, docsInLeaf);
+            }
+
             @Override
             protected SearchHit nextDoc(int doc) throws IOException {
                 if (context.isCancelled()) {
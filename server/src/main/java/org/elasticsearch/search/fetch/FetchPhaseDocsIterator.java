@@ -27,7 +27,9 @@ import java.util.Arrays;
  * docs by leaf reader, and iterates through them calling abstract methods
  * {@link #setNextReader(LeafReaderContext, int[])} for each new leaf reader and
  * {@link #nextDoc(int)} for each document; then collects the resulting {@link SearchHit}s
- * into an array and returns them in the order of the original doc ids.
+ * into an array and returns them in the order of the original doc ids. Before it starts
+ * on a leaf reader it calls {@link #prefetch(LeafReaderContext, int[])} for the next one
+ * so its documents can be read from disk while the current leaf is being fetched.
  */
 abstract class FetchPhaseDocsIterator {
 
@@ -45,6 +47,14 @@ abstract class FetchPhaseDocsIterator {
      */
     protected abstract SearchHit nextDoc(int doc) throws IOException;
 
+    /**
+     * Called with the docs that will be fetched from a leaf reader before we start
+     * fetching them. Implementations may start loading them in the background.
+     * @param ctx           the leaf reader for this set of doc ids
+     * @param docsInLeaf    the reader-specific docids to be fetched in this leaf reader
+     */
+    protected void prefetch(LeafReaderContext ctx, int[] docsInLeaf) throws IOException {}
+
     /**
      * Iterate over a set of docsIds within a particular shard and index reader
      */
@@ -69,6 +79,8 @@ abstract class FetchPhaseDocsIterator {
             int endReaderIdx = endReaderIdx(ctx, 0, docs);
             int[] docsInLeaf = docIdsInLeaf(0, endReaderIdx, docs, ctx.docBase);
             try {
+                prefetch(ctx, docsInLeaf);
+                prefetchNextReader(indexReader, endReaderIdx, docs);
                 setNextReader(ctx, docsInLeaf);
             } catch (ContextIndexSearcher.TimeExceededException e) {
                 SearchTimeoutException.handleTimeout(allowPartialResults, shardTarget, querySearchResult);
@@ -82,6 +94,7 @@ abstract class FetchPhaseDocsIterator {
                         ctx = indexReader.leaves().get(leafOrd);
                         endReaderIdx = endReaderIdx(ctx, i, docs);
                         docsInLeaf = docIdsInLeaf(i, endReaderIdx, docs, ctx.docBase);
+                        prefetchNextReader(indexReader, endReaderIdx, docs);
                         setNextReader(ctx, docsInLeaf);
                     }
                     currentDoc = docs[i].docId;
@@ -107,6 +120,17 @@ abstract class FetchPhaseDocsIterator {
         return searchHits;
     }
 
+    /**
+     * Prefetch the docs of the leaf that starts at {@code index}, if there is one.
+     */
+    private void prefetchNextReader(IndexReader indexReader, int index, DocIdToIndex[] docs) throws IOException {
+        if (index >= docs.length) {
+            return;
+        }
+        LeafReaderContext next = indexReader.leaves().get(ReaderUtil.subIndex(docs[index].docId, indexReader.leaves()));
+        prefetch(next, docIdsInLeaf(index, endReaderIdx(next, index, docs), docs, next.docBase));
+    }
+
     private static void purgeSearchHits(SearchHit[] searchHits) {
         for (SearchHit searchHit : searchHits) {
             if (searchHit != null) {
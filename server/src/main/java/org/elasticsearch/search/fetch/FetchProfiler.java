@@ -63,9 +63,18 @@ public class FetchProfiler implements FetchPhase.Profiler {
     @Override
     public StoredFieldLoader storedFields(StoredFieldLoader storedFieldLoader) {
         current.debug.put("stored_fields", storedFieldLoader.fieldsToLoad());
+        // loaders that don't read anything from disk, like StoredFieldLoader.empty(), have no fields to load
+        boolean loadsStoredFields = storedFieldLoader.fieldsToLoad().isEmpty() == false;
         return new StoredFieldLoader() {
             @Override
             public LeafStoredFieldLoader getLoader(LeafReaderContext ctx, int[] docs) throws IOException {
+                if (loadsStoredFields) {
+                    if (StoredFieldLoader.useSequentialReader(docs)) {
+                        current.sequentialStoredFieldsSegments++;
+                    } else {
+                        current.randomAccessStoredFieldsSegments++;
+                    }
+                }
                 LeafStoredFieldLoader in = storedFieldLoader.getLoader(ctx, docs);
                 return new LeafStoredFieldLoader() {
                     @Override
@@ -101,6 +110,14 @@ public class FetchProfiler implements FetchPhase.Profiler {
                 };
             }
 
+            @Override
+            public void prefetch(LeafReaderContext ctx, int[] docs) throws IOException {
+                if (loadsStoredFields) {
+                    current.prefetchedStoredFieldsDocs += docs.length;
+                }
+                storedFieldLoader.prefetch(ctx, docs);
+            }
+
             @Override
             public List<String> fieldsToLoad() {
                 return storedFieldLoader.fieldsToLoad();
@@ -160,6 +177,17 @@ public class FetchProfiler implements FetchPhase.Profiler {
         private final long start;
         private final Map<String, Object> debug = new HashMap<>();
         private final List<FetchSubPhaseProfileBreakdown> subPhases = new ArrayList<>();
+        /**
+         * Segments whose stored fields were loaded with the sequential reader which
+         * decompresses each block of stored fields once.
+         */
+        private int sequentialStoredFieldsSegments;
+        /**
+         * Segments whose stored fields were loaded with the random access reader which
+         * decompresses a block of stored fields once per document that it loads from it.
+         */
+        private int randomAccessStoredFieldsSegments;
+        private int prefetchedStoredFieldsDocs;
 
         FetchProfileBreakdown(long start) {
             super(FetchPhaseTiming.class);
@@ -168,6 +196,16 @@ public class FetchProfiler implements FetchPhase.Profiler {
 
         @Override
         protected Map<String, Object> toDebugMap() {
+            Map<String, Object> debug = new HashMap<>(this.debug);
+            if (sequentialStoredFieldsSegments > 0) {
+                debug.put("sequential_stored_fields_segments", sequentialStoredFieldsSegments);
+            }
+            if (randomAccessStoredFieldsSegments > 0) {
+                debug.put("random_access_stored_fields_segments", randomAccessStoredFieldsSegments);
+            }
+            if (prefetchedStoredFieldsDocs > 0) {
+                debug.put("prefetched_stored_fields_docs", prefetchedStoredFieldsDocs);
+            }
             return Map.copyOf(debug);
         }
 
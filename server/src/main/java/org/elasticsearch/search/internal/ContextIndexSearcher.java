@@ -81,6 +81,8 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
     private final int maximumNumberOfSlices;
     // don't create slices with less than this number of docs
     private final int minimumDocsPerSlice;
+    // whether large segments may be split into partitions that are searched by different slices
+    private final boolean allowSegmentPartitions;
 
     private final Set<Thread> timeoutOverwrites = ConcurrentCollections.newConcurrentSet();
     private volatile boolean timeExceeded = false;
@@ -94,7 +96,18 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCachingPolicy queryCachingPolicy,
         boolean wrapWithExitableDirectoryReader
     ) throws IOException {
-        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader, null, -1, -1);
+        this(
+            reader,
+            similarity,
+            queryCache,
+            queryCachingPolicy,
+            new MutableQueryTimeout(),
+            wrapWithExitableDirectoryReader,
+            null,
+            -1,
+            -1,
+            false
+        );
     }
 
     /** constructor for concurrent search */
@@ -108,6 +121,36 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         Executor executor,
         int maximumNumberOfSlices,
         int minimumDocsPerSlice
+    ) throws IOException {
+        this(
+            reader,
+            similarity,
+            queryCache,
+            queryCachingPolicy,
+            wrapWithExitableDirectoryReader,
+            executor,
+            maximumNumberOfSlices,
+            minimumDocsPerSlice,
+            false
+        );
+    }
+
+    /**
+     * Constructor for concurrent search that may split large segments into partitions, each of them searched by its
+     * own slice. This is only safe if all the collectors only look at the documents they are given, see
+     * {@link org.elasticsearch.search.aggregations.AggregationBuilder#supportsIntraSegmentConcurrency()}.
+     */
+    @SuppressWarnings("this-escape")
+    public ContextIndexSearcher(
+        IndexReader reader,
+        Similarity similarity,
+        QueryCache queryCache,
+        QueryCachingPolicy queryCachingPolicy,
+        boolean wrapWithExitableDirectoryReader,
+        Executor executor,
+        int maximumNumberOfSlices,
+        int minimumDocsPerSlice,
+        boolean allowSegmentPartitions
     ) throws IOException {
         this(
             reader,
@@ -118,7 +161,8 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
             wrapWithExitableDirectoryReader,
             executor,
             maximumNumberOfSlices,
-            minimumDocsPerSlice
+            minimumDocsPerSlice,
+            allowSegmentPartitions
         );
     }
 
@@ -132,7 +176,8 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         boolean wrapWithExitableDirectoryReader,
         Executor executor,
         int maximumNumberOfSlices,
-        int minimumDocsPerSlice
+        int minimumDocsPerSlice,
+        boolean allowSegmentPartitions
     ) throws IOException {
         super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader, executor);
         this.hasExecutor = executor != null;
@@ -142,6 +187,7 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         this.cancellable = cancellable;
         this.minimumDocsPerSlice = minimumDocsPerSlice;
         this.maximumNumberOfSlices = maximumNumberOfSlices;
+        this.allowSegmentPartitions = allowSegmentPartitions;
     }
 
     /**
@@ -153,10 +199,28 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         return hasExecutor;
     }
 
+    /**
+     * Whether at least one segment is split into partitions that are searched by different slices. Collectors that
+     * compute results for a whole segment at once, like {@link Weight#count(LeafReaderContext)}, must not be used then.
+     */
+    public boolean hasSegmentPartitions() {
+        if (allowSegmentPartitions == false) {
+            return false;
+        }
+        for (LeafSlice slice : getSlices()) {
+            for (LeafReaderContextPartition partition : slice.partitions) {
+                if (partition.minDocId != 0 || partition.maxDocId != DocIdSetIterator.NO_MORE_DOCS) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
         // we offload to the executor unconditionally, including requests that don't support concurrency
-        LeafSlice[] leafSlices = computeSlices(getLeafContexts(), maximumNumberOfSlices, minimumDocsPerSlice);
+        LeafSlice[] leafSlices = computeSlices(getLeafContexts(), maximumNumberOfSlices, minimumDocsPerSlice, allowSegmentPartitions);
         assert leafSlices.length <= maximumNumberOfSlices : "more slices created than the maximum allowed";
         return leafSlices;
     }
@@ -194,6 +258,14 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         return this.cancellable.isEnabled();
     }
 
+    /**
+     * Run the query cancellation and timeout checks, throwing if the query was cancelled or timed out.
+     * For code that iterates over the documents of a segment without a {@link Scorer}.
+     */
+    public void checkCancelled() {
+        this.cancellable.checkCancelled();
+    }
+
     public void setAggregatedDfs(AggregatedDfs aggregatedDfs) {
         this.aggregatedDfs = aggregatedDfs;
     }
@@ -246,6 +318,21 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
      * of {@link LeafSlice} will be equal or lower than the max number of slices.
      */
     public static LeafSlice[] computeSlices(List<LeafReaderContext> leaves, int maxSliceNum, int minDocsPerSlice) {
+        return computeSlices(leaves, maxSliceNum, minDocsPerSlice, false);
+    }
+
+    /**
+     * Same as {@link #computeSlices(List, int, int)} but when <code>allowSegmentPartitions</code> is true, segments
+     * that are large enough to fill more than one slice on their own are split into partitions of roughly equal size,
+     * each of them searched by its own slice. This allows a single large segment, e.g. after a force-merge, to be
+     * searched by several threads.
+     */
+    public static LeafSlice[] computeSlices(
+        List<LeafReaderContext> leaves,
+        int maxSliceNum,
+        int minDocsPerSlice,
+        boolean allowSegmentPartitions
+    ) {
         if (maxSliceNum < 1) {
             throw new IllegalArgumentException("maxSliceNum must be >= 1 (got " + maxSliceNum + ")");
         }
@@ -264,23 +351,37 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         // percentage of documents per slice, minimum 10%
         final double percentageDocsPerThread = Math.max(MINIMUM_DOCS_PERCENT_PER_SLICE, 1.0 / maxSliceNum);
         // compute slices
-        return computeSlices(leaves, Math.max(minDocsPerSlice, (int) (percentageDocsPerThread * numDocs)));
+        return computeSlices(leaves, Math.max(minDocsPerSlice, (int) (percentageDocsPerThread * numDocs)), allowSegmentPartitions);
     }
 
-    private static LeafSlice[] computeSlices(List<LeafReaderContext> leaves, int minDocsPerSlice) {
+    private static LeafSlice[] computeSlices(List<LeafReaderContext> leaves, int minDocsPerSlice, boolean allowSegmentPartitions) {
         // Make a copy so we can sort:
         List<LeafReaderContext> sortedLeaves = new ArrayList<>(leaves);
         // Sort by maxDoc, descending:
         sortedLeaves.sort((c1, c2) -> Integer.compare(c2.reader().maxDoc(), c1.reader().maxDoc()));
         // we add the groups on a priority queue, so we can add orphan leafs to the smallest group
-        final PriorityQueue<List<LeafReaderContext>> queue = new PriorityQueue<>(
+        final PriorityQueue<List<LeafReaderContextPartition>> queue = new PriorityQueue<>(
             (c1, c2) -> Integer.compare(sumMaxDocValues(c1), sumMaxDocValues(c2))
         );
         long docSum = 0;
-        List<LeafReaderContext> group = new ArrayList<>();
+        List<LeafReaderContextPartition> group = new ArrayList<>();
         for (LeafReaderContext ctx : sortedLeaves) {
-            group.add(ctx);
-            docSum += ctx.reader().maxDoc();
+            final int maxDoc = ctx.reader().maxDoc();
+            // like groups of leaves, each partition needs more than minDocsPerSlice docs so that we never create more slices
+            // than the maximum. Partitions of the same segment must be searched by different slices.
+            final long numPartitions = allowSegmentPartitions ? maxDoc / (minDocsPerSlice + 1L) : 1;
+            if (numPartitions > 1) {
+                for (long i = 0; i < numPartitions; i++) {
+                    final int minDocId = (int) (maxDoc * i / numPartitions);
+                    final int maxDocId = (int) (maxDoc * (i + 1) / numPartitions);
+                    List<LeafReaderContextPartition> partition = new ArrayList<>();
+                    partition.add(LeafReaderContextPartition.createFromAndTo(ctx, minDocId, maxDocId));
+                    queue.add(partition);
+                }
+                continue;
+            }
+            group.add(LeafReaderContextPartition.createForEntireSegment(ctx));
+            docSum += maxDoc;
             if (docSum > minDocsPerSlice) {
                 queue.add(group);
                 group = new ArrayList<>();
@@ -292,9 +393,9 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
             if (queue.size() == 0) {
                 queue.add(group);
             } else {
-                for (LeafReaderContext context : group) {
-                    final List<LeafReaderContext> head = queue.poll();
-                    head.add(context);
+                for (LeafReaderContextPartition partition : group) {
+                    final List<LeafReaderContextPartition> head = queue.poll();
+                    head.add(partition);
                     queue.add(head);
                 }
             }
@@ -302,23 +403,19 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
 
         final LeafSlice[] slices = new LeafSlice[queue.size()];
         int upto = 0;
-        for (List<LeafReaderContext> currentLeaf : queue) {
+        for (List<LeafReaderContextPartition> currentLeaf : queue) {
             // LeafSlice ctor reorders leaves so that leaves within a slice preserve the order they had within the IndexReader.
             // This is important given how Elasticsearch sorts leaves by descending @timestamp to get better query performance.
-            slices[upto++] = new LeafSlice(
-                currentLeaf.stream()
-                    .map(LeafReaderContextPartition::createForEntireSegment)
-                    .collect(Collectors.toCollection(ArrayList::new))
-            );
+            slices[upto++] = new LeafSlice(currentLeaf);
         }
 
         return slices;
     }
 
-    private static int sumMaxDocValues(List<LeafReaderContext> l) {
+    private static int sumMaxDocValues(List<LeafReaderContextPartition> l) {
         int sum = 0;
-        for (LeafReaderContext lr : l) {
-            sum += lr.reader().maxDoc();
+        for (LeafReaderContextPartition partition : l) {
+            sum += Math.min(partition.maxDocId, partition.ctx.reader().maxDoc()) - partition.minDocId;
         }
         return sum;
     }
@@ -450,7 +547,9 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
             return;
         }
         Bits liveDocs = ctx.reader().getLiveDocs();
-        BitSet liveDocsBitSet = getSparseBitSetOrNull(liveDocs);
+        // the sparse live docs path iterates over the whole segment, so partitions of a segment always use the bulk scorer
+        boolean entireSegment = minDocId == 0 && maxDocId == DocIdSetIterator.NO_MORE_DOCS;
+        BitSet liveDocsBitSet = entireSegment ? getSparseBitSetOrNull(liveDocs) : null;
         if (liveDocsBitSet == null) {
             BulkScorer bulkScorer = weight.bulkScorer(ctx);
             if (bulkScorer != null) {
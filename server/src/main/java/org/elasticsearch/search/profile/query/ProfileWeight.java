@@ -47,6 +47,7 @@ public final class ProfileWeight extends Weight {
         } finally {
             timer.stop();
         }
+        profile.segment(subQueryScorerSupplier != null);
         if (subQueryScorerSupplier == null) {
             return null;
         }
@@ -56,6 +57,8 @@ public final class ProfileWeight extends Weight {
 
             @Override
             public Scorer get(long loadCost) throws IOException {
+                // recording the plan isn't part of building the scorer so we keep it out of its timer
+                profile.plan(subQueryScorerSupplier.cost(), loadCost);
                 timer.start();
                 try {
                     return new ProfileScorer(subQueryScorerSupplier.get(loadCost), profile);
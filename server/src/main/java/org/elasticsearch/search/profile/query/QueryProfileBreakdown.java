@@ -11,15 +11,65 @@ package org.elasticsearch.search.profile.query;
 
 import org.elasticsearch.search.profile.AbstractProfileBreakdown;
 
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A record of timings for the various operations that may happen during query execution.
  * A node's time may be composed of several internal attributes (rewriting, weighting,
- * scoring, etc).
+ * scoring, etc). It also records how Lucene planned the execution of the query: its
+ * estimated cost and on how many segments it led iteration rather than verifying
+ * the matches of a cheaper clause.
  */
 public final class QueryProfileBreakdown extends AbstractProfileBreakdown<QueryTimingType> {
+    private final LongAdder segments = new LongAdder();
+    private final LongAdder segmentsWithoutMatches = new LongAdder();
+    private final LongAdder estimatedCost = new LongAdder();
+    private final LongAdder leadSegments = new LongAdder();
 
     /** Sole constructor. */
     public QueryProfileBreakdown() {
         super(QueryTimingType.class);
     }
+
+    /**
+     * Record that we looked for matches in a segment.
+     * @param matches {@code false} if we could tell up front that the segment doesn't contain any match
+     */
+    void segment(boolean matches) {
+        segments.increment();
+        if (matches == false) {
+            segmentsWithoutMatches.increment();
+        }
+    }
+
+    /**
+     * Record the plan for iterating a segment.
+     * @param cost the estimated number of matches in the segment
+     * @param leadCost the cost of the clause that leads the iteration
+     */
+    void plan(long cost, long leadCost) {
+        estimatedCost.add(cost);
+        if (cost <= leadCost) {
+            leadSegments.increment();
+        }
+    }
+
+    @Override
+    protected Map<String, Object> toDebugMap() {
+        long segments = this.segments.sum();
+        if (segments == 0) {
+            return Map.of();
+        }
+        return Map.of(
+            "segments",
+            segments,
+            "segments_without_matches",
+            segmentsWithoutMatches.sum(),
+            "estimated_cost",
+            estimatedCost.sum(),
+            "lead_segments",
+            leadSegments.sum()
+        );
+    }
 }
@@ -15,6 +15,7 @@ import org.apache.lucene.search.FilterLeafCollector;
 import org.apache.lucene.search.LeafCollector;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.search.Weight;
 
 import java.io.IOException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,10 +28,27 @@ import java.util.concurrent.atomic.AtomicInteger;
 class PartialHitCountCollector extends TotalHitCountCollector {
 
     private final HitsThresholdChecker hitsThresholdChecker;
+    private final boolean hasSegmentPartitions;
     private boolean earlyTerminated;
 
     PartialHitCountCollector(HitsThresholdChecker hitsThresholdChecker) {
+        this(hitsThresholdChecker, false);
+    }
+
+    /**
+     * @param hasSegmentPartitions whether segments are split into partitions that are collected by different collectors, in which
+     *                             case hits are always counted one by one as the count of a whole segment would be added once per partition
+     */
+    PartialHitCountCollector(HitsThresholdChecker hitsThresholdChecker, boolean hasSegmentPartitions) {
         this.hitsThresholdChecker = hitsThresholdChecker;
+        this.hasSegmentPartitions = hasSegmentPartitions;
+    }
+
+    @Override
+    public void setWeight(Weight weight) {
+        if (hasSegmentPartitions == false) {
+            super.setWeight(weight);
+        }
     }
 
     @Override
@@ -230,7 +230,8 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
                 searchContext.minimumScore(),
                 searchContext.getProfilers() != null,
                 searchContext.sort(),
-                searchContext.trackTotalHitsUpTo()
+                searchContext.trackTotalHitsUpTo(),
+                searchContext.searcher().hasSegmentPartitions()
             );
         }
         // top collectors don't like a size of 0
@@ -308,6 +309,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
     private static final class EmptyHits extends QueryPhaseCollectorManager {
         private final PartialHitCountCollector.HitsThresholdChecker hitsThresholdChecker;
         private final SortAndFormats sortAndFormats;
+        private final boolean hasSegmentPartitions;
 
         EmptyHits(
             Weight postFilterWeight,
@@ -316,10 +318,12 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             Float minScore,
             boolean profile,
             @Nullable SortAndFormats sortAndFormats,
-            int trackTotalHitsUpTo
+            int trackTotalHitsUpTo,
+            boolean hasSegmentPartitions
         ) {
             super(postFilterWeight, terminateAfterChecker, aggsCollectorManager, minScore, profile);
             this.sortAndFormats = sortAndFormats;
+            this.hasSegmentPartitions = hasSegmentPartitions;
             this.hitsThresholdChecker = new PartialHitCountCollector.HitsThresholdChecker(
                 trackTotalHitsUpTo == SearchContext.TRACK_TOTAL_HITS_DISABLED ? 0 : trackTotalHitsUpTo
             );
@@ -327,7 +331,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
 
         @Override
         protected PartialHitCountCollector newTopDocsCollector() {
-            return new PartialHitCountCollector(hitsThresholdChecker);
+            return new PartialHitCountCollector(hitsThresholdChecker, hasSegmentPartitions);
         }
 
         @Override
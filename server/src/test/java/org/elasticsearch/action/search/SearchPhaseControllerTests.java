@@ -848,6 +848,65 @@ public class SearchPhaseControllerTests extends ESTestCase {
         }
     }
 
+    public void testConsumerPartialReduceOnBufferedAggsSize() throws Exception {
+        int expectedNumResults = randomIntBetween(3, 100);
+        SearchRequest request = randomSearchRequest();
+        request.source(new SearchSourceBuilder().aggregation(new MaxAggregationBuilder("test")).size(0));
+        // never fills up the buffer so only the size of the buffered aggs triggers partial reduces
+        request.setBatchedReduceSize(expectedNumResults);
+        CircuitBreaker tinyBreaker = new NoopCircuitBreaker(CircuitBreaker.REQUEST) {
+            @Override
+            public long getLimit() {
+                return 100;
+            }
+        };
+        try (
+            SearchPhaseResults<SearchPhaseResult> consumer = searchPhaseController.newSearchPhaseResults(
+                fixedExecutor,
+                tinyBreaker,
+                () -> false,
+                SearchProgressListener.NOOP,
+                request,
+                expectedNumResults,
+                exc -> {}
+            )
+        ) {
+            AtomicInteger max = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(expectedNumResults);
+            for (int i = 0; i < expectedNumResults; i++) {
+                int number = randomIntBetween(1, 1000);
+                max.updateAndGet(prev -> Math.max(prev, number));
+                QuerySearchResult result = new QuerySearchResult(
+                    new ShardSearchContextId("", i),
+                    new SearchShardTarget("node", new ShardId("a", "b", i), null),
+                    null
+                );
+                try {
+                    result.topDocs(
+                        new TopDocsAndMaxScore(new TopDocs(new TotalHits(1, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]), number),
+                        new DocValueFormat[0]
+                    );
+                    InternalAggregations aggs = InternalAggregations.from(
+                        Collections.singletonList(new Max("test", (double) number, DocValueFormat.RAW, Collections.emptyMap()))
+                    );
+                    result.aggregations(aggs);
+                    result.setShardIndex(i);
+                    result.size(1);
+                    consumer.consumeResult(result, latch::countDown);
+                } finally {
+                    result.decRef();
+                }
+            }
+            latch.await();
+
+            SearchPhaseController.ReducedQueryPhase reduce = consumer.reduce();
+            assertThat(reduce.numReducePhases(), greaterThan(1));
+            Max internalMax = (Max) reduce.aggregations().asList().get(0);
+            assertEquals(max.get(), internalMax.value(), 0.0D);
+            assertEquals(expectedNumResults, reduce.totalHits().value());
+        }
+    }
+
     public void testConsumerOnlyHits() throws Exception {
         int expectedNumResults = randomIntBetween(1, 100);
         int bufferSize = randomIntBetween(2, 200);
@@ -10,7 +10,9 @@
 package org.elasticsearch.action.search;
 
 import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopFieldDocs;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.action.ActionListener;
@@ -30,6 +32,9 @@ import org.elasticsearch.lucene.grouping.TopFieldGroups;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.SearchPhaseResult;
 import org.elasticsearch.search.SearchShardTarget;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.internal.AliasFilter;
@@ -42,6 +47,7 @@ import org.elasticsearch.test.InternalAggregationTestCase;
 import org.elasticsearch.transport.Transport;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -201,7 +207,8 @@ public class SearchQueryThenFetchAsyncActionTests extends ESTestCase {
                 new ClusterState.Builder(new ClusterName("test")).build(),
                 task,
                 SearchResponse.Clusters.EMPTY,
-                null
+                null,
+                false
             ) {
                 @Override
                 protected SearchPhase getNextPhase() {
@@ -242,4 +249,136 @@ public class SearchQueryThenFetchAsyncActionTests extends ESTestCase {
             assertThat(((FieldDoc) phase.sortedTopDocs().scoreDocs()[0]).fields[0], equalTo(0));
         }
     }
+    public void testQueryPhasePerNode() throws Exception {
+        final TransportSearchAction.SearchTimeProvider timeProvider = new TransportSearchAction.SearchTimeProvider(
+            0,
+            System.nanoTime(),
+            System::nanoTime
+        );
+
+        Map<String, Transport.Connection> lookup = new ConcurrentHashMap<>();
+        DiscoveryNode node = DiscoveryNodeUtils.create("node1");
+        lookup.put("node1", new SearchAsyncActionTests.MockConnection(node));
+
+        int numShards = randomIntBetween(2, 20);
+        int failingShard = randomIntBetween(0, numShards - 1);
+        AtomicInteger numNodeRequests = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        SearchTransportService searchTransportService = new SearchTransportService(null, null, null) {
+            @Override
+            public void sendExecuteQuery(
+                Transport.Connection connection,
+                ShardSearchRequest request,
+                SearchTask task,
+                ActionListener<SearchPhaseResult> listener
+            ) {
+                throw new AssertionError("all shards should be queried with a single request");
+            }
+
+            @Override
+            public void sendExecuteQuery(
+                Transport.Connection connection,
+                NodeQueryRequest request,
+                SearchTask task,
+                List<? extends ActionListener<SearchPhaseResult>> shardListeners
+            ) {
+                numNodeRequests.incrementAndGet();
+                List<ShardSearchRequest> shards = request.getShardLevelRequests();
+                assertThat(shards.size(), equalTo(numShards));
+                assertThat(shardListeners.size(), equalTo(numShards));
+                for (int i = 0; i < shards.size(); i++) {
+                    int shardId = shards.get(i).shardId().id();
+                    if (shardId == failingShard) {
+                        shardListeners.get(i).onFailure(new IllegalStateException("boom"));
+                        continue;
+                    }
+                    int value = randomIntBetween(1, 1000);
+                    max.accumulateAndGet(value, Math::max);
+                    QuerySearchResult queryResult = new QuerySearchResult(
+                        new ShardSearchContextId("N/A", 123),
+                        new SearchShardTarget("node1", new ShardId("idx", "na", shardId), null),
+                        null
+                    );
+                    try {
+                        queryResult.topDocs(
+                            new TopDocsAndMaxScore(new TopDocs(new TotalHits(1, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]), Float.NaN),
+                            new DocValueFormat[0]
+                        );
+                        queryResult.aggregations(
+                            InternalAggregations.from(List.of(new Max("test", value, DocValueFormat.RAW, Collections.emptyMap())))
+                        );
+                        queryResult.from(0);
+                        queryResult.size(0);
+                        shardListeners.get(i).onResponse(queryResult);
+                    } finally {
+                        queryResult.decRef();
+                    }
+                }
+            }
+        };
+        CountDownLatch latch = new CountDownLatch(1);
+        GroupShardsIterator<SearchShardIterator> shardsIter = SearchAsyncActionTests.getShardsIter(
+            "idx",
+            new OriginalIndices(new String[] { "idx" }, SearchRequest.DEFAULT_INDICES_OPTIONS),
+            numShards,
+            false,
+            node,
+            null
+        );
+        final SearchRequest searchRequest = new SearchRequest();
+        // fewer concurrent requests than shards, so the node request has to take a throttling permit
+        searchRequest.setMaxConcurrentShardRequests(randomIntBetween(1, numShards - 1));
+        searchRequest.source(new SearchSourceBuilder().size(0).aggregation(new MaxAggregationBuilder("test")));
+        searchRequest.allowPartialSearchResults(true);
+        SearchPhaseController controller = new SearchPhaseController((t, r) -> InternalAggregationTestCase.emptyReduceContextBuilder());
+        SearchTask task = new SearchTask(0, "n/a", "n/a", () -> "test", null, Collections.emptyMap());
+        try (
+            QueryPhaseResultConsumer resultConsumer = new QueryPhaseResultConsumer(
+                searchRequest,
+                EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                new NoopCircuitBreaker(CircuitBreaker.REQUEST),
+                controller,
+                task::isCancelled,
+                task.getProgressListener(),
+                shardsIter.size(),
+                exc -> {}
+            )
+        ) {
+            SearchQueryThenFetchAsyncAction action = new SearchQueryThenFetchAsyncAction(
+                logger,
+                null,
+                searchTransportService,
+                (clusterAlias, nodeId) -> lookup.get(nodeId),
+                Collections.singletonMap("_na_", AliasFilter.EMPTY),
+                Collections.emptyMap(),
+                EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                resultConsumer,
+                searchRequest,
+                null,
+                shardsIter,
+                timeProvider,
+                new ClusterState.Builder(new ClusterName("test")).build(),
+                task,
+                SearchResponse.Clusters.EMPTY,
+                null,
+                true
+            ) {
+                @Override
+                protected SearchPhase getNextPhase() {
+                    return new SearchPhase("test") {
+                        @Override
+                        protected void run() {
+                            latch.countDown();
+                        }
+                    };
+                }
+            };
+            action.start();
+            latch.await();
+            assertThat(numNodeRequests.get(), equalTo(1));
+            assertThat(action.results.getSuccessfulResults().count(), equalTo((long) numShards - 1));
+            SearchPhaseController.ReducedQueryPhase phase = action.results.reduce();
+            assertThat(((Max) phase.aggregations().get("test")).value(), equalTo((double) max.get()));
+        }
+    }
 }
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +115,44 @@ public class ClusterChangedEventTests extends ESTestCase {
         }
     }
 
+    /**
+     * Test that the index metadata changes of an event contain exactly the changed, created and deleted indices.
+     */
+    public void testIndicesMetadataChangeSet() {
+        final ClusterState state = createState(3, randomBoolean(), initialIndices);
+        final Map<String, IndexMetadata> previous = state.metadata().indices();
+        assertTrue(new ClusterChangedEvent("_na_", state, state).indicesMetadataChanges().isEmpty());
+
+        final Map<String, IndexMetadata> current = new HashMap<>(previous);
+        assertTrue(ClusterChangedEvent.computeIndicesMetadataChanges(previous, current).isEmpty());
+
+        final Index updated = initialIndices.get(0);
+        final IndexMetadata updatedMetadata = createIndexMetadata(updated, previous.get(updated.getName()).getVersion() + 1);
+        current.put(updated.getName(), updatedMetadata);
+        final Index deleted = initialIndices.get(1);
+        current.remove(deleted.getName());
+        final Index recreated = initialIndices.get(2);
+        final IndexMetadata recreatedMetadata = createIndexMetadata(new Index(recreated.getName(), UUIDs.randomBase64UUID()));
+        current.put(recreated.getName(), recreatedMetadata);
+        final IndexMetadata createdMetadata = createIndexMetadata(new Index("created", UUIDs.randomBase64UUID()));
+        current.put(createdMetadata.getIndex().getName(), createdMetadata);
+
+        final ClusterChangedEvent.IndicesMetadataChanges changes = ClusterChangedEvent.computeIndicesMetadataChanges(previous, current);
+        assertFalse(changes.isEmpty());
+        assertThat(new HashSet<>(changes.upserted()), equalTo(Set.of(updatedMetadata, recreatedMetadata, createdMetadata)));
+        assertThat(new HashSet<>(changes.removed()), equalTo(Set.of(deleted, recreated)));
+
+        // only the deleted index
+        final Map<String, IndexMetadata> withoutDeleted = new HashMap<>(previous);
+        withoutDeleted.remove(deleted.getName());
+        final ClusterChangedEvent.IndicesMetadataChanges deletions = ClusterChangedEvent.computeIndicesMetadataChanges(
+            previous,
+            withoutDeleted
+        );
+        assertThat(deletions.upserted(), equalTo(List.of()));
+        assertThat(deletions.removed(), equalTo(List.of(deleted)));
+    }
+
     /**
      * Test that the indices deleted list is correct when the previous cluster state is
      * not initialized/recovered.  This should trigger the use of the index tombstones to
@@ -8,6 +8,7 @@
  */
 package org.elasticsearch.cluster.coordination;
 
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.TransportVersion;
@@ -31,6 +32,7 @@ import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
@@ -67,12 +69,14 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptyMap;
 import static org.elasticsearch.cluster.service.MasterService.STATE_UPDATE_ACTION_NAME;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -520,4 +524,115 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         assertFalse(deterministicTaskQueue.hasRunnableTasks());
         assertFalse(deterministicTaskQueue.hasDeferredTasks());
     }
+
+    public void testReleasesSerializedStatesOnceSentToEveryNode() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var threadPool = deterministicTaskQueue.getThreadPool();
+        threadPool.getThreadContext().markAsSystemContext();
+
+        final var localNode = DiscoveryNodeUtils.create("localNode");
+        final var existingNode = DiscoveryNodeUtils.create("existingNode");
+        final var newNode = DiscoveryNodeUtils.create("newNode");
+
+        final var pageRecycler = new BytesRefRecycler(new MockPageCacheRecycler(Settings.EMPTY));
+        final var outstandingPages = new AtomicInteger();
+        final var recycler = new Recycler<BytesRef>() {
+            @Override
+            public V<BytesRef> obtain() {
+                final V<BytesRef> page = pageRecycler.obtain();
+                outstandingPages.incrementAndGet();
+                return new V<>() {
+                    @Override
+                    public BytesRef v() {
+                        return page.v();
+                    }
+
+                    @Override
+                    public boolean isRecycled() {
+                        return page.isRecycled();
+                    }
+
+                    @Override
+                    public void close() {
+                        outstandingPages.decrementAndGet();
+                        page.close();
+                    }
+                };
+            }
+
+            @Override
+            public int pageSize() {
+                return pageRecycler.pageSize();
+            }
+        };
+        final var transport = new MockTransport() {
+            @Override
+            protected void onSendRequest(long requestId, String action, TransportRequest request, DiscoveryNode node) {
+                handleResponse(
+                    requestId,
+                    new PublishWithJoinResponse(new PublishResponse(randomNonNegativeLong(), randomNonNegativeLong()), Optional.empty())
+                );
+            }
+
+            @Override
+            public RecyclerBytesStreamOutput newNetworkBytesStream() {
+                return new RecyclerBytesStreamOutput(recycler);
+            }
+        };
+        final var transportService = transport.createTransportService(
+            Settings.EMPTY,
+            threadPool,
+            TransportService.NOOP_TRANSPORT_INTERCEPTOR,
+            ignored -> localNode,
+            null,
+            Set.of()
+        );
+        final var handler = new PublicationTransportHandler(transportService, writableRegistry(), pu -> null);
+        transportService.start();
+        transportService.acceptIncomingRequests();
+
+        final ClusterState previousState = CoordinationStateTests.clusterState(
+            1L,
+            1L,
+            DiscoveryNodes.builder().add(localNode).add(existingNode).localNodeId(localNode.getId()).build(),
+            VotingConfiguration.EMPTY_CONFIG,
+            VotingConfiguration.EMPTY_CONFIG,
+            0L
+        );
+        final ClusterState newState = CoordinationStateTests.clusterState(
+            1L,
+            2L,
+            DiscoveryNodes.builder(previousState.nodes()).add(newNode).build(),
+            VotingConfiguration.EMPTY_CONFIG,
+            VotingConfiguration.EMPTY_CONFIG,
+            0L
+        );
+
+        final var context = handler.newPublicationContext(
+            new ClusterStatePublicationEvent(
+                new BatchSummary(() -> "test"),
+                previousState,
+                newState,
+                new Task(randomNonNegativeLong(), "test", STATE_UPDATE_ACTION_NAME, "", TaskId.EMPTY_TASK_ID, emptyMap()),
+                0L,
+                0L
+            )
+        );
+        try {
+            // a full state for the new node and a diff for the existing one
+            assertThat(outstandingPages.get(), greaterThan(0));
+            final var responses = new AtomicInteger();
+            for (DiscoveryNode node : List.of(existingNode, newNode)) {
+                context.sendPublishRequest(node, new PublishRequest(newState), ActionListener.running(responses::incrementAndGet));
+            }
+            deterministicTaskQueue.runAllRunnableTasks();
+            assertThat(responses.get(), equalTo(2));
+            // every node received what we serialized for it, so we don't wait for the publication to complete to release it
+            assertTrue(context.hasReferences());
+            assertThat(outstandingPages.get(), equalTo(0));
+        } finally {
+            context.decRef();
+        }
+        assertThat(outstandingPages.get(), equalTo(0));
+    }
 }
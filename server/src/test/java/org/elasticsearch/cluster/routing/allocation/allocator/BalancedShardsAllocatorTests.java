@@ -30,7 +30,9 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.allocation.AllocateUnassignedDecision;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider;
 import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.cluster.routing.allocation.decider.ThrottlingAllocationDecider;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.settings.ClusterSettings;
@@ -46,6 +48,7 @@ import org.elasticsearch.test.gateway.TestGatewayAllocator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -497,6 +500,55 @@ public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
         assertSame(clusterState, reroute(allocationService, clusterState));
     }
 
+    public void testBalanceSkipsDecidersForBalancedIndices() {
+        var discoveryNodesBuilder = DiscoveryNodes.builder();
+        for (int node = 0; node < 3; node++) {
+            discoveryNodesBuilder.add(newNode("node-" + node));
+        }
+
+        var metadataBuilder = Metadata.builder();
+        var routingTableBuilder = RoutingTable.builder();
+        var balancedIndices = new HashSet<String>();
+        int numBalancedIndices = randomIntBetween(1, 10);
+        for (int i = 0; i < numBalancedIndices; i++) {
+            var name = "balanced-" + i;
+            addIndex(metadataBuilder, routingTableBuilder, name, Map.of("node-0", 1, "node-1", 1, "node-2", 1));
+            balancedIndices.add(name);
+        }
+        // moving a shard of this index from node-0 to node-1 also balances the total number of shards per node
+        addIndex(metadataBuilder, routingTableBuilder, "unbalanced", Map.of("node-0", 2, "node-2", 1));
+
+        var clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(discoveryNodesBuilder)
+            .metadata(metadataBuilder)
+            .routingTable(routingTableBuilder)
+            .build();
+
+        var queriedIndices = new HashSet<String>();
+        var decider = new AllocationDecider() {
+            @Override
+            public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                queriedIndices.add(indexMetadata.getIndex().getName());
+                return Decision.YES;
+            }
+        };
+        var allocation = new RoutingAllocation(
+            new AllocationDeciders(List.of(decider)),
+            RoutingNodes.mutable(clusterState.routingTable(), clusterState.nodes()),
+            clusterState,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            System.nanoTime()
+        );
+        new BalancedShardsAllocator(Settings.EMPTY).allocate(allocation);
+
+        assertThat(queriedIndices, equalTo(Set.of("unbalanced")));
+        var relocating = RoutingNodesHelper.shardsWithState(allocation.routingNodes(), RELOCATING);
+        assertThat(relocating, hasSize(1));
+        assertThat(relocating.get(0).getIndexName(), equalTo("unbalanced"));
+        assertThat(relocating.get(0).relocatingNodeId(), equalTo("node-1"));
+    }
+
     private Map<String, Integer> getTargetShardPerNodeCount(IndexRoutingTable indexRoutingTable) {
         var counts = new HashMap<String, Integer>();
         for (int shardId = 0; shardId < indexRoutingTable.size(); shardId++) {
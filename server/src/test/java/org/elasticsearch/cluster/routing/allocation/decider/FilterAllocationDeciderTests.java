@@ -19,6 +19,7 @@ import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.cluster.routing.RecoverySource;
+import org.elasticsearch.cluster.routing.RoutingNodesHelper;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.UnassignedInfo;
@@ -38,6 +39,7 @@ import org.elasticsearch.test.gateway.TestGatewayAllocator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -327,4 +329,56 @@ public class FilterAllocationDeciderTests extends ESAllocationTestCase {
         );
         assertThat(decider.getForcedInitialShardAllocationToNodes(newShard, allocation), equalTo(Optional.empty()));
     }
+
+    public void testCachedDecisionsFollowFilterAndNodeChanges() {
+        var clusterSettings = new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        var decider = new FilterAllocationDecider(Settings.EMPTY, clusterSettings);
+        var allocation = new RoutingAllocation(
+            new AllocationDeciders(List.of(decider)),
+            ClusterState.builder(new ClusterName("test-cluster")).build(),
+            null,
+            null,
+            0
+        );
+        var nodeA = RoutingNodesHelper.routingNode("node-a", newNode("node-a", Map.of("zone", "a")));
+        var nodeB = RoutingNodesHelper.routingNode("node-b", newNode("node-b", Map.of("zone", "b")));
+        var requireA = indexRequiringZone("a");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Type.YES, decider.canAllocate(requireA, nodeA, allocation).type());
+            assertEquals(Type.NO, decider.canAllocate(requireA, nodeB, allocation).type());
+        }
+
+        // new index settings, even with the same settings version
+        var requireB = indexRequiringZone("b");
+        assertEquals(Type.NO, decider.canAllocate(requireB, nodeA, allocation).type());
+        assertEquals(Type.YES, decider.canAllocate(requireB, nodeB, allocation).type());
+
+        // a node that rejoins with other attributes
+        var nodeAInZoneB = RoutingNodesHelper.routingNode("node-a", newNode("node-a", Map.of("zone", "b")));
+        assertEquals(Type.YES, decider.canAllocate(requireB, nodeAInZoneB, allocation).type());
+
+        // new cluster filters
+        clusterSettings.applySettings(Settings.builder().put("cluster.routing.allocation.exclude.zone", "b").build());
+        assertEquals(Type.NO, decider.canAllocate(requireB, nodeB, allocation).type());
+        assertEquals(Type.NO, decider.canAllocate(requireA, nodeB, allocation).type());
+        assertEquals(Type.YES, decider.canAllocate(requireA, nodeA, allocation).type());
+        clusterSettings.applySettings(Settings.EMPTY);
+        assertEquals(Type.YES, decider.canAllocate(requireB, nodeB, allocation).type());
+
+        // explanations aren't cached
+        allocation.debugDecision(true);
+        var decision = (Decision.Single) decider.canAllocate(requireA, nodeB, allocation);
+        assertEquals(Type.NO, decision.type());
+        assertEquals(
+            "node does not match index setting [index.routing.allocation.require] filters [zone:\"a\"]",
+            decision.getExplanation()
+        );
+    }
+
+    private static IndexMetadata indexRequiringZone(String zone) {
+        return IndexMetadata.builder("index")
+            .settings(indexSettings(IndexVersion.current(), 1, 0).put(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + ".zone", zone))
+            .build();
+    }
 }
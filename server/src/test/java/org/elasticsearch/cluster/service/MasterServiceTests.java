@@ -54,6 +54,10 @@ import org.elasticsearch.core.Tuple;
 import org.elasticsearch.node.Node;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskManager;
+import org.elasticsearch.telemetry.InstrumentType;
+import org.elasticsearch.telemetry.Measurement;
+import org.elasticsearch.telemetry.RecordingMeterRegistry;
+import org.elasticsearch.telemetry.metric.MeterRegistry;
 import org.elasticsearch.test.ClusterServiceUtils;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.MockLog;
@@ -147,6 +151,16 @@ public class MasterServiceTests extends ESTestCase {
         TaskManager taskManager,
         ThreadPool threadPool,
         ExecutorService threadPoolExecutor
+    ) {
+        return createMasterService(makeMaster, taskManager, threadPool, threadPoolExecutor, MeterRegistry.NOOP);
+    }
+
+    private MasterService createMasterService(
+        boolean makeMaster,
+        TaskManager taskManager,
+        ThreadPool threadPool,
+        ExecutorService threadPoolExecutor,
+        MeterRegistry meterRegistry
     ) {
         final DiscoveryNode localNode = DiscoveryNodeUtils.builder("node1").roles(emptySet()).build();
         final Settings settings = Settings.builder()
@@ -162,7 +176,8 @@ public class MasterServiceTests extends ESTestCase {
             settings,
             new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
             threadPool,
-            taskManager
+            taskManager,
+            meterRegistry
         ) {
             @Override
             protected ExecutorService createThreadPoolExecutor() {
@@ -2641,6 +2656,71 @@ public class MasterServiceTests extends ESTestCase {
         }
     }
 
+    public void testBatchMetrics() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var threadPool = deterministicTaskQueue.getThreadPool();
+        final var meterRegistry = new RecordingMeterRegistry();
+        try (
+            var masterService = createMasterService(
+                true,
+                null,
+                threadPool,
+                new StoppableExecutorServiceWrapper(threadPool.generic()),
+                meterRegistry
+            )
+        ) {
+            final var queueName = randomIdentifier();
+            final var queue = masterService.createTaskQueue(queueName, Priority.NORMAL, batchExecutionContext -> {
+                for (final var taskContext : batchExecutionContext.taskContexts()) {
+                    taskContext.success(() -> {});
+                }
+                return ClusterState.builder(batchExecutionContext.initialState()).build();
+            });
+
+            final var taskCount = between(1, 10);
+            for (int i = 0; i < taskCount; i++) {
+                queue.submitTask("test", new ExpectSuccessTask(), null);
+            }
+            masterService.submitUnbatchedStateUpdateTask("unbatched", new ClusterStateUpdateTask() {
+                @Override
+                public ClusterState execute(ClusterState currentState) {
+                    return ClusterState.builder(currentState).build();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    fail(e);
+                }
+            });
+
+            threadPool.getThreadContext().markAsSystemContext();
+            deterministicTaskQueue.runAllTasks();
+
+            final var recorder = meterRegistry.getRecorder();
+            final var batchSizes = recorder.getMeasurements(InstrumentType.LONG_HISTOGRAM, MasterServiceMetrics.BATCH_SIZE_METRIC_NAME);
+            assertThat(batchSizes, hasSize(2));
+            assertThat(
+                batchSizes.stream().filter(m -> isQueue(m, queueName)).map(Measurement::getLong).toList(),
+                equalTo(List.of((long) taskCount))
+            );
+            assertThat(batchSizes.stream().filter(m -> isQueue(m, "unbatched")).map(Measurement::getLong).toList(), equalTo(List.of(1L)));
+            for (final var metricName : List.of(
+                MasterServiceMetrics.WAIT_TIME_METRIC_NAME,
+                MasterServiceMetrics.COMPUTE_TIME_METRIC_NAME,
+                MasterServiceMetrics.PUBLISH_TIME_METRIC_NAME
+            )) {
+                final var measurements = recorder.getMeasurements(InstrumentType.LONG_HISTOGRAM, metricName);
+                assertThat(metricName, measurements.stream().filter(m -> isQueue(m, queueName)).toList(), hasSize(1));
+                assertThat(metricName, measurements.stream().filter(m -> isQueue(m, "unbatched")).toList(), hasSize(1));
+                assertTrue(metricName, measurements.stream().allMatch(m -> m.getLong() >= 0L));
+            }
+        }
+    }
+
+    private static boolean isQueue(Measurement measurement, String queueName) {
+        return queueName.equals(measurement.attributes().get(MasterServiceMetrics.QUEUE_ATTRIBUTE_NAME));
+    }
+
     public void testVersionNumberProtection() {
         runVersionNumberProtectionTest(
             currentState -> ClusterState.builder(currentState)
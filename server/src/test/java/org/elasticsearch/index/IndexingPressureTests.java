@@ -79,6 +79,35 @@ public class IndexingPressureTests extends ESTestCase {
         }
     }
 
+    public void testMaxSizeSplits() {
+        IndexingPressure indexingPressure = new IndexingPressure(
+            Settings.builder().put(settings).put(IndexingPressure.SPLIT_BULK_MAX_SIZE.getKey(), "2KB").build()
+        );
+
+        // no memory pressure at all so only the max size splits
+        assertFalse(indexingPressure.shouldSplitBulk(randomIntBetween(1, 2047)));
+        assertEquals(indexingPressure.stats().getMaxSizeSplits(), 0L);
+        assertTrue(indexingPressure.shouldSplitBulk(randomIntBetween(2048, 10000)));
+        assertEquals(indexingPressure.stats().getMaxSizeSplits(), 1L);
+        assertEquals(indexingPressure.stats().getHighWaterMarkSplits(), 0L);
+        assertEquals(indexingPressure.stats().getLowWaterMarkSplits(), 0L);
+
+        // disabled by default
+        IndexingPressure defaultIndexingPressure = new IndexingPressure(settings);
+        assertFalse(defaultIndexingPressure.shouldSplitBulk(randomIntBetween(1, Integer.MAX_VALUE)));
+        assertEquals(defaultIndexingPressure.stats().getMaxSizeSplits(), 0L);
+    }
+
+    public void testMaxSizeSplitsRejectsZero() {
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> IndexingPressure.SPLIT_BULK_MAX_SIZE.get(
+                Settings.builder().put(IndexingPressure.SPLIT_BULK_MAX_SIZE.getKey(), randomFrom("0", "0b", "0kb")).build()
+            )
+        );
+        assertThat(e.getMessage(), Matchers.containsString("must be -1 to disable it or greater than 0"));
+    }
+
     public void testMemoryBytesAndOpsMarkedAndReleased() {
         IndexingPressure indexingPressure = new IndexingPressure(settings);
         try (
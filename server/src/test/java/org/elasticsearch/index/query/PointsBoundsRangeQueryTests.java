@@ -0,0 +1,122 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.LRUQueryCache;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.core.Predicates;
+import org.elasticsearch.index.cache.query.TrivialQueryCachingPolicy;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class PointsBoundsRangeQueryTests extends ESTestCase {
+    private static final long SEGMENT_WIDTH = 1000;
+
+    public void testMatchesSameDocsAsRange() throws IOException {
+        try (Directory dir = newDirectory()) {
+            int segments = indexSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setQueryCache(null);
+                for (int i = 0; i < 100; i++) {
+                    long lower = randomLongBetween(-SEGMENT_WIDTH, segments * SEGMENT_WIDTH);
+                    long upper = randomLongBetween(lower, (segments + 1) * SEGMENT_WIDTH);
+                    Query range = rangeQuery(lower, upper);
+                    Query query = new PointsBoundsRangeQuery("f", lower, upper, range);
+                    assertThat(searcher.count(query), equalTo(searcher.count(range)));
+                }
+            }
+        }
+    }
+
+    public void testInsideSegmentsShareCacheEntries() throws IOException {
+        try (Directory dir = newDirectory()) {
+            int segments = indexSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                LRUQueryCache cache = new LRUQueryCache(1000, Long.MAX_VALUE, Predicates.always(), 10f);
+                searcher.setQueryCache(cache);
+                searcher.setQueryCachingPolicy(TrivialQueryCachingPolicy.ALWAYS);
+                // Two different windows that both contain all of the segments but the last one
+                long upper = segments * SEGMENT_WIDTH - SEGMENT_WIDTH / 2;
+                searcher.search(new ConstantScoreQuery(new PointsBoundsRangeQuery("f", 0, upper, rangeQuery(0, upper))), 10);
+                long hits = cache.getHitCount();
+                searcher.search(new ConstantScoreQuery(new PointsBoundsRangeQuery("f", -1, upper + 1, rangeQuery(-1, upper + 1))), 10);
+                assertThat(cache.getHitCount() - hits, equalTo((long) segments - 1));
+                assertThat(cache.getCacheCount(), greaterThan(0L));
+            }
+        }
+    }
+
+    public void testDateRangeIncludingNowRewrites() throws IOException {
+        Query range = rangeQuery(10, 20);
+        Query rewritten = new DateRangeIncludingNowQuery(range).rewrite(new IndexSearcher(new MultiReader()));
+        assertThat(rewritten, instanceOf(PointsBoundsRangeQuery.class));
+        assertThat(rewritten, equalTo(new PointsBoundsRangeQuery("f", 10, 20, range)));
+
+        Query dvOnly = SortedNumericDocValuesField.newSlowRangeQuery("f", 10, 20);
+        assertThat(new DateRangeIncludingNowQuery(dvOnly).rewrite(new IndexSearcher(new MultiReader())), equalTo(dvOnly));
+    }
+
+    /**
+     * Index segments that each cover their own {@link #SEGMENT_WIDTH} wide window of values.
+     */
+    private static int indexSegments(Directory dir) throws IOException {
+        int segments = randomIntBetween(2, 10);
+        try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            for (int s = 0; s < segments; s++) {
+                int docs = randomIntBetween(1, 100);
+                for (int d = 0; d < docs; d++) {
+                    Document doc = new Document();
+                    if (randomBoolean()) {
+                        long value = s * SEGMENT_WIDTH + randomLongBetween(0, SEGMENT_WIDTH - 1);
+                        doc.add(new LongPoint("f", value));
+                        doc.add(new SortedNumericDocValuesField("f", value));
+                    }
+                    writer.addDocument(doc);
+                }
+                // make sure every segment covers its whole window
+                for (long value : new long[] { s * SEGMENT_WIDTH, s * SEGMENT_WIDTH + SEGMENT_WIDTH - 1 }) {
+                    Document doc = new Document();
+                    doc.add(new LongPoint("f", value));
+                    doc.add(new SortedNumericDocValuesField("f", value));
+                    writer.addDocument(doc);
+                }
+                writer.commit();
+            }
+        }
+        return segments;
+    }
+
+    private static Query rangeQuery(long lower, long upper) {
+        return new IndexOrDocValuesQuery(
+            LongPoint.newRangeQuery("f", lower, upper),
+            SortedNumericDocValuesField.newSlowRangeQuery("f", lower, upper)
+        );
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.indices;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.TaskCancelHelper;
+import org.elasticsearch.tasks.TaskCancelledException;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class ShardRequestCoalescerTests extends ESTestCase {
+
+    public void testIdenticalRequestsShareExecution() throws Exception {
+        ShardRequestCoalescer coalescer = new ShardRequestCoalescer();
+        ShardRequestCoalescer.Key key = key(new Object());
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        BytesReference expected = new BytesArray(randomAlphaOfLength(10));
+
+        Request leader = new Request(coalescer, key, null, () -> {
+            executions.incrementAndGet();
+            executing.countDown();
+            release.await();
+            return expected;
+        });
+        leader.start();
+        executing.await();
+        List<Request> followers = new ArrayList<>();
+        int numFollowers = randomIntBetween(1, 10);
+        for (int i = 0; i < numFollowers; i++) {
+            Request follower = new Request(coalescer, key, newTask(), () -> {
+                executions.incrementAndGet();
+                return new BytesArray("unexpected");
+            });
+            follower.start();
+            followers.add(follower);
+        }
+        assertBusy(() -> assertThat(coalescer.coalesced(), equalTo((long) numFollowers)));
+        release.countDown();
+
+        assertThat(leader.get(), equalTo(expected));
+        for (Request follower : followers) {
+            assertThat(follower.get(), equalTo(expected));
+        }
+        assertThat(executions.get(), equalTo(1));
+        assertThat(coalescer.inFlight(), equalTo(0));
+    }
+
+    public void testDifferentRequestsDontShare() throws Exception {
+        ShardRequestCoalescer coalescer = new ShardRequestCoalescer();
+        CountDownLatch release = new CountDownLatch(1);
+        Request first = new Request(coalescer, key(new Object()), null, () -> {
+            release.await();
+            return new BytesArray("first");
+        });
+        first.start();
+        assertBusy(() -> assertThat(coalescer.inFlight(), equalTo(1)));
+        // a different reader
+        assertThat(coalescer.execute(key(new Object()), null, () -> new BytesArray("second")), equalTo(new BytesArray("second")));
+        release.countDown();
+        assertThat(first.get(), equalTo(new BytesArray("first")));
+        assertThat(coalescer.coalesced(), equalTo(0L));
+    }
+
+    public void testCancelledWhileWaiting() throws Exception {
+        ShardRequestCoalescer coalescer = new ShardRequestCoalescer();
+        ShardRequestCoalescer.Key key = key(new Object());
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Request leader = new Request(coalescer, key, newTask(), () -> {
+            executing.countDown();
+            release.await();
+            return new BytesArray("result");
+        });
+        leader.start();
+        executing.await();
+
+        CancellableTask task = newTask();
+        Request follower = new Request(coalescer, key, task, () -> { throw new AssertionError("shouldn't execute"); });
+        follower.start();
+        assertBusy(() -> assertThat(coalescer.coalesced(), equalTo(1L)));
+        TaskCancelHelper.cancel(task, "test");
+        follower.join();
+        assertThat(follower.failure.get(), instanceOf(TaskCancelledException.class));
+
+        // the cancelled request doesn't cancel the one it was waiting for
+        release.countDown();
+        assertThat(leader.get(), equalTo(new BytesArray("result")));
+    }
+
+    public void testRetryWhenExecutingRequestIsCancelled() throws Exception {
+        ShardRequestCoalescer coalescer = new ShardRequestCoalescer();
+        ShardRequestCoalescer.Key key = key(new Object());
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Request leader = new Request(coalescer, key, newTask(), () -> {
+            executing.countDown();
+            release.await();
+            throw new TaskCancelledException("task cancelled [test]");
+        });
+        leader.start();
+        executing.await();
+
+        Request follower = new Request(coalescer, key, newTask(), () -> new BytesArray("retried"));
+        follower.start();
+        assertBusy(() -> assertThat(coalescer.coalesced(), equalTo(1L)));
+        release.countDown();
+
+        leader.join();
+        assertThat(leader.failure.get(), instanceOf(TaskCancelledException.class));
+        assertThat(follower.get(), equalTo(new BytesArray("retried")));
+    }
+
+    public void testFailuresAreShared() throws Exception {
+        ShardRequestCoalescer coalescer = new ShardRequestCoalescer();
+        ShardRequestCoalescer.Key key = key(new Object());
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Request leader = new Request(coalescer, key, null, () -> {
+            executing.countDown();
+            release.await();
+            throw new IllegalArgumentException("bad request");
+        });
+        leader.start();
+        executing.await();
+
+        Request follower = new Request(coalescer, key, newTask(), () -> { throw new AssertionError("shouldn't execute"); });
+        follower.start();
+        assertBusy(() -> assertThat(coalescer.coalesced(), equalTo(1L)));
+        release.countDown();
+
+        leader.join();
+        follower.join();
+        assertThat(leader.failure.get(), instanceOf(IllegalArgumentException.class));
+        assertThat(follower.failure.get(), instanceOf(IllegalArgumentException.class));
+        assertThat(coalescer.inFlight(), equalTo(0));
+    }
+
+    private static ShardRequestCoalescer.Key key(Object readerCacheKey) {
+        return new ShardRequestCoalescer.Key(new ShardId("test", "_na_", 0), null, readerCacheKey, new BytesArray("request"));
+    }
+
+    private static CancellableTask newTask() {
+        return new CancellableTask(randomNonNegativeLong(), "transport", "action", "", TaskId.EMPTY_TASK_ID, Map.of());
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        BytesReference load() throws Exception;
+    }
+
+    private static class Request extends Thread {
+        private final ShardRequestCoalescer coalescer;
+        private final ShardRequestCoalescer.Key key;
+        private final CancellableTask task;
+        private final Loader loader;
+        private final AtomicReference<BytesReference> result = new AtomicReference<>();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        Request(ShardRequestCoalescer coalescer, ShardRequestCoalescer.Key key, CancellableTask task, Loader loader) {
+            this.coalescer = coalescer;
+            this.key = key;
+            this.task = task;
+            this.loader = loader;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.set(coalescer.execute(key, task, loader::load));
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        }
+
+        BytesReference get() throws Exception {
+            join();
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return result.get();
+        }
+    }
+}
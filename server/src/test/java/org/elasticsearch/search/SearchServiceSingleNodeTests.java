@@ -28,6 +28,8 @@ import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsResponse;
 import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.ClosePointInTimeRequest;
+import org.elasticsearch.action.search.NodeQueryRequest;
+import org.elasticsearch.action.search.NodeQueryResponse;
 import org.elasticsearch.action.search.OpenPointInTimeRequest;
 import org.elasticsearch.action.search.SearchPhaseController;
 import org.elasticsearch.action.search.SearchPhaseExecutionException;
@@ -49,6 +51,7 @@ import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.bytes.BytesArray;
@@ -76,6 +79,7 @@ import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.SearchOperationListener;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.settings.InternalOrPrivateSettingsPlugin;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.plugins.SearchPlugin;
@@ -87,10 +91,12 @@ import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.SearchService.ResultsType;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.AggregationReduceContext;
+import org.elasticsearch.search.aggregations.InternalAggregations;
 import org.elasticsearch.search.aggregations.MultiBucketConsumerService;
 import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregationBuilder;
 import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregationBuilder;
 import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Max;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValueType;
 import org.elasticsearch.search.builder.PointInTimeBuilder;
@@ -175,6 +181,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.mock;
 
@@ -2201,6 +2208,61 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
         }
     }
 
+    public void testExecuteQueryPhaseOnNode() throws Exception {
+        int numShards = randomIntBetween(2, 5);
+        IndexService indexService = createIndex("index", Settings.builder().put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, numShards).build());
+        int numDocs = randomIntBetween(numShards, 50);
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < numDocs; i++) {
+            long value = randomLongBetween(-1000, 1000);
+            max = Math.max(max, value);
+            prepareIndex("index").setSource("value", value).get();
+        }
+        indicesAdmin().prepareRefresh("index").get();
+
+        SearchService service = getInstanceFromNode(SearchService.class);
+        SearchRequest searchRequest = new SearchRequest().allowPartialSearchResults(true)
+            .source(new SearchSourceBuilder().size(0).aggregation(AggregationBuilders.max("max").field("value")));
+        List<ShardSearchRequest> shardRequests = new ArrayList<>();
+        for (int s = 0; s < numShards; s++) {
+            shardRequests.add(
+                new ShardSearchRequest(
+                    OriginalIndices.NONE,
+                    searchRequest,
+                    indexService.getShard(s).shardId(),
+                    s,
+                    numShards,
+                    AliasFilter.EMPTY,
+                    1.0f,
+                    0,
+                    null
+                )
+            );
+        }
+        SearchShardTask task = new SearchShardTask(123L, "", "", "", null, emptyMap());
+        PlainActionFuture<NodeQueryResponse> future = new PlainActionFuture<>();
+        service.executeQueryPhase(new NodeQueryRequest(shardRequests, randomIntBetween(1, numShards)), task, future);
+        NodeQueryResponse response = future.get();
+        try {
+            assertThat(response.getResults(), hasSize(numShards));
+            int withAggs = 0;
+            for (NodeQueryResponse.ResultOrFailure result : response.getResults()) {
+                assertNull(result.getException());
+                InternalAggregations aggs = result.getResult().aggregations().expand();
+                if (aggs.asList().isEmpty() == false) {
+                    withAggs++;
+                    assertThat(((Max) aggs.get("max")).value(), equalTo((double) max));
+                }
+            }
+            assertThat(withAggs, equalTo(1));
+        } finally {
+            response.decRef();
+        }
+        // the partial reduce releases what it accounted in the request breaker
+        CircuitBreaker breaker = getInstanceFromNode(CircuitBreakerService.class).getBreaker(CircuitBreaker.REQUEST);
+        assertBusy(() -> assertThat(breaker.getUsed(), equalTo(0L)));
+    }
+
     public void testDeleteIndexWhileSearch() throws Exception {
         createIndex("test");
         int numDocs = randomIntBetween(1, 20);
@@ -15,11 +15,16 @@ import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.MatchNoDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.elasticsearch.common.time.DateFormatter;
@@ -41,6 +46,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
 import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator.PipelineTree;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.test.InternalAggregationTestCase;
 import org.hamcrest.Matcher;
 
@@ -48,8 +54,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
@@ -60,6 +69,7 @@ import static org.elasticsearch.test.MapMatcher.matchesMap;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
@@ -855,6 +865,106 @@ public class DateHistogramAggregatorTests extends DateHistogramAggregatorTestCas
         );
     }
 
+    public void testCountFromIndexSort() throws IOException {
+        AggregationBuilder builder = new DateHistogramAggregationBuilder("d").field("f").fixedInterval(DateHistogramInterval.HOUR);
+        long start = DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.parseMillis("2020-01-01T00:00:00");
+        long hour = TimeUnit.HOURS.toMillis(1);
+        Query query;
+        long lower;
+        long upper;
+        if (randomBoolean()) {
+            query = new MatchAllDocsQuery();
+            lower = Long.MIN_VALUE;
+            upper = Long.MAX_VALUE;
+        } else {
+            lower = start + randomLongBetween(0, 12 * hour);
+            upper = lower + randomLongBetween(0, 12 * hour);
+            query = LongPoint.newRangeQuery("f", lower, upper);
+        }
+        Map<String, Long> expected = new TreeMap<>();
+        Sort sort = new Sort(new SortedNumericSortField("f", SortField.Type.LONG, randomBoolean()));
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig().setIndexSort(sort))) {
+                // keep segments large enough for counting to be cheaper than collecting
+                int docsPerSegment = randomIntBetween(2000, 5000);
+                int numDocs = docsPerSegment * randomIntBetween(1, 3);
+                for (int i = 0; i < numDocs; i++) {
+                    long date = start + randomLongBetween(0, 24 * hour - 1);
+                    iw.addDocument(List.of(new LongPoint("f", date), new NumericDocValuesField("f", date)));
+                    if (date >= lower && date <= upper) {
+                        String key = DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.formatMillis(date - Math.floorMod(date, hour));
+                        expected.merge(key, 1L, Long::sum);
+                    }
+                    if ((i + 1) % docsPerSegment == 0) {
+                        iw.commit();
+                    }
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                debugTestCase(
+                    builder,
+                    query,
+                    reader,
+                    (InternalDateHistogram result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                        Map<String, Long> actual = new TreeMap<>();
+                        for (Histogram.Bucket bucket : result.getBuckets()) {
+                            actual.put(bucket.getKeyAsString(), bucket.getDocCount());
+                        }
+                        assertThat(actual, equalTo(expected));
+                        assertThat(impl, equalTo(DateHistogramAggregator.class));
+                        assertMap(
+                            debug,
+                            matchesMap().entry(
+                                "d",
+                                matchesMap().entry("total_buckets", (long) expected.size())
+                                    .entry("segments_counted_from_index_sort", reader.leaves().size())
+                                    .entry("segments_collected", 0)
+                            )
+                        );
+                    },
+                    null,
+                    new DateFieldMapper.DateFieldType("f")
+                );
+            }
+        }
+    }
+
+    public void testCountFromIndexSortSkippedWithTerminateAfter() throws IOException {
+        AggregationBuilder builder = new DateHistogramAggregationBuilder("d").field("f").fixedInterval(DateHistogramInterval.HOUR);
+        DateFieldMapper.DateFieldType ft = new DateFieldMapper.DateFieldType("f");
+        long start = DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.parseMillis("2020-01-01T00:00:00");
+        Sort sort = new Sort(new SortedNumericSortField("f", SortField.Type.LONG, randomBoolean()));
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig().setIndexSort(sort))) {
+                int numDocs = randomIntBetween(1, 100);
+                for (int i = 0; i < numDocs; i++) {
+                    long date = start + randomLongBetween(0, TimeUnit.DAYS.toMillis(1) - 1);
+                    iw.addDocument(List.of(new LongPoint("f", date), new NumericDocValuesField("f", date)));
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                Map<String, Object> debug = indexSortDebug(builder, reader, SearchContext.DEFAULT_TERMINATE_AFTER, ft);
+                assertThat(debug, hasKey("segments_counted_from_index_sort"));
+                // the search stops collecting after terminate_after documents so counting every document of the buckets is wrong
+                assertThat(indexSortDebug(builder, reader, between(1, 100), ft), not(hasKey("segments_counted_from_index_sort")));
+            }
+        }
+    }
+
+    private Map<String, Object> indexSortDebug(
+        AggregationBuilder builder,
+        IndexReader reader,
+        int terminateAfter,
+        DateFieldMapper.DateFieldType ft
+    ) throws IOException {
+        try (AggregationContext context = createAggregationContext(reader, new MatchAllDocsQuery(), terminateAfter, null, ft)) {
+            Aggregator aggregator = createAggregator(builder, context);
+            Map<String, Object> debug = new HashMap<>();
+            aggregator.collectDebugInfo(debug::put);
+            return debug;
+        }
+    }
+
     public void testOneBucketOptimized() throws IOException {
         AggregationBuilder builder = new DateHistogramAggregationBuilder("d").field("f").calendarInterval(DateHistogramInterval.DAY);
         CheckedConsumer<RandomIndexWriter, IOException> buildIndex = iw -> {
@@ -0,0 +1,96 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class HeavyHittersTests extends ESTestCase {
+
+    private static BigArrays bigArrays() {
+        return new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+    }
+
+    public void testExactWhenNothingForgotten() {
+        int capacity = randomIntBetween(10, 100);
+        Map<BytesRef, Long> expected = new HashMap<>();
+        try (HeavyHitters heavyHitters = new HeavyHitters(capacity, bigArrays())) {
+            int numKeys = randomIntBetween(1, 2 * capacity - 1);
+            for (int i = 0; i < 10 * numKeys; i++) {
+                BytesRef key = new BytesRef(Integer.toString(randomIntBetween(0, numKeys - 1)));
+                long count = randomLongBetween(1, 5);
+                heavyHitters.add(key, count);
+                expected.merge(key, count, Long::sum);
+            }
+            assertThat(heavyHitters.forgottenKeys(), equalTo(0L));
+            assertThat(heavyHitters.maxForgottenCount(), equalTo(0L));
+            assertThat(heavyHitters.size(), equalTo((long) expected.size()));
+            for (long id = 0; id < heavyHitters.size(); id++) {
+                BytesRef key = heavyHitters.key(id, new BytesRef());
+                assertThat(heavyHitters.count(id), equalTo(expected.get(key)));
+                assertThat(heavyHitters.error(id), equalTo(0L));
+            }
+        }
+    }
+
+    public void testBounds() {
+        int capacity = randomIntBetween(10, 100);
+        int numHeavyKeys = randomIntBetween(1, capacity / 2);
+        Map<BytesRef, Long> expected = new HashMap<>();
+        long total = 0;
+        try (HeavyHitters heavyHitters = new HeavyHitters(capacity, bigArrays())) {
+            int numAdds = randomIntBetween(100 * capacity, 200 * capacity);
+            for (int i = 0; i < numAdds; i++) {
+                // half of the values come from a few heavy keys, the other half are mostly unique
+                String key = randomBoolean() ? "heavy" + randomIntBetween(0, numHeavyKeys - 1) : "light" + randomInt(numAdds);
+                BytesRef bytes = new BytesRef(key);
+                heavyHitters.add(bytes, 1);
+                expected.merge(bytes, 1L, Long::sum);
+                total++;
+            }
+            assertThat(heavyHitters.forgottenKeys(), greaterThan(0L));
+            assertThat(heavyHitters.size(), lessThan(2L * capacity));
+
+            Set<BytesRef> tracked = new HashSet<>();
+            for (long id = 0; id < heavyHitters.size(); id++) {
+                BytesRef key = BytesRef.deepCopyOf(heavyHitters.key(id, new BytesRef()));
+                tracked.add(key);
+                long actual = expected.get(key);
+                assertThat(heavyHitters.count(id), lessThanOrEqualTo(actual));
+                assertThat(heavyHitters.count(id) + heavyHitters.error(id), greaterThanOrEqualTo(actual));
+            }
+            for (Map.Entry<BytesRef, Long> e : expected.entrySet()) {
+                if (tracked.contains(e.getKey()) == false) {
+                    assertThat(e.getValue(), lessThanOrEqualTo(heavyHitters.maxForgottenCount()));
+                }
+                if (e.getValue() > total / capacity) {
+                    // keys that are more frequent than what we can forget are always tracked
+                    assertTrue(e.getKey().utf8ToString() + " should be tracked", tracked.contains(e.getKey()));
+                }
+            }
+        }
+    }
+}
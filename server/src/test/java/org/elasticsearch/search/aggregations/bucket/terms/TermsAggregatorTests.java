@@ -149,6 +149,7 @@ import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class TermsAggregatorTests extends AggregatorTestCase {
 
@@ -305,6 +306,107 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         }, fieldType);
     }
 
+    public void testHeavyHitters() throws IOException {
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
+        TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint("heavy_hitters")
+            .field("string")
+            .size(3)
+            .showTermDocCountError(true);
+        int[] heavyCounts = new int[] { 500, 400, 300, 200, 100 };
+        // more unique terms than HeavyHitters tracks so it has to forget some of them
+        int lightTerms = 3 * HeavyHittersStringTermsAggregator.MIN_CAPACITY;
+        CheckedConsumer<RandomIndexWriter, IOException> createIndex = iw -> {
+            List<List<IndexableField>> docs = new ArrayList<>();
+            for (int t = 0; t < heavyCounts.length; t++) {
+                for (int i = 0; i < heavyCounts[t]; i++) {
+                    docs.add(doc(fieldType, "heavy" + t));
+                }
+            }
+            for (int i = 0; i < lightTerms; i++) {
+                docs.add(doc(fieldType, "light" + i));
+            }
+            Collections.shuffle(docs, random());
+            iw.addDocuments(docs);
+        };
+        debugTestCase(
+            aggregationBuilder,
+            new MatchAllDocsQuery(),
+            createIndex,
+            (StringTerms result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                assertEquals(impl, HeavyHittersStringTermsAggregator.class);
+                assertThat(debug.get("_name"), hasEntry("result_strategy", "heavy_hitters"));
+                assertThat(result.getBuckets(), hasSize(3));
+                for (int t = 0; t < 3; t++) {
+                    StringTerms.Bucket bucket = result.getBuckets().get(t);
+                    assertThat(bucket.getKeyAsString(), equalTo("heavy" + t));
+                    assertThat(bucket.getDocCount(), lessThanOrEqualTo((long) heavyCounts[t]));
+                    assertThat(bucket.getDocCount() + bucket.getDocCountError(), greaterThanOrEqualTo((long) heavyCounts[t]));
+                }
+            },
+            fieldType
+        );
+    }
+
+    public void testHeavyHittersFallsBackWithShardMinDocCount() throws IOException {
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
+        TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint("heavy_hitters")
+            .field("string")
+            .size(10)
+            .shardMinDocCount(2)
+            .showTermDocCountError(true);
+        int[] heavyCounts = new int[] { 500, 400, 300, 200, 100 };
+        // more unique terms than HeavyHitters tracks so it would forget some of them, all filtered by shard_min_doc_count
+        int lightTerms = 3 * HeavyHittersStringTermsAggregator.MIN_CAPACITY;
+        CheckedConsumer<RandomIndexWriter, IOException> createIndex = iw -> {
+            List<List<IndexableField>> docs = new ArrayList<>();
+            for (int t = 0; t < heavyCounts.length; t++) {
+                for (int i = 0; i < heavyCounts[t]; i++) {
+                    docs.add(doc(fieldType, "heavy" + t));
+                }
+            }
+            for (int i = 0; i < lightTerms; i++) {
+                docs.add(doc(fieldType, "light" + i));
+            }
+            Collections.shuffle(docs, random());
+            iw.addDocuments(docs);
+        };
+        debugTestCase(
+            aggregationBuilder,
+            new MatchAllDocsQuery(),
+            createIndex,
+            (StringTerms result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                /*
+                 * The shard returns fewer than shard_size buckets so the reduction would ignore
+                 * the error of the forgotten terms. We count all of the terms instead.
+                 */
+                assertThat(impl, either(equalTo(GlobalOrdinalsStringTermsAggregator.class)).or(equalTo(MapStringTermsAggregator.class)));
+                assertThat(result.getBuckets(), hasSize(heavyCounts.length));
+                for (int t = 0; t < heavyCounts.length; t++) {
+                    StringTerms.Bucket bucket = result.getBuckets().get(t);
+                    assertThat(bucket.getKeyAsString(), equalTo("heavy" + t));
+                    assertThat(bucket.getDocCount(), equalTo((long) heavyCounts[t]));
+                    assertThat(bucket.getDocCountError(), equalTo(0L));
+                }
+            },
+            fieldType
+        );
+    }
+
+    public void testHeavyHittersFallsBackWhenUnsupported() throws IOException {
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
+        TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint("heavy_hitters")
+            .field("string")
+            .order(BucketOrder.key(true));
+        debugTestCase(aggregationBuilder, new MatchAllDocsQuery(), iw -> {
+            iw.addDocument(doc(fieldType, "a", "b"));
+            iw.addDocument(doc(fieldType, "b"));
+        }, (StringTerms result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            assertThat(impl, either(equalTo(GlobalOrdinalsStringTermsAggregator.class)).or(equalTo(MapStringTermsAggregator.class)));
+            assertThat(result.getBuckets(), hasSize(2));
+            assertThat(result.getBuckets().get(1).getDocCount(), equalTo(2L));
+        }, fieldType);
+    }
+
     public void testStringShardMinDocCount() throws IOException {
         MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", true, true, Collections.emptyMap());
         for (TermsAggregatorFactory.ExecutionMode executionMode : TermsAggregatorFactory.ExecutionMode.values()) {
@@ -9,11 +9,16 @@
 package org.elasticsearch.search.aggregations.metrics;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.apache.lucene.util.NumericUtils;
@@ -31,11 +36,17 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregationExecutionContext;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.AggregationInspectionHelper;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
 import org.elasticsearch.search.aggregations.support.ValuesSourceType;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
+import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.lookup.LeafDocLookup;
+import org.elasticsearch.tasks.TaskCancelledException;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -54,6 +65,8 @@ import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.stats;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class StatsAggregatorTests extends AggregatorTestCase {
 
@@ -136,6 +149,105 @@ public class StatsAggregatorTests extends AggregatorTestCase {
         });
     }
 
+    public void testSingleValuedSpanningSeveralBlocks() throws IOException {
+        final MappedFieldType ft = new NumberFieldMapper.NumberFieldType("field", NumberType.DOUBLE);
+        final SimpleStatsAggregator expected = new SimpleStatsAggregator();
+        testCase(stats("_name").field(ft.name()), iw -> {
+            int numDocs = randomIntBetween(NumericMetricsAggregator.BLOCK_SIZE, 5 * NumericMetricsAggregator.BLOCK_SIZE);
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                doc.add(new StringField("id", Integer.toString(i), Field.Store.NO));
+                boolean deleted = randomBoolean() && randomBoolean();
+                if (randomBoolean() || deleted) {
+                    double value = randomDoubleBetween(-100d, 100d, true);
+                    doc.add(new NumericDocValuesField(ft.name(), NumericUtils.doubleToSortableLong(value)));
+                    if (deleted == false) {
+                        expected.add(value);
+                    }
+                }
+                iw.addDocument(doc);
+                if (deleted) {
+                    iw.deleteDocuments(new Term("id", Integer.toString(i)));
+                }
+            }
+        }, stats -> {
+            assertEquals(expected.count, stats.getCount(), 0);
+            assertEquals(expected.sum, stats.getSum(), TOLERANCE * expected.count);
+            assertEquals(expected.min, stats.getMin(), 0);
+            assertEquals(expected.max, stats.getMax(), 0);
+        }, ft);
+    }
+
+    public void testCollectAllValuesWithoutCollectionLimits() throws IOException {
+        LeafBucketCollector collector = collectAllValuesLeafCollector(SearchContext.DEFAULT_TERMINATE_AFTER, null);
+        assertThat(collector, sameInstance(LeafBucketCollector.NO_OP_COLLECTOR));
+    }
+
+    public void testCollectAllValuesSkippedWithTerminateAfter() throws IOException {
+        // the search stops collecting after terminate_after documents so we can't read the values of all of them
+        LeafBucketCollector collector = collectAllValuesLeafCollector(between(1, 100), null);
+        assertThat(collector, not(sameInstance(LeafBucketCollector.NO_OP_COLLECTOR)));
+    }
+
+    public void testCollectAllValuesSkippedWithMinScore() throws IOException {
+        // the search only collects documents scoring over min_score so we can't read the values of all of them
+        LeafBucketCollector collector = collectAllValuesLeafCollector(SearchContext.DEFAULT_TERMINATE_AFTER, randomFloat());
+        assertThat(collector, not(sameInstance(LeafBucketCollector.NO_OP_COLLECTOR)));
+    }
+
+    private LeafBucketCollector collectAllValuesLeafCollector(int terminateAfter, Float minimumScore) throws IOException {
+        final MappedFieldType ft = new NumberFieldMapper.NumberFieldType("field", NumberType.DOUBLE);
+        try (Directory directory = newDirectory()) {
+            try (RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+                int numDocs = randomIntBetween(1, 3 * NumericMetricsAggregator.BLOCK_SIZE);
+                for (int i = 0; i < numDocs; i++) {
+                    Document doc = new Document();
+                    doc.add(new NumericDocValuesField(ft.name(), NumericUtils.doubleToSortableLong(randomDouble())));
+                    iw.addDocument(doc);
+                }
+                iw.forceMerge(1);
+            }
+            try (
+                DirectoryReader reader = DirectoryReader.open(directory);
+                AggregationContext context = createAggregationContext(reader, new MatchAllDocsQuery(), terminateAfter, minimumScore, ft)
+            ) {
+                StatsAggregator aggregator = createAggregator(stats("_name").field(ft.name()), context);
+                aggregator.preCollection();
+                return aggregator.getLeafCollector(new AggregationExecutionContext(reader.leaves().get(0), null, null, null));
+            }
+        }
+    }
+
+    public void testCollectAllValuesChecksForCancellation() throws IOException {
+        final MappedFieldType ft = new NumberFieldMapper.NumberFieldType("field", NumberType.DOUBLE);
+        try (Directory directory = newDirectory()) {
+            try (RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+                int numDocs = randomIntBetween(1, 3 * NumericMetricsAggregator.BLOCK_SIZE);
+                for (int i = 0; i < numDocs; i++) {
+                    Document doc = new Document();
+                    doc.add(new NumericDocValuesField(ft.name(), NumericUtils.doubleToSortableLong(randomDouble())));
+                    iw.addDocument(doc);
+                }
+                iw.forceMerge(1);
+            }
+            try (
+                DirectoryReader reader = DirectoryReader.open(directory);
+                AggregationContext context = createAggregationContext(reader, new MatchAllDocsQuery(), ft)
+            ) {
+                ((ContextIndexSearcher) context.searcher()).addQueryCancellation(() -> {
+                    throw new TaskCancelledException("cancelled");
+                });
+                StatsAggregator aggregator = createAggregator(stats("_name").field(ft.name()), context);
+                aggregator.preCollection();
+                // the values are collected in blocks when the leaf collector is built, without a scorer checking for cancellation
+                expectThrows(
+                    TaskCancelledException.class,
+                    () -> aggregator.getLeafCollector(new AggregationExecutionContext(reader.leaves().get(0), null, null, null))
+                );
+            }
+        }
+    }
+
     public void testSummationAccuracy() throws IOException {
         // Summing up a normal array and expect an accurate value
         double[] values = new double[] { 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0, 1.1, 1.2, 1.3, 1.4, 1.5, 1.6, 1.7 };
@@ -23,13 +23,18 @@ import org.elasticsearch.test.ESTestCase;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
 
 public class FetchPhaseDocsIteratorTests extends ESTestCase {
 
@@ -91,6 +96,54 @@ public class FetchPhaseDocsIteratorTests extends ESTestCase {
 
     }
 
+    public void testPrefetchesEachLeafBeforeReadingIt() throws IOException {
+        int docCount = randomIntBetween(300, 400);
+        Directory directory = newDirectory();
+        RandomIndexWriter writer = new RandomIndexWriter(random(), directory);
+        for (int i = 0; i < docCount; i++) {
+            Document doc = new Document();
+            doc.add(new StringField("field", "foo", Field.Store.NO));
+            writer.addDocument(doc);
+            if (i % 50 == 0) {
+                writer.commit();
+            }
+        }
+        writer.commit();
+        IndexReader reader = writer.getReader();
+        writer.close();
+
+        int[] docs = randomDocIds(docCount - 1);
+        Map<Integer, int[]> prefetched = new HashMap<>();
+        List<Integer> read = new ArrayList<>();
+        FetchPhaseDocsIterator it = new FetchPhaseDocsIterator() {
+            @Override
+            protected void prefetch(LeafReaderContext ctx, int[] docsInLeaf) {
+                assertNull("leaf [" + ctx.ord + "] prefetched twice", prefetched.put(ctx.ord, docsInLeaf));
+                assertThat("leaf [" + ctx.ord + "] prefetched after reading it", read, not(hasItem(ctx.ord)));
+            }
+
+            @Override
+            protected void setNextReader(LeafReaderContext ctx, int[] docsInLeaf) {
+                assertThat(prefetched.get(ctx.ord), equalTo(docsInLeaf));
+                read.add(ctx.ord);
+            }
+
+            @Override
+            protected SearchHit nextDoc(int doc) {
+                return new SearchHit(doc);
+            }
+        };
+
+        SearchHit[] hits = it.iterate(null, reader, docs, randomBoolean(), new QuerySearchResult());
+        assertThat(prefetched.keySet(), equalTo(Set.copyOf(read)));
+        for (SearchHit hit : hits) {
+            hit.decRef();
+        }
+
+        reader.close();
+        directory.close();
+    }
+
     public void testExceptions() throws IOException {
 
         int docCount = randomIntBetween(300, 400);
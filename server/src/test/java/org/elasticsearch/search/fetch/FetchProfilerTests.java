@@ -9,6 +9,11 @@
 
 package org.elasticsearch.search.fetch;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.index.fieldvisitor.StoredFieldLoader;
 import org.elasticsearch.search.profile.ProfileResult;
@@ -17,6 +22,7 @@ import org.elasticsearch.test.ESTestCase;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.elasticsearch.test.MapMatcher.assertMap;
 import static org.elasticsearch.test.MapMatcher.matchesMap;
@@ -40,4 +46,43 @@ public class FetchProfilerTests extends ESTestCase {
         ProfileResult copy = copyWriteable(result, new NamedWriteableRegistry(List.of()), ProfileResult::new);
         assertMap(copy.getDebugInfo(), matchesMap().entry("stored_fields", List.of("_id", "_routing", "_source")));
     }
+
+    public void testStoredFieldsSegments() throws IOException {
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            for (int d = 0; d < 2000; d++) {
+                iw.addDocument(new Document());
+            }
+            iw.forceMerge(1);
+            try (IndexReader reader = iw.getReader()) {
+                LeafReaderContext ctx = reader.leaves().get(0);
+                FetchProfiler profiler = new FetchProfiler();
+                StoredFieldLoader loader = profiler.storedFields(StoredFieldLoader.create(true, Collections.emptySet()));
+                int[] dense = IntStream.range(0, 20).map(i -> i * 2).toArray();
+                int[] sparse = IntStream.range(0, 20).map(i -> i * 100).toArray();
+                loader.prefetch(ctx, dense);
+                loader.getLoader(ctx, dense);
+                loader.getLoader(ctx, sparse);
+                loader.getLoader(ctx, null);
+                ProfileResult result = profiler.finish();
+                assertMap(
+                    result.getDebugInfo(),
+                    matchesMap().entry("stored_fields", List.of("_id", "_routing", "_source"))
+                        .entry("sequential_stored_fields_segments", 1)
+                        .entry("random_access_stored_fields_segments", 2)
+                        .entry("prefetched_stored_fields_docs", 20)
+                );
+            }
+        }
+    }
+
+    public void testNoStoredFieldsSegmentsWithoutStoredFields() throws IOException {
+        FetchProfiler profiler = new FetchProfiler();
+        StoredFieldLoader loader = profiler.storedFields(StoredFieldLoader.empty());
+        int[] docs = IntStream.range(0, 20).toArray();
+        loader.prefetch(null, docs);
+        loader.getLoader(null, docs);
+        loader.getLoader(null, null);
+        ProfileResult result = profiler.finish();
+        assertMap(result.getDebugInfo(), matchesMap().entry("stored_fields", List.of()));
+    }
 }
@@ -36,6 +36,7 @@ import org.apache.lucene.search.ConstantScoreWeight;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.IndexSearcher.LeafReaderContextPartition;
 import org.apache.lucene.search.IndexSearcher.LeafSlice;
 import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.LeafCollector;
@@ -75,8 +76,10 @@ import org.elasticsearch.test.IndexSettingsModule;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
@@ -387,6 +390,55 @@ public class ContextIndexSearcherTests extends ESTestCase {
         IOUtils.close(reader, w, dir);
     }
 
+    public void testComputeSlicesWithSegmentPartitions() throws IOException {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        int numDocs = randomIntBetween(1000, 25000);
+        int largeSegmentDocs = numDocs - randomIntBetween(0, numDocs / 20);
+        Document doc = new Document();
+        for (int i = 0; i < numDocs; i++) {
+            w.addDocument(doc);
+            if (i + 1 == largeSegmentDocs) {
+                w.commit();
+            }
+        }
+        w.commit();
+        DirectoryReader reader = DirectoryReader.open(w);
+        List<LeafReaderContext> contexts = reader.leaves();
+        int numThreads = randomIntBetween(4, 16);
+        assertThat(ContextIndexSearcher.computeSlices(contexts, numThreads, 1, false).length, equalTo(1));
+
+        LeafSlice[] slices = ContextIndexSearcher.computeSlices(contexts, numThreads, 1, true);
+        assertSlices(slices, numDocs, numThreads);
+        assertThat(slices.length, greaterThanOrEqualTo(Math.min(numThreads, 10) - 1));
+        // the partitions of the large segment cover it entirely and are searched by different slices
+        LeafReaderContext largeSegment = contexts.get(0);
+        assertThat(largeSegment.reader().maxDoc(), equalTo(largeSegmentDocs));
+        List<LeafReaderContextPartition> partitions = new ArrayList<>();
+        for (LeafSlice slice : slices) {
+            int partitionsInSlice = 0;
+            for (LeafReaderContextPartition partition : slice.partitions) {
+                if (partition.ctx == largeSegment) {
+                    partitions.add(partition);
+                    partitionsInSlice++;
+                } else {
+                    assertThat(partition.minDocId, equalTo(0));
+                    assertThat(partition.maxDocId, equalTo(DocIdSetIterator.NO_MORE_DOCS));
+                }
+            }
+            assertThat(partitionsInSlice, lessThanOrEqualTo(1));
+        }
+        assertThat(partitions.size(), equalTo(slices.length));
+        partitions.sort(Comparator.comparingInt(p -> p.minDocId));
+        int expectedMinDocId = 0;
+        for (LeafReaderContextPartition partition : partitions) {
+            assertThat(partition.minDocId, equalTo(expectedMinDocId));
+            expectedMinDocId = partition.maxDocId;
+        }
+        assertThat(expectedMinDocId, equalTo(largeSegmentDocs));
+        IOUtils.close(reader, w, dir);
+    }
+
     private static void assertSlices(LeafSlice[] slices, int numDocs, int numThreads) {
         // checks that the number of slices is not bigger than the number of available threads
         // and each slice contains at least 10% of the data (which means the max number of slices is 10)
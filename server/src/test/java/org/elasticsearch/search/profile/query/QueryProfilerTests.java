@@ -169,6 +169,22 @@ public class QueryProfilerTests extends ESTestCase {
         assertThat(rewriteTime, greaterThan(0L));
     }
 
+    public void testPlan() throws IOException {
+        QueryProfiler profiler = new QueryProfiler();
+        searcher.setProfiler(profiler);
+        Query query = new TermQuery(new Term("foo", "bar"));
+        searcher.search(query, 1);
+        List<ProfileResult> results = profiler.getTree();
+        assertEquals(1, results.size());
+        Map<String, Object> debug = results.get(0).getDebugInfo();
+        long segments = (long) debug.get("segments");
+        long segmentsWithoutMatches = (long) debug.get("segments_without_matches");
+        assertThat(segments, equalTo((long) reader.leaves().size()));
+        assertThat(debug.get("estimated_cost"), equalTo((long) reader.docFreq(new Term("foo", "bar"))));
+        // the query is the only clause so it leads iteration on all segments that might match
+        assertThat(debug.get("lead_segments"), equalTo(segments - segmentsWithoutMatches));
+    }
+
     public void testUseIndexStats() throws IOException {
         QueryProfiler profiler = new QueryProfiler();
         searcher.setProfiler(profiler);
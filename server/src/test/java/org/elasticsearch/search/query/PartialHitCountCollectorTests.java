@@ -12,7 +12,10 @@ package org.elasticsearch.search.query;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BulkScorer;
@@ -28,12 +31,15 @@ import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 
 import static org.elasticsearch.search.query.PartialHitCountCollector.HitsThresholdChecker;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class PartialHitCountCollectorTests extends ESTestCase {
 
@@ -192,6 +198,39 @@ public class PartialHitCountCollectorTests extends ESTestCase {
         assertEquals(ScoreMode.COMPLETE_NO_SCORES, hitCountCollector.scoreMode());
     }
 
+    public void testHitCountWithSegmentPartitions() throws IOException {
+        try (Directory directory = newDirectory()) {
+            int docs = randomIntBetween(100, 1000);
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < docs; i++) {
+                    writer.addDocument(new Document());
+                }
+            }
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                assertEquals(1, reader.leaves().size());
+                IndexSearcher partitionedSearcher = new IndexSearcher(reader, Runnable::run) {
+                    @Override
+                    protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
+                        return ContextIndexSearcher.computeSlices(leaves, 4, 1, true);
+                    }
+                };
+                int numSlices = partitionedSearcher.getSlices().length;
+                assertThat(numSlices, greaterThan(1));
+                HitsThresholdChecker hitsThresholdChecker = new HitsThresholdChecker(Integer.MAX_VALUE);
+                {
+                    Result result = partitionedSearcher.search(new MatchAllDocsQuery(), createCollectorManager(hitsThresholdChecker, true));
+                    assertEquals(docs, result.totalHits);
+                    assertFalse(result.terminatedAfter);
+                }
+                {
+                    // the count of the whole segment is added once per partition
+                    Result result = partitionedSearcher.search(new MatchAllDocsQuery(), createCollectorManager(hitsThresholdChecker));
+                    assertEquals(docs * numSlices, result.totalHits);
+                }
+            }
+        }
+    }
+
     private static final HitsThresholdChecker NO_OVERHEAD_HITS_CHECKER = new HitsThresholdChecker(Integer.MAX_VALUE) {
         @Override
         void incrementHitCount() {
@@ -210,10 +249,17 @@ public class PartialHitCountCollectorTests extends ESTestCase {
      * production code. Using {@link QueryPhaseCollectorManager} in this test would excessively broaden the scope of this test.
      */
     private static CollectorManager<PartialHitCountCollector, Result> createCollectorManager(HitsThresholdChecker hitsThresholdChecker) {
+        return createCollectorManager(hitsThresholdChecker, false);
+    }
+
+    private static CollectorManager<PartialHitCountCollector, Result> createCollectorManager(
+        HitsThresholdChecker hitsThresholdChecker,
+        boolean hasSegmentPartitions
+    ) {
         return new CollectorManager<>() {
             @Override
             public PartialHitCountCollector newCollector() {
-                return new PartialHitCountCollector(hitsThresholdChecker);
+                return new PartialHitCountCollector(hitsThresholdChecker, hasSegmentPartitions);
             }
 
             @Override
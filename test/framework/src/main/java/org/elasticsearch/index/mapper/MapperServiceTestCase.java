@@ -67,6 +67,7 @@ import org.elasticsearch.script.ScriptContext;
 import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.ValuesSourceRegistry;
+import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.SubSearchContext;
 import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.search.lookup.SourceFilter;
@@ -507,6 +508,16 @@ public abstract class MapperServiceTestCase extends FieldTypeTestCase {
                 return query;
             }
 
+            @Override
+            public int terminateAfter() {
+                return SearchContext.DEFAULT_TERMINATE_AFTER;
+            }
+
+            @Override
+            public Float minimumScore() {
+                return null;
+            }
+
             @Override
             public long nowInMillis() {
                 return 0;
@@ -72,6 +72,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
 import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.Strings;
@@ -333,6 +334,36 @@ public abstract class AggregatorTestCase extends ESTestCase {
             bytesToPreallocate,
             maxBucket,
             isInSortOrderExecutionRequired,
+            SearchContext.DEFAULT_TERMINATE_AFTER,
+            null,
+            fieldTypes
+        );
+    }
+
+    /**
+     * Create a {@linkplain AggregationContext} for testing an {@link Aggregator}
+     * running in a search with {@code terminate_after} or {@code min_score}.
+     * While {@linkplain AggregationContext} is {@link Releasable} the caller is
+     * not responsible for releasing it. Instead, it is released automatically in
+     * in {@link #cleanupReleasables()}.
+     */
+    protected AggregationContext createAggregationContext(
+        IndexReader indexReader,
+        Query query,
+        int terminateAfter,
+        @Nullable Float minimumScore,
+        MappedFieldType... fieldTypes
+    ) throws IOException {
+        return createAggregationContext(
+            newIndexSearcher(indexReader, false),
+            createIndexSettings(),
+            query,
+            new NoneCircuitBreakerService(),
+            AggregationBuilder.DEFAULT_PREALLOCATION * 5,
+            DEFAULT_MAX_BUCKETS,
+            false,
+            terminateAfter,
+            minimumScore,
             fieldTypes
         );
     }
@@ -345,6 +376,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
         long bytesToPreallocate,
         int maxBucket,
         boolean isInSortOrderExecutionRequired,
+        int terminateAfter,
+        @Nullable Float minimumScore,
         MappedFieldType... fieldTypes
     ) {
         MappingLookup mappingLookup = MappingLookup.fromMappers(
@@ -403,6 +436,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
             ClusterSettings.createBuiltInClusterSettings(),
             bytesToPreallocate,
             () -> query,
+            () -> terminateAfter,
+            () -> minimumScore,
             null,
             maxBucket,
             () -> buildSubSearchContext(indexSettings, searchExecutionContext, bitsetFilterCache),
@@ -599,6 +634,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
                     randomBoolean() ? 0 : builder.bytesToPreallocate(),
                     maxBucket,
                     builder.isInSortOrderExecutionRequired(),
+                    SearchContext.DEFAULT_TERMINATE_AFTER,
+                    null,
                     fieldTypes
                 );
                 try {
@@ -628,6 +665,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
                 randomBoolean() ? 0 : builder.bytesToPreallocate(),
                 maxBucket,
                 builder.isInSortOrderExecutionRequired(),
+                SearchContext.DEFAULT_TERMINATE_AFTER,
+                null,
                 fieldTypes
             );
             try {
@@ -852,6 +891,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
             aggregationBuilder.bytesToPreallocate(),
             DEFAULT_MAX_BUCKETS,
             aggregationBuilder.isInSortOrderExecutionRequired(),
+            SearchContext.DEFAULT_TERMINATE_AFTER,
+            null,
             fieldTypes
         );
         AggregatorFactories.Builder builder = new AggregatorFactories.Builder().addAggregator(aggregationBuilder);
@@ -90,6 +90,7 @@ public sealed interface LongVector extends Vector permits ConstantLongVector, Lo
             case SERIALIZE_VECTOR_CONSTANT -> blockFactory.newConstantLongVector(in.readLong(), positions);
             case SERIALIZE_VECTOR_ARRAY -> LongArrayVector.readArrayVector(positions, in, blockFactory);
             case SERIALIZE_VECTOR_BIG_ARRAY -> LongBigArrayVector.readArrayVector(positions, in, blockFactory);
+            case SERIALIZE_VECTOR_FRAME_OF_REFERENCE -> readFrameOfReference(positions, in, blockFactory);
             default -> {
                 assert false : "invalid vector serialization type [" + serializationType + "]";
                 throw new IllegalStateException("invalid vector serialization type [" + serializationType + "]");
@@ -105,6 +106,11 @@ public sealed interface LongVector extends Vector permits ConstantLongVector, Lo
         if (isConstant() && positions > 0) {
             out.writeByte(SERIALIZE_VECTOR_CONSTANT);
             out.writeLong(getLong(0));
+        } else if (version.onOrAfter(TransportVersions.ESQL_SERIALIZE_VECTOR_FRAME_OF_REFERENCE)
+            && positions > 1
+            && frameOfReferenceIsSmaller(this, positions)) {
+            out.writeByte(SERIALIZE_VECTOR_FRAME_OF_REFERENCE);
+            writeFrameOfReference(this, positions, out);
         } else if (version.onOrAfter(TransportVersions.V_8_14_0) && this instanceof LongArrayVector v) {
             out.writeByte(SERIALIZE_VECTOR_ARRAY);
             v.writeArrayVector(positions, out);
@@ -132,6 +138,46 @@ public sealed interface LongVector extends Vector permits ConstantLongVector, Lo
         }
     }
 
+    /**
+     * Would {@link #SERIALIZE_VECTOR_FRAME_OF_REFERENCE} be smaller than writing
+     * each value as a fixed size {@code long}? It writes each value as a {@code vlong}
+     * offset from the minimum so it's smaller when all offsets fit in 7 bytes. That's
+     * common for dates and counters which tend to be close to one another.
+     */
+    private static boolean frameOfReferenceIsSmaller(LongVector v, int positions) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < positions; i++) {
+            long value = v.getLong(i);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long range = max - min;
+        // a negative range means the subtraction overflowed
+        return range >= 0 && range < 1L << 49;
+    }
+
+    private static LongVector readFrameOfReference(int positions, StreamInput in, BlockFactory blockFactory) throws IOException {
+        long min = in.readLong();
+        try (var builder = blockFactory.newLongVectorFixedBuilder(positions)) {
+            for (int i = 0; i < positions; i++) {
+                builder.appendLong(i, min + in.readVLong());
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeFrameOfReference(LongVector v, int positions, StreamOutput out) throws IOException {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < positions; i++) {
+            min = Math.min(min, v.getLong(i));
+        }
+        out.writeLong(min);
+        for (int i = 0; i < positions; i++) {
+            out.writeVLong(v.getLong(i) - min);
+        }
+    }
+
     /**
      * A builder that grows as needed.
      */
@@ -125,4 +125,5 @@ public interface Vector extends Accountable, RefCounted, Releasable {
     byte SERIALIZE_VECTOR_ARRAY = 2;
     byte SERIALIZE_VECTOR_BIG_ARRAY = 3;
     byte SERIALIZE_VECTOR_ORDINAL = 4;
+    byte SERIALIZE_VECTOR_FRAME_OF_REFERENCE = 5;
 }
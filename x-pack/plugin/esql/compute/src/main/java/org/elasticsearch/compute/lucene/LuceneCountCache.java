@@ -0,0 +1,149 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.lucene;
+
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.xpack.core.security.authz.accesscontrol.DocumentSubsetReader;
+import org.elasticsearch.xpack.core.security.authz.accesscontrol.FieldSubsetReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Node level cache of the number of documents matching a {@link Query} in a
+ * single segment. Dashboards tend to run the same {@code STATS COUNT(*)} over
+ * and over again and most segments don't change between runs so there isn't
+ * any need to visit their documents again.
+ * <p>
+ *     Like the {@code IndicesRequestCache} entries are keyed on the reader's
+ *     {@link IndexReader.CacheKey} so any change to the segment, including new
+ *     deletes, gets a new key. Entries are invalidated when their reader closes
+ *     and evicted in LRU order when the cache is over its size. Also like the
+ *     {@code IndicesRequestCache} the cache outlives the requests that fill it so
+ *     it isn't accounted to the request circuit breaker. Its memory is bounded by
+ *     {@link #SIZE_SETTING} instead and reported by {@link #ramBytesUsed()}.
+ * </p>
+ * <p>
+ *     Segments read through document or field level security are never cached.
+ *     Their readers share the cache key of the segment they wrap but a user that
+ *     can't see some documents or fields may count a different number of matches.
+ * </p>
+ */
+public final class LuceneCountCache {
+    public static final Setting<ByteSizeValue> SIZE_SETTING = Setting.memorySizeSetting(
+        "esql.count_cache.size",
+        "1%",
+        Setting.Property.NodeScope
+    );
+
+    private static final long KEY_SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(Key.class);
+    private static final long VALUE_SIZE = RamUsageEstimator.shallowSizeOfInstance(Integer.class);
+
+    private final Cache<Key, Integer> cache;
+    private final Set<IndexReader.CacheKey> registeredClosedListeners = ConcurrentCollections.newConcurrentSet();
+
+    public LuceneCountCache(ByteSizeValue size) {
+        this.cache = CacheBuilder.<Key, Integer>builder()
+            .setMaximumWeight(size.getBytes())
+            .weigher((k, v) -> k.ramBytesUsed() + VALUE_SIZE)
+            .build();
+    }
+
+    /**
+     * The cached count of documents matching {@code query} in {@code leaf}
+     * or {@code null} if we don't have one.
+     */
+    Integer get(LeafReaderContext leaf, Query query) {
+        IndexReader.CacheHelper cacheHelper = cacheHelper(leaf.reader());
+        if (cacheHelper == null) {
+            return null;
+        }
+        return cache.get(new Key(cacheHelper.getKey(), query));
+    }
+
+    /**
+     * Cache the number of documents matching {@code query} in {@code leaf}.
+     * Readers that don't support caching are skipped.
+     */
+    void put(LeafReaderContext leaf, Query query, int count) {
+        IndexReader.CacheHelper cacheHelper = cacheHelper(leaf.reader());
+        if (cacheHelper == null) {
+            return;
+        }
+        IndexReader.CacheKey readerKey = cacheHelper.getKey();
+        if (registeredClosedListeners.add(readerKey)) {
+            cacheHelper.addClosedListener(this::invalidate);
+        }
+        cache.put(new Key(readerKey, query), count);
+    }
+
+    /**
+     * The {@link IndexReader.CacheHelper} to key counts of {@code reader} on or {@code null}
+     * if it can't be cached.
+     */
+    @Nullable
+    private static IndexReader.CacheHelper cacheHelper(LeafReader reader) {
+        LeafReader current = reader;
+        while (current instanceof FilterLeafReader filter) {
+            if (filter instanceof FieldSubsetReader || filter instanceof DocumentSubsetReader) {
+                return null;
+            }
+            current = filter.getDelegate();
+        }
+        return reader.getReaderCacheHelper();
+    }
+
+    private void invalidate(IndexReader.CacheKey readerKey) {
+        registeredClosedListeners.remove(readerKey);
+        List<Key> toInvalidate = new ArrayList<>();
+        for (Key key : cache.keys()) {
+            if (key.readerKey == readerKey) {
+                toInvalidate.add(key);
+            }
+        }
+        for (Key key : toInvalidate) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * The number of cached counts.
+     */
+    public int count() {
+        return cache.count();
+    }
+
+    /**
+     * The estimated memory used by the cached counts.
+     */
+    public long ramBytesUsed() {
+        return cache.weight();
+    }
+
+    public Cache.CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record Key(IndexReader.CacheKey readerKey, Query query) {
+        long ramBytesUsed() {
+            return KEY_SHALLOW_SIZE + RamUsageEstimator.sizeOf(query, RamUsageEstimator.QUERY_DEFAULT_RAM_BYTES_USED);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.SourceOperator;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasables;
 
 import java.io.IOException;
@@ -37,10 +38,14 @@ public class LuceneCountOperator extends LuceneOperator {
 
     private int totalHits = 0;
     private int remainingDocs;
+    @Nullable
+    private final LuceneCountCache cache;
 
     private final LeafCollector leafCollector;
 
     public static class Factory extends LuceneOperator.Factory {
+        @Nullable
+        private final LuceneCountCache cache;
 
         public Factory(
             List<? extends ShardContext> contexts,
@@ -48,13 +53,25 @@ public class LuceneCountOperator extends LuceneOperator {
             DataPartitioning dataPartitioning,
             int taskConcurrency,
             int limit
+        ) {
+            this(contexts, queryFunction, dataPartitioning, taskConcurrency, limit, null);
+        }
+
+        public Factory(
+            List<? extends ShardContext> contexts,
+            Function<ShardContext, Query> queryFunction,
+            DataPartitioning dataPartitioning,
+            int taskConcurrency,
+            int limit,
+            @Nullable LuceneCountCache cache
         ) {
             super(contexts, queryFunction, dataPartitioning, taskConcurrency, limit, ScoreMode.COMPLETE_NO_SCORES);
+            this.cache = cache;
         }
 
         @Override
         public SourceOperator get(DriverContext driverContext) {
-            return new LuceneCountOperator(driverContext.blockFactory(), sliceQueue, limit);
+            return new LuceneCountOperator(driverContext.blockFactory(), sliceQueue, limit, cache);
         }
 
         @Override
@@ -64,8 +81,13 @@ public class LuceneCountOperator extends LuceneOperator {
     }
 
     public LuceneCountOperator(BlockFactory blockFactory, LuceneSliceQueue sliceQueue, int limit) {
+        this(blockFactory, sliceQueue, limit, null);
+    }
+
+    public LuceneCountOperator(BlockFactory blockFactory, LuceneSliceQueue sliceQueue, int limit, @Nullable LuceneCountCache cache) {
         super(blockFactory, PAGE_SIZE, sliceQueue);
         this.remainingDocs = limit;
+        this.cache = cache;
         this.leafCollector = new LeafCollector() {
             @Override
             public void setScorer(Scorable scorer) {}
@@ -128,6 +150,22 @@ public class LuceneCountOperator extends LuceneOperator {
                         remainingDocs -= count;
                     }
                     scorer.markAsDone();
+                } else if (cache != null && weight.isCacheable(leafReaderContext) && coversWholeLeaf(scorer)) {
+                    // like the query cache we don't cache queries that Lucene can't cache, scripts for instance
+                    Integer cached = cache.get(leafReaderContext, weight.getQuery());
+                    if (cached != null) {
+                        var count = Math.min(cached, remainingDocs);
+                        totalHits += count;
+                        remainingDocs -= count;
+                        scorer.markAsDone();
+                    } else {
+                        int before = totalHits;
+                        scorer.scoreNextRange(leafCollector, leafReaderContext.reader().getLiveDocs(), remainingDocs);
+                        // only cache counts that weren't cut short by the limit
+                        if (scorer.isDone() && remainingDocs > 0) {
+                            cache.put(leafReaderContext, weight.getQuery(), totalHits - before);
+                        }
+                    }
                 } else {
                     // could not apply shortcut, trigger the search
                     // TODO: avoid iterating all documents in multiple calls to make cancellation more responsive.
@@ -156,6 +194,15 @@ public class LuceneCountOperator extends LuceneOperator {
         }
     }
 
+    /**
+     * Is the scorer about to visit every document in its segment? Only those
+     * counts can be cached because the count of a partial segment depends on
+     * how it was partitioned.
+     */
+    private static boolean coversWholeLeaf(LuceneScorer scorer) {
+        return scorer.position() == 0 && scorer.maxPosition() >= scorer.leafReaderContext().reader().maxDoc();
+    }
+
     @Override
     protected void describe(StringBuilder sb) {
         sb.append(", remainingDocs=").append(remainingDocs);
@@ -150,7 +150,12 @@ public abstract class LuceneOperator extends SourceOperator {
             final PartialLeafReaderContext partialLeaf = currentSlice.getLeaf(sliceIndex++);
             logger.trace("Starting {}", partialLeaf);
             final LeafReaderContext leaf = partialLeaf.leafReaderContext();
-            if (currentScorer == null || currentScorer.leafReaderContext() != leaf) {
+            /*
+             * We can only reuse the scorer if this partial leaf starts after the last one.
+             * Partitions of the same segment aren't guaranteed to arrive in order because
+             * the slice queue hands out the biggest slices first.
+             */
+            if (currentScorer == null || currentScorer.leafReaderContext() != leaf || partialLeaf.minDoc() < currentScorer.position()) {
                 final Weight weight = currentSlice.weight();
                 processedQueries.add(weight.getQuery());
                 currentScorer = new LuceneScorer(currentSlice.shardContext(), weight, leaf);
@@ -225,6 +230,10 @@ public abstract class LuceneOperator extends SourceOperator {
         int position() {
             return position;
         }
+
+        int maxPosition() {
+            return maxPosition;
+        }
     }
 
     @Override
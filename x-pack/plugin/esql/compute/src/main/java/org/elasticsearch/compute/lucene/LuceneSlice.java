@@ -22,4 +22,15 @@ public record LuceneSlice(ShardContext shardContext, List<PartialLeafReaderConte
     PartialLeafReaderContext getLeaf(int index) {
         return leaves.get(index);
     }
+
+    /**
+     * The number of documents, live or deleted, in all leaves of this slice.
+     */
+    long numDocs() {
+        long numDocs = 0;
+        for (PartialLeafReaderContext leaf : leaves) {
+            numDocs += leaf.maxDoc() - leaf.minDoc();
+        }
+        return numDocs;
+    }
 }
@@ -16,6 +16,7 @@ import org.elasticsearch.core.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -31,7 +32,7 @@ public final class LuceneSliceQueue {
     private final int totalSlices;
     private final Queue<LuceneSlice> slices;
 
-    private LuceneSliceQueue(List<LuceneSlice> slices) {
+    LuceneSliceQueue(List<LuceneSlice> slices) {
         this.totalSlices = slices.size();
         this.slices = new ConcurrentLinkedQueue<>(slices);
     }
@@ -64,11 +65,21 @@ public final class LuceneSliceQueue {
                 case DOC -> docSlices(ctx.searcher().getIndexReader(), taskConcurrency);
             };
             final Weight weight = weightFunction.apply(ctx);
+            List<LuceneSlice> shardSlices = new ArrayList<>(groups.size());
             for (List<PartialLeafReaderContext> group : groups) {
                 if (group.isEmpty() == false) {
-                    slices.add(new LuceneSlice(ctx, group, weight));
+                    shardSlices.add(new LuceneSlice(ctx, group, weight));
                 }
             }
+            /*
+             * Hand out the largest slices of each shard first. Drivers pull from the queue
+             * as they go idle so starting the big ones early keeps a single large slice
+             * from running long after every other driver has finished. We keep the slices
+             * of each shard together because some operators, like the top n, do per-shard
+             * work every time they switch shards.
+             */
+            shardSlices.sort(Comparator.comparingLong(LuceneSlice::numDocs).reversed());
+            slices.addAll(shardSlices);
         }
         return new LuceneSliceQueue(slices);
     }
@@ -119,8 +130,21 @@ public final class LuceneSliceQueue {
         return slices;
     }
 
+    /**
+     * Group segments into slices like {@link IndexSearcher} does. Segments with more than
+     * {@link #MAX_DOCS_PER_SLICE} documents are split into many partitions so that a single
+     * huge segment can be processed by many drivers at once.
+     */
     static List<List<PartialLeafReaderContext>> segmentSlices(List<LeafReaderContext> leafContexts) {
-        IndexSearcher.LeafSlice[] gs = IndexSearcher.slices(leafContexts, MAX_DOCS_PER_SLICE, MAX_SEGMENTS_PER_SLICE, false);
+        return segmentSlices(leafContexts, MAX_DOCS_PER_SLICE, MAX_SEGMENTS_PER_SLICE);
+    }
+
+    static List<List<PartialLeafReaderContext>> segmentSlices(
+        List<LeafReaderContext> leafContexts,
+        int maxDocsPerSlice,
+        int maxSegmentsPerSlice
+    ) {
+        IndexSearcher.LeafSlice[] gs = IndexSearcher.slices(leafContexts, maxDocsPerSlice, maxSegmentsPerSlice, true);
         return Arrays.stream(gs).map(g -> Arrays.stream(g.partitions).map(PartialLeafReaderContext::new).toList()).toList();
     }
 }
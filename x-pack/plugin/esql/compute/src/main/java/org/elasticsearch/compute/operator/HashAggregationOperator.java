@@ -44,8 +44,19 @@ public class HashAggregationOperator implements Operator {
         AggregatorMode aggregatorMode,
         List<GroupingAggregator.Factory> aggregators,
         int maxPageSize,
-        AnalysisRegistry analysisRegistry
+        AnalysisRegistry analysisRegistry,
+        int partialEmitKeysThreshold
     ) implements OperatorFactory {
+        public HashAggregationOperatorFactory(
+            List<BlockHash.GroupSpec> groups,
+            AggregatorMode aggregatorMode,
+            List<GroupingAggregator.Factory> aggregators,
+            int maxPageSize,
+            AnalysisRegistry analysisRegistry
+        ) {
+            this(groups, aggregatorMode, aggregators, maxPageSize, analysisRegistry, Integer.MAX_VALUE);
+        }
+
         @Override
         public Operator get(DriverContext driverContext) {
             if (groups.stream().anyMatch(BlockHash.GroupSpec::isCategorize)) {
@@ -64,6 +75,7 @@ public class HashAggregationOperator implements Operator {
             return new HashAggregationOperator(
                 aggregators,
                 () -> BlockHash.build(groups, driverContext.blockFactory(), maxPageSize, false),
+                aggregatorMode.isOutputPartial() ? partialEmitKeysThreshold : Integer.MAX_VALUE,
                 driverContext
             );
         }
@@ -79,14 +91,32 @@ public class HashAggregationOperator implements Operator {
     }
 
     private boolean finished;
+    private boolean finalOutputBuilt;
     private Page output;
 
-    private final BlockHash blockHash;
+    private final Supplier<BlockHash> blockHashSupplier;
+
+    private BlockHash blockHash;
+
+    private final List<GroupingAggregator.Factory> aggregatorFactories;
 
     private final List<GroupingAggregator> aggregators;
 
     private final DriverContext driverContext;
 
+    /**
+     * Once the hash contains this many groups we emit everything we've
+     * collected so far and start again with an empty hash. This is only
+     * safe when the output is partial because a later phase will combine
+     * the duplicate groups. {@link Integer#MAX_VALUE} disables it.
+     */
+    private final int partialEmitKeysThreshold;
+
+    /**
+     * The largest group id the {@link #blockHash} has produced since the last emit.
+     */
+    private int maxGroupId = -1;
+
     /**
      * Nanoseconds this operator has spent hashing grouping keys.
      */
@@ -107,21 +137,38 @@ public class HashAggregationOperator implements Operator {
      * Count of rows this operator has emitted.
      */
     private long rowsEmitted;
+    /**
+     * Count of times this operator has emitted its partial results early
+     * because it hit {@link #partialEmitKeysThreshold}.
+     */
+    private int partialEmits;
+
+    public HashAggregationOperator(
+        List<GroupingAggregator.Factory> aggregators,
+        Supplier<BlockHash> blockHash,
+        DriverContext driverContext
+    ) {
+        this(aggregators, blockHash, Integer.MAX_VALUE, driverContext);
+    }
 
     @SuppressWarnings("this-escape")
     public HashAggregationOperator(
         List<GroupingAggregator.Factory> aggregators,
         Supplier<BlockHash> blockHash,
+        int partialEmitKeysThreshold,
         DriverContext driverContext
     ) {
+        if (partialEmitKeysThreshold <= 0) {
+            throw new IllegalArgumentException("partialEmitKeysThreshold must be > 0 but was [" + partialEmitKeysThreshold + "]");
+        }
+        this.blockHashSupplier = blockHash;
+        this.aggregatorFactories = aggregators;
         this.aggregators = new ArrayList<>(aggregators.size());
+        this.partialEmitKeysThreshold = partialEmitKeysThreshold;
         this.driverContext = driverContext;
         boolean success = false;
         try {
-            this.blockHash = blockHash.get();
-            for (GroupingAggregator.Factory a : aggregators) {
-                this.aggregators.add(a.apply(driverContext));
-            }
+            initialize();
             success = true;
         } finally {
             if (success == false) {
@@ -130,9 +177,17 @@ public class HashAggregationOperator implements Operator {
         }
     }
 
+    private void initialize() {
+        this.blockHash = blockHashSupplier.get();
+        for (GroupingAggregator.Factory a : aggregatorFactories) {
+            this.aggregators.add(a.apply(driverContext));
+        }
+        maxGroupId = -1;
+    }
+
     @Override
     public boolean needsInput() {
-        return finished == false;
+        return finished == false && output == null;
     }
 
     @Override
@@ -149,6 +204,9 @@ public class HashAggregationOperator implements Operator {
                     if (groupIdsVector != null) {
                         add(positionOffset, groupIdsVector);
                     } else {
+                        if (partialEmitKeysThreshold != Integer.MAX_VALUE) {
+                            trackMaxGroupId(groupIds);
+                        }
                         startAggEndHash();
                         for (GroupingAggregatorFunction.AddInput p : prepared) {
                             p.add(positionOffset, groupIds);
@@ -159,6 +217,9 @@ public class HashAggregationOperator implements Operator {
 
                 @Override
                 public void add(int positionOffset, IntVector groupIds) {
+                    if (partialEmitKeysThreshold != Integer.MAX_VALUE && groupIds.getPositionCount() > 0) {
+                        maxGroupId = Math.max(maxGroupId, groupIds.max());
+                    }
                     startAggEndHash();
                     for (GroupingAggregatorFunction.AddInput p : prepared) {
                         p.add(positionOffset, groupIds);
@@ -197,6 +258,36 @@ public class HashAggregationOperator implements Operator {
             pagesProcessed++;
             rowsReceived += page.getPositionCount();
         }
+        if (maxGroupId + 1 >= partialEmitKeysThreshold) {
+            emitPartial();
+        }
+    }
+
+    private void trackMaxGroupId(IntBlock groupIds) {
+        for (int p = 0; p < groupIds.getPositionCount(); p++) {
+            if (groupIds.isNull(p)) {
+                continue;
+            }
+            int start = groupIds.getFirstValueIndex(p);
+            int end = start + groupIds.getValueCount(p);
+            for (int i = start; i < end; i++) {
+                maxGroupId = Math.max(maxGroupId, groupIds.getInt(i));
+            }
+        }
+    }
+
+    /**
+     * Emit the partial results collected so far and reset the hash and the
+     * aggregators so the memory they hold is released. Downstream operators
+     * running with partial input will merge any groups we emit more than once.
+     */
+    private void emitPartial() {
+        output = buildOutput();
+        partialEmits++;
+        Releasables.close(blockHash, () -> Releasables.close(aggregators));
+        blockHash = null;
+        aggregators.clear();
+        initialize();
     }
 
     @Override
@@ -206,6 +297,11 @@ public class HashAggregationOperator implements Operator {
             rowsEmitted += p.getPositionCount();
         }
         output = null;
+        if (finished && finalOutputBuilt == false) {
+            // We finished while partial results were waiting to be taken so now emit what's left
+            output = buildOutput();
+            finalOutputBuilt = true;
+        }
         return p;
     }
 
@@ -215,6 +311,15 @@ public class HashAggregationOperator implements Operator {
             return;
         }
         finished = true;
+        if (output != null) {
+            // Don't build the final results until the last partial results have been taken
+            return;
+        }
+        output = buildOutput();
+        finalOutputBuilt = true;
+    }
+
+    private Page buildOutput() {
         Block[] blocks = null;
         IntVector selected = null;
         boolean success = false;
@@ -230,8 +335,9 @@ public class HashAggregationOperator implements Operator {
                 aggregator.evaluate(blocks, offset, selected, driverContext);
                 offset += aggBlockCounts[i];
             }
-            output = new Page(blocks);
+            Page page = new Page(blocks);
             success = true;
+            return page;
         } finally {
             // selected should always be closed
             if (selected != null) {
@@ -258,7 +364,7 @@ public class HashAggregationOperator implements Operator {
 
     @Override
     public Operator.Status status() {
-        return new Status(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted);
+        return new Status(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, partialEmits);
     }
 
     protected static void checkState(boolean condition, String msg) {
@@ -308,6 +414,10 @@ public class HashAggregationOperator implements Operator {
          * Count of rows this operator has emitted.
          */
         private final long rowsEmitted;
+        /**
+         * Count of times this operator has emitted partial results early to bound its memory.
+         */
+        private final int partialEmits;
 
         /**
          * Build.
@@ -316,13 +426,15 @@ public class HashAggregationOperator implements Operator {
          * @param pagesProcessed Count of pages this operator has processed.
          * @param rowsReceived Count of rows this operator has received.
          * @param rowsEmitted Count of rows this operator has emitted.
+         * @param partialEmits Count of times this operator has emitted partial results early to bound its memory.
          */
-        public Status(long hashNanos, long aggregationNanos, int pagesProcessed, long rowsReceived, long rowsEmitted) {
+        public Status(long hashNanos, long aggregationNanos, int pagesProcessed, long rowsReceived, long rowsEmitted, int partialEmits) {
             this.hashNanos = hashNanos;
             this.aggregationNanos = aggregationNanos;
             this.pagesProcessed = pagesProcessed;
             this.rowsReceived = rowsReceived;
             this.rowsEmitted = rowsEmitted;
+            this.partialEmits = partialEmits;
         }
 
         protected Status(StreamInput in) throws IOException {
@@ -337,6 +449,11 @@ public class HashAggregationOperator implements Operator {
                 rowsReceived = 0;
                 rowsEmitted = 0;
             }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_HASH_AGGREGATION_PARTIAL_EMIT)) {
+                partialEmits = in.readVInt();
+            } else {
+                partialEmits = 0;
+            }
         }
 
         @Override
@@ -349,6 +466,9 @@ public class HashAggregationOperator implements Operator {
                 out.writeVLong(rowsReceived);
                 out.writeVLong(rowsEmitted);
             }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_HASH_AGGREGATION_PARTIAL_EMIT)) {
+                out.writeVInt(partialEmits);
+            }
         }
 
         @Override
@@ -391,6 +511,13 @@ public class HashAggregationOperator implements Operator {
             return rowsEmitted;
         }
 
+        /**
+         * Count of times this operator has emitted partial results early to bound its memory.
+         */
+        public int partialEmits() {
+            return partialEmits;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
@@ -405,6 +532,7 @@ public class HashAggregationOperator implements Operator {
             builder.field("pages_processed", pagesProcessed);
             builder.field("rows_received", rowsReceived);
             builder.field("rows_emitted", rowsEmitted);
+            builder.field("partial_emits", partialEmits);
             return builder.endObject();
 
         }
@@ -418,12 +546,13 @@ public class HashAggregationOperator implements Operator {
                 && aggregationNanos == status.aggregationNanos
                 && pagesProcessed == status.pagesProcessed
                 && rowsReceived == status.rowsReceived
-                && rowsEmitted == status.rowsEmitted;
+                && rowsEmitted == status.rowsEmitted
+                && partialEmits == status.partialEmits;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted);
+            return Objects.hash(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, partialEmits);
         }
 
         @Override
@@ -0,0 +1,386 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator;
+
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.IntArray;
+import org.elasticsearch.compute.aggregation.GroupingAggregatorFunction;
+import org.elasticsearch.compute.aggregation.blockhash.BlockHash;
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.core.ReleasableIterator;
+import org.elasticsearch.core.Releasables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Performs a {@code LEFT JOIN} of each incoming "probe" {@link Page} against a
+ * pre-built "build" table. The keys of the build table are hashed once, when the
+ * operator is built, using the same {@link BlockHash} that powers {@code STATS}.
+ * Then each probe row is looked up in that hash and emitted once for every build
+ * row with the same keys, followed by the "value" columns of that build row. Probe
+ * rows without a match are emitted once with {@code null} build values.
+ * <p>
+ *     Unlike {@link RowInTableLookupOperator} the build table may contain many rows
+ *     with the same keys. Rows with the same keys are chained together in arrays
+ *     allocated from {@link BigArrays} so the circuit breaker tracks them along
+ *     with the hash itself.
+ * </p>
+ * <p>
+ *     Like SQL, {@code null} keys never match anything. Build keys must be single
+ *     valued. Multivalued probe keys match the build rows of each of their values.
+ * </p>
+ * <p>
+ *     This is only the operator. The planner doesn't produce it yet, so it isn't
+ *     used to run any query.
+ * </p>
+ */
+public class HashJoinOperator extends AbstractPageMappingToIteratorOperator {
+    /**
+     * Factory for {@link HashJoinOperator}. It's received {@link Block}s
+     * are never closed, so we need to build them from a non-tracking factory.
+     */
+    public record Factory(Block[] buildKeys, Block[] buildValues, int[] probeKeyChannels, int maxPageSize)
+        implements
+            Operator.OperatorFactory {
+        public Factory {
+            checkArgs(buildKeys, buildValues, probeKeyChannels, maxPageSize);
+        }
+
+        @Override
+        public Operator get(DriverContext driverContext) {
+            return new HashJoinOperator(driverContext.blockFactory(), buildKeys, buildValues, probeKeyChannels, maxPageSize);
+        }
+
+        @Override
+        public String describe() {
+            return "HashJoinOperator[build_keys="
+                + buildKeys.length
+                + ", build_values="
+                + buildValues.length
+                + ", build_positions="
+                + buildKeys[0].getPositionCount()
+                + ", probe_keys="
+                + Arrays.toString(probeKeyChannels)
+                + "]";
+        }
+    }
+
+    private final BlockFactory blockFactory;
+    private final Block[] buildValues;
+    private final int[] probeKeyChannels;
+    private final int maxPageSize;
+    private final int buildPositions;
+
+    private final BlockHash hash;
+    /**
+     * The first build row for each group id in the {@link #hash} or {@code -1} if
+     * no build row with usable keys has that group.
+     */
+    private IntArray firstRow;
+    /**
+     * The last build row for each group id in the {@link #hash}. We append to the
+     * end of each chain so matches are emitted in build row order.
+     */
+    private IntArray lastRow;
+    /**
+     * The next build row with the same keys as each build row or {@code -1} if it
+     * is the last one.
+     */
+    private IntArray nextRow;
+
+    @SuppressWarnings("this-escape")
+    public HashJoinOperator(BlockFactory blockFactory, Block[] buildKeys, Block[] buildValues, int[] probeKeyChannels, int maxPageSize) {
+        checkArgs(buildKeys, buildValues, probeKeyChannels, maxPageSize);
+        this.blockFactory = blockFactory;
+        this.buildValues = buildValues;
+        this.probeKeyChannels = probeKeyChannels;
+        this.maxPageSize = maxPageSize;
+        this.buildPositions = buildKeys[0].getPositionCount();
+
+        List<BlockHash.GroupSpec> groups = new ArrayList<>(buildKeys.length);
+        for (int k = 0; k < buildKeys.length; k++) {
+            groups.add(new BlockHash.GroupSpec(k, buildKeys[k].elementType()));
+        }
+        this.hash = BlockHash.buildPackedValuesBlockHash(groups, blockFactory, maxPageSize);
+        boolean success = false;
+        try {
+            BigArrays bigArrays = blockFactory.bigArrays();
+            firstRow = bigArrays.newIntArray(buildPositions, false);
+            firstRow.fill(0, buildPositions, -1);
+            lastRow = bigArrays.newIntArray(buildPositions, false);
+            nextRow = bigArrays.newIntArray(buildPositions, false);
+            nextRow.fill(0, buildPositions, -1);
+            hash.add(new Page(buildKeys), new GroupingAggregatorFunction.AddInput() {
+                @Override
+                public void add(int positionOffset, IntBlock groupIds) {
+                    for (int p = 0; p < groupIds.getPositionCount(); p++) {
+                        int first = groupIds.getFirstValueIndex(p);
+                        int end = groupIds.getValueCount(p) + first;
+                        for (int i = first; i < end; i++) {
+                            link(buildKeys, positionOffset + p, groupIds.getInt(i));
+                        }
+                    }
+                }
+
+                @Override
+                public void add(int positionOffset, IntVector groupIds) {
+                    for (int p = 0; p < groupIds.getPositionCount(); p++) {
+                        link(buildKeys, positionOffset + p, groupIds.getInt(p));
+                    }
+                }
+
+                @Override
+                public void close() {}
+            });
+            success = true;
+        } finally {
+            if (success == false) {
+                close();
+            }
+        }
+    }
+
+    private static void checkArgs(Block[] buildKeys, Block[] buildValues, int[] probeKeyChannels, int maxPageSize) {
+        if (buildKeys.length < 1) {
+            throw new IllegalArgumentException("expected [build_keys] to be non-empty");
+        }
+        if (buildKeys.length != probeKeyChannels.length) {
+            throw new IllegalArgumentException(
+                "expected as many probe keys as build keys but [" + probeKeyChannels.length + "] != [" + buildKeys.length + "]"
+            );
+        }
+        if (maxPageSize <= 0) {
+            throw new IllegalArgumentException("maxPageSize must be > 0 but was [" + maxPageSize + "]");
+        }
+        int positions = buildKeys[0].getPositionCount();
+        for (Block b : buildKeys) {
+            if (positions != b.getPositionCount()) {
+                throw new IllegalArgumentException(
+                    "build keys must have the same number of positions but [" + positions + "] != [" + b.getPositionCount() + "]"
+                );
+            }
+            if (b.doesHaveMultivaluedFields()) {
+                throw new IllegalArgumentException("only single valued build keys are supported");
+            }
+        }
+        for (Block b : buildValues) {
+            if (positions != b.getPositionCount()) {
+                throw new IllegalArgumentException(
+                    "build values must have the same number of positions as the keys but ["
+                        + positions
+                        + "] != ["
+                        + b.getPositionCount()
+                        + "]"
+                );
+            }
+        }
+    }
+
+    /**
+     * Append the build row at {@code position} to the chain of rows for {@code group}.
+     */
+    private void link(Block[] buildKeys, int position, int group) {
+        for (Block k : buildKeys) {
+            if (k.isNull(position)) {
+                // null keys never match so there's no need to chain them
+                return;
+            }
+        }
+        int last = lastRow.get(group);
+        if (firstRow.get(group) == -1) {
+            firstRow.set(group, position);
+        } else {
+            nextRow.set(last, position);
+        }
+        lastRow.set(group, position);
+    }
+
+    @Override
+    protected ReleasableIterator<Page> receive(Page page) {
+        Page mapped = page.projectBlocks(probeKeyChannels);
+        try {
+            // lookup increments any references we need to keep for the iterator
+            return new JoinIterator(page, hash.lookup(mapped, BlockFactory.DEFAULT_MAX_BLOCK_PRIMITIVE_ARRAY_SIZE));
+        } finally {
+            mapped.releaseBlocks();
+        }
+    }
+
+    /**
+     * Emits the joined rows of a single probe {@link Page} in pages of at
+     * most {@link #maxPageSize} rows.
+     */
+    private class JoinIterator implements ReleasableIterator<Page> {
+        private final Page probe;
+        private final ReleasableIterator<IntBlock> lookup;
+        /**
+         * Group ids for a contiguous run of probe positions, starting at {@link #ordsStart}.
+         */
+        private IntBlock ords;
+        private int ordsStart;
+
+        /**
+         * The probe position we're joining.
+         */
+        private int position;
+        /**
+         * Have we loaded the group ids for {@link #position}?
+         */
+        private boolean started;
+        /**
+         * Has {@link #position} matched any build row?
+         */
+        private boolean matched;
+        private int valueIndex;
+        private int valueEnd;
+        /**
+         * The next build row to join with {@link #position} or {@code -1} if we
+         * have to move to the next group id.
+         */
+        private int chain = -1;
+
+        JoinIterator(Page probe, ReleasableIterator<IntBlock> lookup) {
+            this.probe = probe;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance();
+        }
+
+        @Override
+        public Page next() {
+            int[] probePositions = new int[maxPageSize];
+            int[] buildRows = new int[maxPageSize];
+            int count = 0;
+            while (count < maxPageSize && advance()) {
+                probePositions[count] = position;
+                if (chain >= 0) {
+                    buildRows[count] = chain;
+                    chain = nextRow.get(chain);
+                    matched = true;
+                } else {
+                    buildRows[count] = -1;
+                    finishPosition();
+                }
+                count++;
+            }
+            return buildOutput(Arrays.copyOf(probePositions, count), buildRows, count);
+        }
+
+        /**
+         * Move to the next state that emits a row, returning {@code false}
+         * if there aren't any more rows to emit.
+         */
+        private boolean advance() {
+            while (position < probe.getPositionCount()) {
+                if (chain >= 0) {
+                    return true;
+                }
+                if (started == false) {
+                    startPosition();
+                    continue;
+                }
+                if (valueIndex < valueEnd) {
+                    chain = firstRow.get(ords.getInt(valueIndex++));
+                    continue;
+                }
+                if (matched == false) {
+                    return true;
+                }
+                finishPosition();
+            }
+            return false;
+        }
+
+        private void startPosition() {
+            while (ords == null || position - ordsStart >= ords.getPositionCount()) {
+                if (ords != null) {
+                    ordsStart += ords.getPositionCount();
+                    ords.close();
+                    ords = null;
+                }
+                ords = lookup.next();
+            }
+            int p = position - ordsStart;
+            if (ords.isNull(p)) {
+                valueIndex = 0;
+                valueEnd = 0;
+            } else {
+                valueIndex = ords.getFirstValueIndex(p);
+                valueEnd = valueIndex + ords.getValueCount(p);
+            }
+            started = true;
+        }
+
+        private void finishPosition() {
+            position++;
+            started = false;
+            matched = false;
+        }
+
+        private Page buildOutput(int[] probePositions, int[] buildRows, int count) {
+            Block[] blocks = new Block[probe.getBlockCount() + buildValues.length];
+            boolean success = false;
+            try {
+                for (int b = 0; b < probe.getBlockCount(); b++) {
+                    blocks[b] = probe.getBlock(b).filter(probePositions);
+                }
+                for (int v = 0; v < buildValues.length; v++) {
+                    Block values = buildValues[v];
+                    try (Block.Builder builder = values.elementType().newBlockBuilder(count, blockFactory)) {
+                        for (int r = 0; r < count; r++) {
+                            int row = buildRows[r];
+                            if (row < 0) {
+                                builder.appendNull();
+                            } else {
+                                builder.copyFrom(values, row, row + 1);
+                            }
+                        }
+                        blocks[probe.getBlockCount() + v] = builder.build();
+                    }
+                }
+                Page result = new Page(count, blocks);
+                success = true;
+                return result;
+            } finally {
+                if (success == false) {
+                    Releasables.closeExpectNoException(blocks);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            Releasables.closeExpectNoException(ords, lookup, probe::releaseBlocks);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HashJoinOperator[hash="
+            + hash
+            + ", build_positions="
+            + buildPositions
+            + ", probe_keys="
+            + Arrays.toString(probeKeyChannels)
+            + "]";
+    }
+
+    @Override
+    public void close() {
+        Releasables.close(super::close, hash, firstRow, lastRow, nextRow);
+    }
+}
@@ -12,7 +12,6 @@ import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.PriorityQueue;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.breaker.CircuitBreaker;
-import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.BlockFactory;
 import org.elasticsearch.compute.data.ElementType;
@@ -23,11 +22,10 @@ import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * An operator that sorts "rows" of values by encoding the values to sort on, as bytes (using BytesRef). Each data type is encoded
@@ -276,7 +274,7 @@ public class TopNOperator implements Operator, Accountable {
     private int spareValuesPreAllocSize = 0;
     private int spareKeysPreAllocSize = 0;
 
-    private Iterator<Page> output;
+    private ResultIterator output;
 
     /**
      * Count of pages that have been received by this operator.
@@ -401,100 +399,119 @@ public class TopNOperator implements Operator, Accountable {
         }
     }
 
-    private Iterator<Page> toPages() {
+    private ResultIterator toPages() {
         if (spare != null) {
             // Remove the spare, we're never going to use it again.
             spare.close();
             spare = null;
         }
-        if (inputQueue.size() == 0) {
-            return Collections.emptyIterator();
+        Row[] rows = new Row[inputQueue.size()];
+        // The queue pops the smallest row first and we want to emit the largest first
+        for (int i = rows.length - 1; i >= 0; i--) {
+            rows[i] = inputQueue.pop();
         }
-        List<Row> list = new ArrayList<>(inputQueue.size());
-        List<Page> result = new ArrayList<>();
-        ResultBuilder[] builders = null;
-        boolean success = false;
-        try {
-            while (inputQueue.size() > 0) {
-                list.add(inputQueue.pop());
+        return new ResultIterator(rows);
+    }
+
+    /**
+     * Builds result {@link Page}s from the sorted {@link Row}s on demand, releasing
+     * each {@link Row} as soon as it's been decoded. This keeps us from holding all
+     * of the rows <strong>and</strong> all of the result pages in memory at once
+     * which is important when sorting many rows.
+     */
+    private class ResultIterator implements Iterator<Page>, Releasable, Accountable {
+        private final Row[] rows;
+        private int next;
+
+        ResultIterator(Row[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < rows.length;
+        }
+
+        @Override
+        public Page next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
             }
-            Collections.reverse(list);
-
-            int p = 0;
-            int size = 0;
-            for (int i = 0; i < list.size(); i++) {
-                if (builders == null) {
-                    size = Math.min(maxPageSize, list.size() - i);
-                    builders = new ResultBuilder[elementTypes.size()];
-                    for (int b = 0; b < builders.length; b++) {
-                        builders[b] = ResultBuilder.resultBuilderFor(
-                            blockFactory,
-                            elementTypes.get(b),
-                            encoders.get(b).toUnsortable(),
-                            channelInKey(sortOrders, b),
-                            size
-                        );
+            int size = Math.min(maxPageSize, rows.length - next);
+            ResultBuilder[] builders = new ResultBuilder[elementTypes.size()];
+            try {
+                for (int b = 0; b < builders.length; b++) {
+                    builders[b] = ResultBuilder.resultBuilderFor(
+                        blockFactory,
+                        elementTypes.get(b),
+                        encoders.get(b).toUnsortable(),
+                        channelInKey(sortOrders, b),
+                        size
+                    );
+                }
+                for (int p = 0; p < size; p++) {
+                    Row row = rows[next];
+                    decode(row, builders);
+                    rows[next] = null;
+                    next++;
+                    row.close();
+                }
+                Block[] blocks = new Block[builders.length];
+                try {
+                    for (int b = 0; b < blocks.length; b++) {
+                        blocks[b] = builders[b].build();
+                    }
+                } finally {
+                    if (blocks[blocks.length - 1] == null) {
+                        Releasables.closeExpectNoException(blocks);
                     }
-                    p = 0;
                 }
+                return new Page(blocks);
+            } finally {
+                Releasables.closeExpectNoException(builders);
+            }
+        }
 
-                Row row = list.get(i);
-                BytesRef keys = row.keys.bytesRefView();
-                for (SortOrder so : sortOrders) {
-                    if (keys.bytes[keys.offset] == so.nul()) {
-                        keys.offset++;
-                        keys.length--;
-                        continue;
-                    }
+        private void decode(Row row, ResultBuilder[] builders) {
+            BytesRef keys = row.keys.bytesRefView();
+            for (SortOrder so : sortOrders) {
+                if (keys.bytes[keys.offset] == so.nul()) {
                     keys.offset++;
                     keys.length--;
-                    builders[so.channel].decodeKey(keys);
-                }
-                if (keys.length != 0) {
-                    throw new IllegalArgumentException("didn't read all keys");
-                }
-
-                BytesRef values = row.values.bytesRefView();
-                for (ResultBuilder builder : builders) {
-                    builder.decodeValue(values);
-                }
-                if (values.length != 0) {
-                    throw new IllegalArgumentException("didn't read all values");
+                    continue;
                 }
+                keys.offset++;
+                keys.length--;
+                builders[so.channel].decodeKey(keys);
+            }
+            if (keys.length != 0) {
+                throw new IllegalArgumentException("didn't read all keys");
+            }
 
-                list.set(i, null);
-                row.close();
-
-                p++;
-                if (p == size) {
-                    Block[] blocks = new Block[builders.length];
-                    try {
-                        for (int b = 0; b < blocks.length; b++) {
-                            blocks[b] = builders[b].build();
-                        }
-                    } finally {
-                        if (blocks[blocks.length - 1] == null) {
-                            Releasables.closeExpectNoException(blocks);
-                        }
-                    }
-                    result.add(new Page(blocks));
-                    Releasables.closeExpectNoException(builders);
-                    builders = null;
-                }
+            BytesRef values = row.values.bytesRefView();
+            for (ResultBuilder builder : builders) {
+                builder.decodeValue(values);
             }
-            assert builders == null;
-            success = true;
-            return result.iterator();
-        } finally {
-            if (success == false) {
-                List<Releasable> close = new ArrayList<>(list);
-                for (Page p : result) {
-                    close.add(p::releaseBlocks);
-                }
-                Collections.addAll(close, builders);
-                Releasables.closeExpectNoException(Releasables.wrap(close));
+            if (values.length != 0) {
+                throw new IllegalArgumentException("didn't read all values");
             }
         }
+
+        @Override
+        public long ramBytesUsed() {
+            long total = RamUsageEstimator.alignObjectSize(
+                RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + RamUsageEstimator.NUM_BYTES_OBJECT_REF * rows.length
+            );
+            for (int i = next; i < rows.length; i++) {
+                total += rows[i].ramBytesUsed();
+            }
+            return total;
+        }
+
+        @Override
+        public void close() {
+            Releasables.closeExpectNoException(Releasables.wrap(Arrays.asList(rows).subList(next, rows.length)));
+        }
     }
 
     private static boolean channelInKey(List<SortOrder> sortOrders, int channel) {
@@ -527,13 +544,9 @@ public class TopNOperator implements Operator, Accountable {
         /*
          * If we close before calling finish then spare and inputQueue will be live rows
          * that need closing. If we close after calling finish then the output iterator
-         * will contain pages of results that have yet to be returned.
+         * will contain rows that have yet to be returned.
          */
-        Releasables.closeExpectNoException(
-            spare,
-            inputQueue == null ? null : Releasables.wrap(inputQueue),
-            output == null ? null : Releasables.wrap(() -> Iterators.map(output, p -> p::releaseBlocks))
-        );
+        Releasables.closeExpectNoException(spare, inputQueue == null ? null : Releasables.wrap(inputQueue), output);
     }
 
     private static long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(TopNOperator.class) + RamUsageEstimator
@@ -541,7 +554,6 @@ public class TopNOperator implements Operator, Accountable {
 
     @Override
     public long ramBytesUsed() {
-        // NOTE: this is ignoring the output iterator for now. Pages are not Accountable. Yet.
         long arrHeader = RamUsageEstimator.NUM_BYTES_ARRAY_HEADER;
         long ref = RamUsageEstimator.NUM_BYTES_OBJECT_REF;
         long size = SHALLOW_SIZE;
@@ -551,6 +563,9 @@ public class TopNOperator implements Operator, Accountable {
         size += RamUsageEstimator.alignObjectSize(arrHeader + ref * sortOrders.size());
         size += sortOrders.size() * SortOrder.SHALLOW_SIZE;
         size += inputQueue.ramBytesUsed();
+        if (output != null) {
+            size += output.ramBytesUsed();
+        }
         return size;
     }
 
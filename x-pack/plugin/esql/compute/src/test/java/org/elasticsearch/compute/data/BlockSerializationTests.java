@@ -10,6 +10,7 @@ package org.elasticsearch.compute.data;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.BytesRefHash;
@@ -30,6 +31,7 @@ import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class BlockSerializationTests extends SerializationTestCase {
 
@@ -65,6 +67,34 @@ public class BlockSerializationTests extends SerializationTestCase {
         }
     }
 
+    public void testFrameOfReferenceLongVector() throws IOException {
+        int positions = between(2, 8192);
+        long base = randomLongBetween(0, Long.MAX_VALUE / 2);
+        long[] values = new long[positions];
+        for (int i = 0; i < positions; i++) {
+            values[i] = base + randomLongBetween(0, 1_000_000);
+        }
+        try (LongBlock origBlock = blockFactory.newLongArrayVector(values, positions).asBlock()) {
+            try (BytesStreamOutput out = new BytesStreamOutput()) {
+                origBlock.asVector().writeTo(out);
+                // vlong offsets under a million take at most 3 bytes rather than 8
+                assertThat(out.bytes().length(), lessThanOrEqualTo(5 + 1 + Long.BYTES + 3 * positions));
+            }
+            try (LongBlock deserBlock = serializeDeserializeBlock(origBlock)) {
+                EqualsHashCodeTestUtils.checkEqualsAndHashCode(origBlock, unused -> deserBlock);
+            }
+        }
+    }
+
+    public void testFrameOfReferenceLongVectorOverflow() throws IOException {
+        long[] values = new long[] { Long.MIN_VALUE, randomLong(), Long.MAX_VALUE };
+        try (LongBlock origBlock = blockFactory.newLongArrayVector(values, values.length).asBlock()) {
+            try (LongBlock deserBlock = serializeDeserializeBlock(origBlock)) {
+                EqualsHashCodeTestUtils.checkEqualsAndHashCode(origBlock, unused -> deserBlock);
+            }
+        }
+    }
+
     public void testEmptyIntBlock() throws IOException {
         assertEmptyBlock(blockFactory.newIntBlockBuilder(0).build());
         try (IntBlock toFilter = blockFactory.newIntBlockBuilder(0).appendNull().build()) {
@@ -9,13 +9,24 @@ package org.elasticsearch.compute.lucene;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.FilterWeight;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.compute.data.BooleanBlock;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
@@ -26,6 +37,7 @@ import org.elasticsearch.compute.test.OperatorTestCase;
 import org.elasticsearch.compute.test.TestResultPageSinkOperator;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.indices.CrankyCircuitBreakerService;
+import org.elasticsearch.xpack.core.security.authz.accesscontrol.FieldSubsetReader;
 import org.hamcrest.Matcher;
 import org.junit.After;
 
@@ -36,6 +48,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.matchesRegex;
@@ -143,6 +156,196 @@ public class LuceneCountOperatorTests extends AnyOperatorTestCase {
         testCount(contexts, 0, limit);
     }
 
+    public void testCache() throws IOException {
+        int numDocs = between(1, 1_000);
+        try (
+            RandomIndexWriter writer = new RandomIndexWriter(
+                random(),
+                directory,
+                newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            for (int d = 0; d < numDocs; d++) {
+                var doc = new Document();
+                // Two values per document keep the point range query from counting without visiting the documents
+                doc.add(new LongPoint("s", d));
+                doc.add(new LongPoint("s", d + numDocs * 10L));
+                writer.addDocument(doc);
+                if (randomBoolean()) {
+                    writer.commit();
+                }
+            }
+            reader = writer.getReader();
+        }
+        LuceneCountCache cache = new LuceneCountCache(ByteSizeValue.ofMb(1));
+        ShardContext ctx = new LuceneSourceOperatorTests.MockShardContext(reader, 0);
+        Query query = LongPoint.newRangeQuery("s", 0, numDocs);
+        for (int run = 0; run < 2; run++) {
+            LuceneCountOperator.Factory factory = new LuceneCountOperator.Factory(
+                List.of(ctx),
+                c -> query,
+                DataPartitioning.SHARD,
+                1,
+                Integer.MAX_VALUE,
+                cache
+            );
+            List<Page> results = new CopyOnWriteArrayList<>();
+            DriverContext driverContext = driverContext();
+            OperatorTestCase.runDriver(
+                new Driver(driverContext, factory.get(driverContext), List.of(), new TestResultPageSinkOperator(results::add), () -> {})
+            );
+            assertThat(results.size(), is(1));
+            LongBlock lb = results.get(0).getBlock(0);
+            assertThat(lb.getLong(0), equalTo((long) numDocs));
+        }
+        int leaves = reader.leaves().size();
+        assertThat(cache.count(), equalTo(leaves));
+        assertThat(cache.stats().getHits(), equalTo((long) leaves));
+        assertThat(cache.ramBytesUsed(), greaterThan(0L));
+
+        reader.close();
+        reader = null;
+        assertThat(cache.count(), equalTo(0));
+        assertThat(cache.ramBytesUsed(), equalTo(0L));
+    }
+
+    public void testCacheSkipsFieldLevelSecurity() throws IOException {
+        int numDocs = between(1, 1_000);
+        DirectoryReader directoryReader;
+        try (
+            RandomIndexWriter writer = new RandomIndexWriter(
+                random(),
+                directory,
+                newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            for (int d = 0; d < numDocs; d++) {
+                var doc = new Document();
+                // Doc values queries can't count without visiting the documents so they go through the cache
+                doc.add(new SortedNumericDocValuesField("s", d));
+                writer.addDocument(doc);
+                if (randomBoolean()) {
+                    writer.commit();
+                }
+            }
+            directoryReader = writer.getReader();
+            reader = directoryReader;
+        }
+        // field level security hides s from the restricted user but shares the segments' cache keys
+        DirectoryReader restricted = FieldSubsetReader.wrap(directoryReader, new CharacterRunAutomaton(Automata.makeString("other")));
+        LuceneCountCache cache = new LuceneCountCache(ByteSizeValue.ofMb(1));
+        Query query = SortedNumericDocValuesField.newSlowRangeQuery("s", 0, numDocs);
+
+        assertThat(count(directoryReader, query, cache), equalTo((long) numDocs));
+        int leaves = directoryReader.leaves().size();
+        assertThat(cache.count(), equalTo(leaves));
+
+        assertThat(count(restricted, query, cache), equalTo(0L));
+        assertThat(cache.stats().getHits(), equalTo(0L));
+        assertThat(cache.count(), equalTo(leaves));
+        for (LeafReaderContext leaf : restricted.leaves()) {
+            assertNull(cache.get(leaf, query));
+        }
+
+        // the unrestricted user still gets the cached counts
+        assertThat(count(directoryReader, query, cache), equalTo((long) numDocs));
+        assertThat(cache.stats().getHits(), equalTo((long) leaves));
+    }
+
+    public void testCacheSkipsNonCacheableQueries() throws IOException {
+        int numDocs = between(1, 1_000);
+        try (
+            RandomIndexWriter writer = new RandomIndexWriter(
+                random(),
+                directory,
+                newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            for (int d = 0; d < numDocs; d++) {
+                var doc = new Document();
+                doc.add(new SortedNumericDocValuesField("s", d));
+                writer.addDocument(doc);
+                if (randomBoolean()) {
+                    writer.commit();
+                }
+            }
+            reader = writer.getReader();
+        }
+        LuceneCountCache cache = new LuceneCountCache(ByteSizeValue.ofMb(1));
+        Query query = new NonCacheableQuery(SortedNumericDocValuesField.newSlowRangeQuery("s", 0, numDocs));
+        for (int run = 0; run < 2; run++) {
+            assertThat(count(reader, query, cache), equalTo((long) numDocs));
+            assertThat(cache.count(), equalTo(0));
+            assertThat(cache.stats().getMisses(), equalTo(0L));
+        }
+        assertThat(cache.ramBytesUsed(), equalTo(0L));
+    }
+
+    /**
+     * Wraps a query in one that Lucene can't cache, like queries that run scripts.
+     */
+    private static class NonCacheableQuery extends Query {
+        private final Query in;
+
+        NonCacheableQuery(Query in) {
+            this.in = in;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+            return new FilterWeight(this, searcher.createWeight(searcher.rewrite(in), scoreMode, boost)) {
+                @Override
+                public int count(LeafReaderContext context) {
+                    return -1;
+                }
+
+                @Override
+                public boolean isCacheable(LeafReaderContext ctx) {
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            in.visit(visitor);
+        }
+
+        @Override
+        public String toString(String field) {
+            return "non_cacheable(" + in.toString(field) + ")";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return sameClassAs(obj) && in.equals(((NonCacheableQuery) obj).in);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * classHash() + in.hashCode();
+        }
+    }
+
+    private long count(IndexReader reader, Query query, LuceneCountCache cache) {
+        LuceneCountOperator.Factory factory = new LuceneCountOperator.Factory(
+            List.of(new LuceneSourceOperatorTests.MockShardContext(reader, 0)),
+            c -> query,
+            DataPartitioning.SHARD,
+            1,
+            Integer.MAX_VALUE,
+            cache
+        );
+        List<Page> results = new CopyOnWriteArrayList<>();
+        DriverContext driverContext = driverContext();
+        OperatorTestCase.runDriver(
+            new Driver(driverContext, factory.get(driverContext), List.of(), new TestResultPageSinkOperator(results::add), () -> {})
+        );
+        assertThat(results.size(), is(1));
+        LongBlock lb = results.get(0).getBlock(0);
+        return lb.getLong(0);
+    }
+
     private void testCount(Supplier<DriverContext> contexts, int size, int limit) {
         DataPartitioning dataPartitioning = randomFrom(DataPartitioning.values());
         LuceneCountOperator.Factory factory = simple(dataPartitioning, size, limit);
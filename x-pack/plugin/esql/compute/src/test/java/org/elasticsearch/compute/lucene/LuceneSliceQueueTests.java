@@ -0,0 +1,131 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.lucene;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class LuceneSliceQueueTests extends ESTestCase {
+
+    public void testSegmentSlicesCoverEveryDocOnce() throws IOException {
+        try (Directory directory = newDirectory()) {
+            IndexReader reader = randomSegments(directory);
+            try {
+                int maxDocsPerSlice = between(10, 200);
+                List<List<PartialLeafReaderContext>> slices = LuceneSliceQueue.segmentSlices(
+                    reader.leaves(),
+                    maxDocsPerSlice,
+                    between(1, 5)
+                );
+
+                Map<LeafReaderContext, List<PartialLeafReaderContext>> partitionsByLeaf = new HashMap<>();
+                for (List<PartialLeafReaderContext> slice : slices) {
+                    for (PartialLeafReaderContext partial : slice) {
+                        partitionsByLeaf.computeIfAbsent(partial.leafReaderContext(), k -> new ArrayList<>()).add(partial);
+                    }
+                }
+                assertThat(partitionsByLeaf.size(), equalTo(reader.leaves().size()));
+                for (LeafReaderContext leaf : reader.leaves()) {
+                    List<PartialLeafReaderContext> partitions = partitionsByLeaf.get(leaf);
+                    if (leaf.reader().maxDoc() >= 2 * maxDocsPerSlice) {
+                        assertThat(partitions.size(), greaterThan(1));
+                    } else if (leaf.reader().maxDoc() <= maxDocsPerSlice) {
+                        assertThat(partitions.size(), equalTo(1));
+                    }
+                    // sorted by their first doc the partitions of a segment don't overlap and cover every doc
+                    partitions.sort(Comparator.comparingInt(PartialLeafReaderContext::minDoc));
+                    int expectedMinDoc = 0;
+                    for (PartialLeafReaderContext partial : partitions) {
+                        assertThat(partial.minDoc(), equalTo(expectedMinDoc));
+                        assertThat(partial.maxDoc(), greaterThan(partial.minDoc()));
+                        expectedMinDoc = partial.maxDoc();
+                    }
+                    assertThat(expectedMinDoc, equalTo(leaf.reader().maxDoc()));
+                }
+            } finally {
+                IOUtils.close(reader);
+            }
+        }
+    }
+
+    public void testLargestSlicesOfEachShardFirst() throws IOException {
+        try (Directory first = newDirectory(); Directory second = newDirectory()) {
+            IndexReader firstReader = randomSegments(first);
+            IndexReader secondReader = randomSegments(second);
+            try {
+                List<ShardContext> contexts = List.of(
+                    new LuceneSourceOperatorTests.MockShardContext(firstReader, 0),
+                    new LuceneSourceOperatorTests.MockShardContext(secondReader, 1)
+                );
+                LuceneSliceQueue queue = LuceneSliceQueue.create(contexts, c -> null, DataPartitioning.SEGMENT, between(1, 10));
+
+                List<LuceneSlice> slices = new ArrayList<>();
+                for (LuceneSlice slice = queue.nextSlice(); slice != null; slice = queue.nextSlice()) {
+                    slices.add(slice);
+                }
+                assertThat(slices.size(), equalTo(queue.totalSlices()));
+                int shardIndex = 0;
+                long previousNumDocs = Long.MAX_VALUE;
+                for (LuceneSlice slice : slices) {
+                    assertThat(slice.shardContext().index(), greaterThanOrEqualTo(shardIndex));
+                    if (slice.shardContext().index() != shardIndex) {
+                        shardIndex = slice.shardContext().index();
+                        previousNumDocs = Long.MAX_VALUE;
+                    }
+                    assertThat(slice.numDocs(), lessThanOrEqualTo(previousNumDocs));
+                    previousNumDocs = slice.numDocs();
+                }
+                long totalDocs = slices.stream().mapToLong(LuceneSlice::numDocs).sum();
+                assertThat(totalDocs, equalTo((long) firstReader.maxDoc() + secondReader.maxDoc()));
+            } finally {
+                IOUtils.close(firstReader, secondReader);
+            }
+        }
+    }
+
+    /**
+     * Builds an index with a few segments of random sizes.
+     */
+    private IndexReader randomSegments(Directory directory) throws IOException {
+        try (
+            RandomIndexWriter writer = new RandomIndexWriter(
+                random(),
+                directory,
+                newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            int numSegments = between(1, 10);
+            for (int s = 0; s < numSegments; s++) {
+                int numDocs = between(1, 1_000);
+                for (int d = 0; d < numDocs; d++) {
+                    writer.addDocument(new Document());
+                }
+                writer.commit();
+            }
+            return writer.getReader();
+        }
+    }
+}
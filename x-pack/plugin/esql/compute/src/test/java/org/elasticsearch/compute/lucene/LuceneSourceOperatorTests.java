@@ -8,16 +8,23 @@
 package org.elasticsearch.compute.lucene;
 
 import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.compute.data.DocBlock;
+import org.elasticsearch.compute.data.DocVector;
 import org.elasticsearch.compute.data.DoubleBlock;
 import org.elasticsearch.compute.data.ElementType;
 import org.elasticsearch.compute.data.LongBlock;
@@ -41,8 +48,11 @@ import org.junit.After;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.hamcrest.Matchers.both;
@@ -179,6 +189,79 @@ public class LuceneSourceOperatorTests extends AnyOperatorTestCase {
         assertThat(results, hasSize(both(greaterThanOrEqualTo(minPages)).and(lessThanOrEqualTo(maxPages))));
     }
 
+    /**
+     * Reads the partitions of a single segment out of order, some of them in the same
+     * slice, which forces the operator to build a new scorer whenever it goes backwards.
+     */
+    public void testPartialLeavesOutOfOrder() throws IOException {
+        int numDocs = between(100, 10_000);
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int d = 0; d < numDocs; d++) {
+                writer.addDocument(List.of(new SortedNumericDocValuesField("s", d)));
+            }
+            writer.forceMerge(1);
+            reader = DirectoryReader.open(writer);
+        }
+        assertThat(reader.leaves(), hasSize(1));
+        LeafReaderContext leaf = reader.leaves().get(0);
+
+        // docs are in insertion order so the value of s is the doc id
+        int min = between(0, numDocs - 1);
+        int max = between(min, numDocs - 1);
+        Query query = randomBoolean() ? new MatchAllDocsQuery() : SortedNumericDocValuesField.newSlowRangeQuery("s", min, max);
+        Set<Integer> expected = new HashSet<>();
+        for (int d = 0; d < numDocs; d++) {
+            if (query instanceof MatchAllDocsQuery || (d >= min && d <= max)) {
+                expected.add(d);
+            }
+        }
+
+        List<PartialLeafReaderContext> partitions = new ArrayList<>();
+        int minDoc = 0;
+        while (minDoc < numDocs) {
+            int maxDoc = Math.min(numDocs, minDoc + between(1, numDocs / 5));
+            partitions.add(new PartialLeafReaderContext(leaf, minDoc, maxDoc));
+            minDoc = maxDoc;
+        }
+        Collections.shuffle(partitions, random());
+
+        ShardContext ctx = new MockShardContext(reader, 0);
+        IndexSearcher searcher = ctx.searcher();
+        Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1);
+        List<LuceneSlice> slices = new ArrayList<>();
+        int start = 0;
+        while (start < partitions.size()) {
+            int end = Math.min(partitions.size(), start + between(1, 3));
+            slices.add(new LuceneSlice(ctx, partitions.subList(start, end), weight));
+            start = end;
+        }
+
+        DriverContext driverContext = driverContext();
+        List<Page> results = new ArrayList<>();
+        LuceneSourceOperator source = new LuceneSourceOperator(
+            driverContext.blockFactory(),
+            between(10, 1_000),
+            new LuceneSliceQueue(slices),
+            LuceneOperator.NO_LIMIT,
+            ScoreMode.COMPLETE_NO_SCORES
+        );
+        OperatorTestCase.runDriver(
+            new Driver(driverContext, source, List.of(), new TestResultPageSinkOperator(results::add), () -> {})
+        );
+        OperatorTestCase.assertDriverContext(driverContext);
+
+        List<Integer> docs = new ArrayList<>();
+        for (Page page : results) {
+            DocVector docVector = page.<DocBlock>getBlock(0).asVector();
+            for (int p = 0; p < page.getPositionCount(); p++) {
+                docs.add(docVector.docs().getInt(p));
+            }
+            page.releaseBlocks();
+        }
+        assertThat(docs, hasSize(expected.size()));
+        assertThat(new HashSet<>(docs), equalTo(expected));
+    }
+
     // Scores are not interesting to this test, but enabled conditionally and effectively ignored just for coverage.
     private final boolean scoring = randomBoolean();
 
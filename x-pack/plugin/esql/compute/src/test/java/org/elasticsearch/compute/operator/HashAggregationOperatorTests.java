@@ -20,6 +20,9 @@ import org.elasticsearch.compute.data.BlockFactory;
 import org.elasticsearch.compute.data.ElementType;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.test.BlockTestUtils;
+import org.elasticsearch.compute.test.CannedSourceOperator;
+import org.elasticsearch.compute.test.TestBlockFactory;
 import org.elasticsearch.core.Tuple;
 import org.hamcrest.Matcher;
 
@@ -28,6 +31,7 @@ import java.util.stream.LongStream;
 
 import static java.util.stream.IntStream.range;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 
 public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
@@ -42,6 +46,10 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
 
     @Override
     protected Operator.OperatorFactory simpleWithMode(AggregatorMode mode) {
+        return simpleWithMode(mode, randomBoolean() ? Integer.MAX_VALUE : between(1, 10));
+    }
+
+    private Operator.OperatorFactory simpleWithMode(AggregatorMode mode, int partialEmitKeysThreshold) {
         List<Integer> sumChannels, maxChannels;
         if (mode.isInputPartial()) {
             int sumChannelCount = SumLongAggregatorFunction.intermediateStateDesc().size();
@@ -60,10 +68,25 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
                 new MaxLongAggregatorFunctionSupplier(maxChannels).groupingAggregatorFactory(mode)
             ),
             randomPageSize(),
-            null
+            null,
+            partialEmitKeysThreshold
         );
     }
 
+    public void testPartialEmit() {
+        DriverContext driverContext = driverContext();
+        List<Page> input = CannedSourceOperator.collectPages(simpleInput(driverContext.blockFactory(), between(1_000, 10_000)));
+        List<Page> origInput = BlockTestUtils.deepCopyOf(input, TestBlockFactory.getNonBreakingInstance());
+        Operator initial = simpleWithMode(AggregatorMode.INITIAL, between(1, 4)).get(driverContext);
+        Operator fin = simpleWithMode(AggregatorMode.FINAL, Integer.MAX_VALUE).get(driverContext);
+        List<Page> results = drive(List.of(initial, fin), input.iterator(), driverContext);
+        assertSimpleOutput(origInput, results);
+        HashAggregationOperator.Status status = (HashAggregationOperator.Status) initial.status();
+        assertThat(status.partialEmits(), greaterThan(0));
+        assertThat(status.rowsEmitted(), greaterThan(5L));
+        assertDriverContext(driverContext);
+    }
+
     @Override
     protected Matcher<String> expectedDescriptionOfSimple() {
         return equalTo("HashAggregationOperator[mode = <not-needed>, aggs = sum of longs, max of longs]");
@@ -0,0 +1,147 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator;
+
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.test.BlockTestUtils;
+import org.elasticsearch.compute.test.CannedSourceOperator;
+import org.elasticsearch.compute.test.OperatorTestCase;
+import org.elasticsearch.compute.test.SequenceLongBlockSourceOperator;
+import org.elasticsearch.compute.test.TestBlockFactory;
+import org.elasticsearch.core.Tuple;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesRegex;
+
+public class HashJoinOperatorTests extends OperatorTestCase {
+    @Override
+    protected SourceOperator simpleInput(BlockFactory blockFactory, int size) {
+        return new SequenceLongBlockSourceOperator(blockFactory, LongStream.range(0, size).map(l -> randomFrom(1, 7, 14, 20)));
+    }
+
+    @Override
+    protected void assertSimpleOutput(List<Page> input, List<Page> results) {
+        assertSimpleOutput(input, results, 0, 1);
+    }
+
+    /**
+     * Assert the join against {@link #buildKeys} and {@link #buildValues}.
+     */
+    private void assertSimpleOutput(List<Page> input, List<Page> results, int keyChannel, int outputChannel) {
+        List<Long> expectedKeys = new ArrayList<>();
+        List<Long> expectedValues = new ArrayList<>();
+        for (Page page : input) {
+            LongBlock keys = page.getBlock(keyChannel);
+            for (int p = 0; p < keys.getPositionCount(); p++) {
+                long key = keys.getLong(keys.getFirstValueIndex(p));
+                List<Long> matches = switch ((int) key) {
+                    case 1 -> List.of(10L);
+                    case 7 -> List.of(70L, 71L);
+                    case 14 -> List.of(140L);
+                    default -> Arrays.asList((Long) null);
+                };
+                for (Long m : matches) {
+                    expectedKeys.add(key);
+                    expectedValues.add(m);
+                }
+            }
+        }
+
+        List<Long> actualKeys = new ArrayList<>();
+        List<Long> actualValues = new ArrayList<>();
+        for (Page page : results) {
+            LongBlock keys = page.getBlock(keyChannel);
+            LongBlock values = page.getBlock(outputChannel);
+            for (int p = 0; p < page.getPositionCount(); p++) {
+                actualKeys.add(keys.getLong(keys.getFirstValueIndex(p)));
+                actualValues.add(values.isNull(p) ? null : values.getLong(values.getFirstValueIndex(p)));
+            }
+        }
+        assertThat(actualKeys, equalTo(expectedKeys));
+        assertThat(actualValues, equalTo(expectedValues));
+    }
+
+    private static Block[] buildKeys() {
+        return new Block[] { TestBlockFactory.getNonBreakingInstance().newLongArrayVector(new long[] { 1, 7, 14, 7 }, 4).asBlock() };
+    }
+
+    private static Block[] buildValues() {
+        return new Block[] { TestBlockFactory.getNonBreakingInstance().newLongArrayVector(new long[] { 10, 70, 140, 71 }, 4).asBlock() };
+    }
+
+    @Override
+    protected Operator.OperatorFactory simple() {
+        return new HashJoinOperator.Factory(buildKeys(), buildValues(), new int[] { 0 }, randomPageSize());
+    }
+
+    @Override
+    protected Matcher<String> expectedDescriptionOfSimple() {
+        return equalTo("HashJoinOperator[build_keys=1, build_values=1, build_positions=4, probe_keys=[0]]");
+    }
+
+    @Override
+    protected Matcher<String> expectedToStringOfSimple() {
+        return matchesRegex(
+            "HashJoinOperator\\[hash=PackedValuesBlockHash\\{groups=\\[0:LONG], entries=3, size=\\d+b}, "
+                + "build_positions=4, probe_keys=\\[0]]"
+        );
+    }
+
+    public void testSelectBlocks() {
+        DriverContext context = driverContext();
+        List<Page> input = CannedSourceOperator.collectPages(
+            new TupleBlockSourceOperator(
+                context.blockFactory(),
+                LongStream.range(0, 1000).mapToObj(l -> Tuple.tuple(randomLong(), randomFrom(1L, 7L, 14L, 20L)))
+            )
+        );
+        List<Page> clonedInput = BlockTestUtils.deepCopyOf(input, TestBlockFactory.getNonBreakingInstance());
+        List<Page> results = drive(
+            new HashJoinOperator.Factory(buildKeys(), buildValues(), new int[] { 1 }, randomPageSize()).get(context),
+            input.iterator(),
+            context
+        );
+        assertSimpleOutput(clonedInput, results, 1, 2);
+    }
+
+    public void testNullKeysNeverMatch() {
+        DriverContext context = driverContext();
+        BlockFactory nonBreaking = TestBlockFactory.getNonBreakingInstance();
+        Block[] keys;
+        try (LongBlock.Builder builder = nonBreaking.newLongBlockBuilder(2)) {
+            keys = new Block[] { builder.appendNull().appendLong(1).build() };
+        }
+        Block[] values = new Block[] { nonBreaking.newLongArrayVector(new long[] { 100, 10 }, 2).asBlock() };
+        Page probe;
+        try (LongBlock.Builder builder = context.blockFactory().newLongBlockBuilder(3)) {
+            probe = new Page(builder.appendLong(1).appendNull().appendLong(2).build());
+        }
+        List<Page> results = drive(
+            new HashJoinOperator.Factory(keys, values, new int[] { 0 }, randomPageSize()).get(context),
+            List.of(probe).iterator(),
+            context
+        );
+        List<Long> actual = new ArrayList<>();
+        for (Page page : results) {
+            LongBlock joined = page.getBlock(1);
+            for (int p = 0; p < page.getPositionCount(); p++) {
+                actual.add(joined.isNull(p) ? null : joined.getLong(joined.getFirstValueIndex(p)));
+            }
+        }
+        assertThat(actual, equalTo(Arrays.asList(10L, null, null)));
+    }
+}
@@ -80,6 +80,7 @@ import static org.elasticsearch.test.MapMatcher.assertMap;
 import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
@@ -231,6 +232,48 @@ public class TopNOperatorTests extends OperatorTestCase {
         }
     }
 
+    public void testOutputReleasesRowsAsItStreams() {
+        int topCount = 1_000;
+        int maxPageSize = 100;
+        DriverContext context = driverContext();
+        try (
+            TopNOperator op = new TopNOperator.TopNOperatorFactory(
+                topCount,
+                List.of(LONG),
+                List.of(DEFAULT_UNSORTABLE),
+                List.of(new TopNOperator.SortOrder(0, true, false)),
+                maxPageSize
+            ).get(context)
+        ) {
+            for (Page p : CannedSourceOperator.collectPages(simpleInput(context.blockFactory(), topCount))) {
+                op.addInput(p);
+            }
+            op.finish();
+            long lastRamBytesUsed = op.ramBytesUsed();
+            long last = Long.MIN_VALUE;
+            int pages = 0;
+            while (op.isFinished() == false) {
+                Page page = op.getOutput();
+                try {
+                    assertThat(page.getPositionCount(), equalTo(maxPageSize));
+                    LongBlock block = page.getBlock(0);
+                    for (int p = 0; p < block.getPositionCount(); p++) {
+                        long v = block.getLong(block.getFirstValueIndex(p));
+                        assertThat(v, greaterThanOrEqualTo(last));
+                        last = v;
+                    }
+                } finally {
+                    page.releaseBlocks();
+                }
+                pages++;
+                assertThat(op.ramBytesUsed(), lessThan(lastRamBytesUsed));
+                lastRamBytesUsed = op.ramBytesUsed();
+            }
+            assertThat(pages, equalTo(topCount / maxPageSize));
+        }
+        assertDriverContext(context);
+    }
+
     public void testRandomTopN() {
         for (boolean asc : List.of(true, false)) {
             testRandomTopN(asc, driverContext());
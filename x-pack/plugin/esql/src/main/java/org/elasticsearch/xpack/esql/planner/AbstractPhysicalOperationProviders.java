@@ -187,7 +187,8 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
                     aggregatorMode,
                     aggregatorFactories,
                     context.pageSize(aggregateExec.estimatedRowSize()),
-                    analysisRegistry
+                    analysisRegistry,
+                    context.queryPragmas().partialAggregationEmitKeysThreshold()
                 );
             }
         }
@@ -61,6 +61,16 @@ public final class QueryPragmas implements Writeable {
 
     public static final Setting<ByteSizeValue> FOLD_LIMIT = Setting.memorySizeSetting("fold_limit", "5%");
 
+    /**
+     * The number of groups a partial {@code STATS ... BY} will collect before
+     * emitting them and starting again with an empty hash.
+     */
+    public static final Setting<Integer> PARTIAL_AGGREGATION_EMIT_KEYS_THRESHOLD = Setting.intSetting(
+        "partial_aggregation_emit_keys_threshold",
+        100_000,
+        1
+    );
+
     public static final QueryPragmas EMPTY = new QueryPragmas(Settings.EMPTY);
 
     private final Settings settings;
@@ -149,6 +159,16 @@ public final class QueryPragmas implements Writeable {
         return FOLD_LIMIT.get(settings);
     }
 
+    /**
+     * The number of groups a partial {@code STATS ... BY} will collect before emitting
+     * them and starting again with an empty hash. This bounds the memory used by
+     * high cardinality groupings on the data nodes at the cost of sending some groups
+     * more than once. The final aggregation will merge them.
+     */
+    public int partialAggregationEmitKeysThreshold() {
+        return PARTIAL_AGGREGATION_EMIT_KEYS_THRESHOLD.get(settings);
+    }
+
     public boolean isEmpty() {
         return settings.isEmpty();
     }
@@ -11,6 +11,7 @@ import org.elasticsearch.ElasticsearchSecurityException;
 import org.elasticsearch.action.admin.cluster.storedscripts.TransportPutStoredScriptAction;
 import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.TransportSearchAction;
 import org.elasticsearch.action.support.broadcast.BroadcastResponse;
 import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.common.settings.SecureString;
@@ -20,6 +21,8 @@ import org.elasticsearch.index.cache.request.RequestCacheStats;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.script.mustache.MustachePlugin;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.test.SecuritySingleNodeTestCase;
 import org.elasticsearch.test.hamcrest.ElasticsearchAssertions;
 import org.elasticsearch.xpack.core.XPackSettings;
@@ -66,6 +69,7 @@ public class DlsFlsRequestCacheTests extends SecuritySingleNodeTestCase {
     private static final String DLS_TEMPLATE_ROLE_QUERY_ROLE = "dls_template_role_query_role";
     private static final String DLS_TEMPLATE_ROLE_QUERY_INDEX = "dls-template-role-query-index";
     private static final String DLS_TEMPLATE_ROLE_QUERY_ALIAS = "dls-template-role-query-alias";
+    private static final String DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX = "dls-template-role-query-node-index";
 
     @Override
     protected Settings nodeSettings() {
@@ -345,6 +349,62 @@ public class DlsFlsRequestCacheTests extends SecuritySingleNodeTestCase {
         assertCacheState(DLS_TEMPLATE_ROLE_QUERY_INDEX, 2, 2);
     }
 
+    public void testRequestCacheWithStoredScriptRoleQueryAndQueryPhasePerNode() {
+        final Client client1 = client().filterWithHeader(
+            Map.of("Authorization", basicAuthHeaderValue(DLS_TEMPLATE_ROLE_QUERY_USER_1, new SecureString(TEST_PASSWORD.toCharArray())))
+        );
+        // several shards on the single node so their query phase is sent with a single node level request
+        assertAcked(
+            indicesAdmin().prepareCreate(DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX)
+                .setSettings(Settings.builder().put("index.number_of_shards", 3).put("index.number_of_replicas", 0))
+                .addAlias(new Alias(DLS_TEMPLATE_ROLE_QUERY_ALIAS))
+        );
+        int user1Docs = 0;
+        for (int i = 0; i < 20; i++) {
+            boolean user1 = randomBoolean();
+            if (user1) {
+                user1Docs++;
+            }
+            prepareIndex(DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX).setSource(
+                "username",
+                user1 ? DLS_TEMPLATE_ROLE_QUERY_USER_1 : DLS_TEMPLATE_ROLE_QUERY_USER_2
+            ).get();
+        }
+        assertThat(indicesAdmin().prepareRefresh(DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX).get().getFailedShards(), equalTo(0));
+        ensureGreen(DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX);
+
+        assertAcked(
+            clusterAdmin().prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                .setPersistentSettings(Settings.builder().put(TransportSearchAction.QUERY_PHASE_PER_NODE_SETTING.getKey(), true))
+        );
+        try {
+            for (int i = 0; i < 2; i++) {
+                var searchResponse = client1.prepareSearch(DLS_TEMPLATE_ROLE_QUERY_ALIAS)
+                    .setSize(0)
+                    .setRequestCache(true)
+                    .addAggregation(AggregationBuilders.terms("usernames").field("username.keyword"))
+                    .get();
+                try {
+                    assertThat(searchResponse.getFailedShards(), equalTo(0));
+                    Terms usernames = searchResponse.getAggregations().get("usernames");
+                    long expectedUser1Docs = user1Docs + 1; // one more in dls-template-role-query-index
+                    assertThat(usernames.getBuckets().size(), equalTo(1));
+                    assertThat(usernames.getBuckets().get(0).getKeyAsString(), equalTo(DLS_TEMPLATE_ROLE_QUERY_USER_1));
+                    assertThat(usernames.getBuckets().get(0).getDocCount(), equalTo(expectedUser1Docs));
+                } finally {
+                    searchResponse.decRef();
+                }
+                // the DLS query of the alias uses a stored script so the shards of the node level request don't use the cache
+                assertCacheState(DLS_TEMPLATE_ROLE_QUERY_NODE_INDEX, 0, 0);
+            }
+        } finally {
+            assertAcked(
+                clusterAdmin().prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                    .setPersistentSettings(Settings.builder().putNull(TransportSearchAction.QUERY_PHASE_PER_NODE_SETTING.getKey()))
+            );
+        }
+    }
+
     private void prepareIndices() {
         final Client client = client();
 
@@ -11,6 +11,7 @@ import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.IndicesRequest;
+import org.elasticsearch.action.search.NodeQueryRequest;
 import org.elasticsearch.license.XPackLicenseState;
 import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -18,6 +19,7 @@ import org.elasticsearch.xpack.core.security.authz.accesscontrol.IndicesAccessCo
 import org.elasticsearch.xpack.core.security.authz.permission.DocumentPermissions;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 public class ShardSearchRequestInterceptor extends FieldAndDocumentLevelSecurityRequestInterceptor {
@@ -34,23 +36,36 @@ public class ShardSearchRequestInterceptor extends FieldAndDocumentLevelSecurity
         Map<String, IndicesAccessControl.IndexAccessControl> indexAccessControlByIndex,
         ActionListener<Void> listener
     ) {
-        final ShardSearchRequest request = (ShardSearchRequest) indicesRequest;
-        if (dlsUsesStoredScripts(request, indexAccessControlByIndex)) {
-            logger.debug("Disable shard search request cache because DLS queries use stored scripts");
-            request.requestCache(false);
+        for (ShardSearchRequest request : shardRequests(indicesRequest)) {
+            // a node level request may also target shards of indices without field or document level security
+            if (indexAccessControlByIndex.containsKey(request.shardId().getIndexName())
+                && dlsUsesStoredScripts(request, indexAccessControlByIndex)) {
+                logger.debug("Disable shard search request cache because DLS queries use stored scripts");
+                request.requestCache(false);
+            }
         }
         listener.onResponse(null);
     }
 
     @Override
     String[] requestIndices(IndicesRequest indicesRequest) {
-        final ShardSearchRequest request = (ShardSearchRequest) indicesRequest;
-        return new String[] { request.shardId().getIndexName() };
+        return shardRequests(indicesRequest).stream().map(request -> request.shardId().getIndexName()).distinct().toArray(String[]::new);
     }
 
     @Override
     public boolean supports(IndicesRequest request) {
-        return request instanceof ShardSearchRequest;
+        return request instanceof ShardSearchRequest || request instanceof NodeQueryRequest;
+    }
+
+    /**
+     * The shard level requests of {@code indicesRequest}, which is either a single shard level
+     * request or a {@link NodeQueryRequest} that holds many of them.
+     */
+    private static List<ShardSearchRequest> shardRequests(IndicesRequest indicesRequest) {
+        if (indicesRequest instanceof NodeQueryRequest nodeQueryRequest) {
+            return nodeQueryRequest.getShardLevelRequests();
+        }
+        return List.of((ShardSearchRequest) indicesRequest);
     }
 
     static boolean dlsUsesStoredScripts(
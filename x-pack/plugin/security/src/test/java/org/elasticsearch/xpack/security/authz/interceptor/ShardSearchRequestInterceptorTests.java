@@ -8,6 +8,7 @@
 package org.elasticsearch.xpack.security.authz.interceptor;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.action.search.NodeQueryRequest;
 import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
@@ -24,10 +25,12 @@ import org.elasticsearch.xpack.core.security.authz.permission.FieldPermissions;
 import org.junit.After;
 import org.junit.Before;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.elasticsearch.xpack.core.security.SecurityField.DOCUMENT_LEVEL_SECURITY_FEATURE;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -92,4 +95,29 @@ public class ShardSearchRequestInterceptorTests extends ESTestCase {
         verify(shardSearchRequest, never()).requestCache(false);
     }
 
+    public void testRequestCacheWillBeDisabledForShardsOfNodeQueryRequestWhenDlsUsesStoredScripts() {
+        configureMinMondeVersion(Version.CURRENT);
+        final DocumentPermissions documentPermissions = DocumentPermissions.filteredBy(Set.of(new BytesArray("""
+            {"template":{"id":"my-script"}}""")));
+        final String index = randomAlphaOfLengthBetween(3, 8);
+        final String otherIndex = index + "-other";
+        final ShardSearchRequest shardSearchRequest = mock(ShardSearchRequest.class);
+        when(shardSearchRequest.shardId()).thenReturn(new ShardId(index, randomAlphaOfLength(22), randomInt(3)));
+        final ShardSearchRequest otherShardSearchRequest = mock(ShardSearchRequest.class);
+        when(otherShardSearchRequest.shardId()).thenReturn(new ShardId(otherIndex, randomAlphaOfLength(22), randomInt(3)));
+        final NodeQueryRequest nodeQueryRequest = new NodeQueryRequest(List.of(shardSearchRequest, otherShardSearchRequest), 1);
+        assertTrue(interceptor.supports(nodeQueryRequest));
+        assertThat(interceptor.requestIndices(nodeQueryRequest), arrayContainingInAnyOrder(index, otherIndex));
+
+        final PlainActionFuture<Void> listener = new PlainActionFuture<>();
+        interceptor.disableFeatures(
+            nodeQueryRequest,
+            Map.of(index, new IndicesAccessControl.IndexAccessControl(FieldPermissions.DEFAULT, documentPermissions)),
+            listener
+        );
+        listener.actionGet();
+        verify(shardSearchRequest).requestCache(false);
+        verify(otherShardSearchRequest, never()).requestCache(false);
+    }
+
 }